@@ -0,0 +1,102 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serial fetch-and-validate (the original Main path, one source after another) against {@link BatchLoader}
+ * for 1,200 sols spread over 24 mirror feeds of 50 sols, served by a local stub with fixed latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class BatchLoadBenchmark {
+    private static final int MIRRORS = 24;
+    private static final int SOLS_PER_MIRROR = 50;
+
+    @Param({"20"})
+    public int latencyMillis;
+
+    private HttpServer server;
+    private InsightApiClient client;
+    private List<String> urls;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        for (int mirror = 0; mirror < MIRRORS; mirror++) {
+            byte[] feed = SyntheticFeeds.feed(mirror * SOLS_PER_MIRROR, SOLS_PER_MIRROR, mirror);
+            server.createContext("/mirror" + mirror, exchange -> {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.sendResponseHeaders(200, feed.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(feed);
+                }
+            });
+        }
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        client = new InsightApiClient(InsightApiClient.Config.defaults());
+        urls = new ArrayList<>();
+        for (int mirror = 0; mirror < MIRRORS; mirror++) {
+            urls.add("http://127.0.0.1:" + server.getAddress().getPort() + "/mirror" + mirror);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public Map<Integer, SolReport> serial() throws IOException {
+        Map<Integer, SolReport> reports = new TreeMap<>();
+        for (String url : urls) {
+            InsightFeed feed = client.fetchFeed(url, Map.of()).feed();
+            for (String solKey : SolValidator.getValidSolKeys(feed.validityChecks())) {
+                SolReport report = feed.sols().get(solKey);
+                reports.put(report.sol(), report);
+            }
+        }
+        return reports;
+    }
+
+    @Benchmark
+    public Map<Integer, SolReport> batch() throws InterruptedException {
+        BatchLoader loader = new BatchLoader(client,
+                new BatchLoader.Config(MIRRORS, Duration.ofSeconds(10), 3, Duration.ofMillis(100)));
+        return loader.load(urls, List.of(), 0, Integer.MAX_VALUE).reports();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Feed ingestion on small (one API response), typical (a year) and huge (multi-year archive) feeds. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedParseBenchmark {
+
+    @Param({"7", "670", "20000"})
+    public int sols;
+
+    private byte[] feed;
+    private InsightFeed parsed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        feed = SyntheticFeeds.feed(100, sols, 42);
+        parsed = InsightFeedParser.parse(new ByteArrayInputStream(feed));
+    }
+
+    @Benchmark
+    public InsightFeed parse() throws IOException {
+        return InsightFeedParser.parse(new ByteArrayInputStream(feed));
+    }
+
+    @Benchmark
+    public List<String> parseAndValidate() throws IOException {
+        InsightFeed parsedFeed = InsightFeedParser.parse(new ByteArrayInputStream(feed));
+        return SolValidator.getValidSolKeys(parsedFeed.validityChecks());
+    }
+
+    @Benchmark
+    public List<String> validate() {
+        return SolValidator.getValidSolKeys(parsed.validityChecks());
+    }
+
+    @Benchmark
+    public ValidationEngine.Result validateForkJoin() {
+        return ValidationEngine.validate(parsed.validityChecks());
+    }
+}
@@ -0,0 +1,204 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Feed requests against a local stub that injects faults, sampled so JMH reports latency percentiles:
+ * a bare {@link InsightApiClient} call, the same call through {@link ResilientFetcher}, and a warm
+ * {@link FeedLoader} that revalidates either in line or stale-while-revalidate. Success rates and the
+ * fetcher's own per-attempt percentiles are printed at the end of each trial.
+ *
+ * <pre>
+ * healthy    every request answers 200 after 5 ms
+ * flaky      every third request answers 503
+ * throttled  every other request answers 429 with Retry-After: 0
+ * slow       5-25 ms, one request in ten takes 250 ms
+ * reset      every fourth request drops the connection without a response
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class FetchResilienceBenchmark {
+    private static final String ETAG = "\"sols-v1\"";
+
+    @Param({"healthy", "flaky", "throttled", "slow", "reset"})
+    public String fault;
+
+    private HttpServer server;
+    private InsightApiClient client;
+    private ResilientFetcher fetcher;
+    private FeedLoader inlineLoader;
+    private FeedLoader staleLoader;
+    private String url;
+    private Path cacheDir;
+    private final AtomicLong served = new AtomicLong();
+    private final LongAdder directCalls = new LongAdder();
+    private final LongAdder directFailures = new LongAdder();
+    private final LongAdder resilientCalls = new LongAdder();
+    private final LongAdder resilientFailures = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] feed = SyntheticFeeds.feed(1, 670, 17);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/feed", exchange -> serve(exchange, feed));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/feed";
+        client = new InsightApiClient(InsightApiClient.Config.defaults());
+        // Short backoffs keep the benchmark about fault handling rather than sleeping
+        ResilientFetcher.Config config = new ResilientFetcher.Config(5, Duration.ofMillis(2), Duration.ofMillis(50),
+                20, Duration.ofMillis(100));
+        fetcher = new ResilientFetcher(client, config);
+
+        cacheDir = Files.createTempDirectory("insight-bench-cache");
+        SolCache cache = new SolCache(cacheDir, 5000);
+        inlineLoader = new FeedLoader(new ResilientFetcher(client, config), cache, url, 0);
+        staleLoader = new FeedLoader(new ResilientFetcher(client, config), cache, url, 0);
+        // Warm the cache so both loaders revalidate with If-None-Match
+        for (int i = 0; i < 10 && cache.load(inlineLoader.endpoint()).isEmpty(); i++) {
+            try {
+                inlineLoader.load("bench");
+            } catch (IOException ignored) {
+                // an injected fault; try again
+            }
+        }
+    }
+
+    private void serve(HttpExchange exchange, byte[] feed) throws IOException {
+        long n = served.incrementAndGet();
+        try (exchange) {
+            pause(switch (fault) {
+                case "slow" -> n % 10 == 0 ? 250 : ThreadLocalRandom.current().nextInt(5, 26);
+                default -> 5;
+            });
+            if (fault.equals("reset") && n % 4 == 0) {
+                // Closing before any response line is sent looks like a dropped connection to the client
+                return;
+            }
+            if (fault.equals("flaky") && n % 3 == 0) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            if (fault.equals("throttled") && n % 2 == 0) {
+                exchange.getResponseHeaders().set("Retry-After", "0");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, feed.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(feed);
+            }
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (directCalls.sum() > 0) {
+            System.out.printf("%n[%s] direct: %d calls, %.1f%% failed%n", fault,
+                    directCalls.sum(), percent(directFailures.sum(), directCalls.sum()));
+        }
+        if (resilientCalls.sum() > 0) {
+            System.out.printf("%n[%s] resilient: %d calls, %.1f%% failed; %s%n", fault,
+                    resilientCalls.sum(), percent(resilientFailures.sum(), resilientCalls.sum()), fetcher.stats());
+        }
+        client.close();
+        server.stop(0);
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+
+    @Benchmark
+    public InsightApiClient.FeedResponse direct() {
+        directCalls.increment();
+        try {
+            InsightApiClient.FeedResponse response = client.fetchFeed(url, Map.of());
+            if (!response.isSuccessful()) {
+                directFailures.increment();
+            }
+            return response;
+        } catch (IOException e) {
+            directFailures.increment();
+            return null;
+        }
+    }
+
+    @Benchmark
+    public InsightApiClient.FeedResponse resilient() {
+        resilientCalls.increment();
+        try {
+            InsightApiClient.FeedResponse response = fetcher.fetch(url, "bench", url, Map.of(), FeedListener.NONE);
+            if (!response.isSuccessful()) {
+                resilientFailures.increment();
+            }
+            return response;
+        } catch (IOException e) {
+            resilientFailures.increment();
+            return null;
+        }
+    }
+
+    /** Time until a warm start has sols to show when every load revalidates in line. */
+    @Benchmark
+    public InsightFeed revalidateInline() throws IOException {
+        return inlineLoader.load("bench");
+    }
+
+    /** The same, serving the cached sols while the revalidation runs in the background. */
+    @Benchmark
+    public InsightFeed staleWhileRevalidate() throws IOException {
+        return staleLoader.loadStaleWhileRevalidate("bench", FeedListener.NONE, feed -> {});
+    }
+}
@@ -0,0 +1,166 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Eight threads loading the feed against a local stub that enforces a per-key quota the way api.nasa.gov
+ * does: every response carries {@code X-RateLimit-Limit} and {@code X-RateLimit-Remaining}, and a key that
+ * has used up its quota gets {@code 429} with a {@code Retry-After} of an hour. {@code direct} sends every
+ * request with one key through {@link ResilientFetcher}; {@code scheduled} goes through {@link QuotaScheduler}
+ * with a pool of {@code keys} keys, sharing concurrent requests. The quota never refills during a trial, so
+ * how many requests each side answers before running dry is the point; upstream calls per key, 429s and
+ * coalesced requests are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Threads(8)
+@Fork(1)
+public class QuotaSchedulerBenchmark {
+    private static final int QUOTA = 200;
+
+    @Param({"1", "4"})
+    public int keys;
+
+    private HttpServer server;
+    private InsightApiClient client;
+    private ResilientFetcher directFetcher;
+    private QuotaScheduler scheduler;
+    private String baseUrl;
+    private final Map<String, AtomicInteger> upstream = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder directCalls = new LongAdder();
+    private final LongAdder directFailures = new LongAdder();
+    private final LongAdder scheduledCalls = new LongAdder();
+    private final LongAdder scheduledFailures = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] feed = SyntheticFeeds.feed(1, 7, 17);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/feed", exchange -> serve(exchange, feed));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/feed?api_key=";
+        client = new InsightApiClient(InsightApiClient.Config.defaults());
+        ResilientFetcher.Config config = new ResilientFetcher.Config(3, Duration.ofMillis(2), Duration.ofMillis(50),
+                5, Duration.ofSeconds(60));
+        directFetcher = new ResilientFetcher(client, config);
+        List<String> pool = new ArrayList<>();
+        for (int i = 0; i < keys; i++) {
+            pool.add("bench-key-" + i);
+        }
+        // No waiting for quota: once the pool is dry a request fails straight away, as the direct one does
+        scheduler = new QuotaScheduler(new ResilientFetcher(client, config), new QuotaScheduler.Config(pool, 0));
+    }
+
+    private void serve(HttpExchange exchange, byte[] feed) throws IOException {
+        try (exchange) {
+            String query = exchange.getRequestURI().getQuery();
+            String key = query == null ? "" : query.substring(query.indexOf('=') + 1);
+            int used = upstream.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            pause(5);
+            exchange.getResponseHeaders().set("X-RateLimit-Limit", Integer.toString(QUOTA));
+            exchange.getResponseHeaders().set("X-RateLimit-Remaining", Integer.toString(Math.max(0, QUOTA - used)));
+            if (used > QUOTA) {
+                throttled.increment();
+                exchange.getResponseHeaders().set("Retry-After", "3600");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, feed.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(feed);
+            }
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[%d keys] upstream calls %s, %d answered 429%n", keys, new TreeMap<>(upstream), throttled.sum());
+        if (directCalls.sum() > 0) {
+            System.out.printf("[%d keys] direct: %d calls, %d answered%n", keys,
+                    directCalls.sum(), directCalls.sum() - directFailures.sum());
+        }
+        if (scheduledCalls.sum() > 0) {
+            System.out.printf("[%d keys] scheduled: %d calls, %d answered, %d coalesced; %s%n", keys,
+                    scheduledCalls.sum(), scheduledCalls.sum() - scheduledFailures.sum(), scheduler.coalesced(),
+                    scheduler.status());
+        }
+        client.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public InsightApiClient.FeedResponse direct() {
+        directCalls.increment();
+        String key = "bench-key-0";
+        try {
+            InsightApiClient.FeedResponse response = directFetcher.fetch("feed", key, baseUrl + key, Map.of(),
+                    FeedListener.NONE);
+            if (!response.isSuccessful()) {
+                directFailures.increment();
+            }
+            return response;
+        } catch (IOException e) {
+            directFailures.increment();
+            return null;
+        }
+    }
+
+    @Benchmark
+    public InsightApiClient.FeedResponse scheduled() {
+        scheduledCalls.increment();
+        try {
+            InsightApiClient.FeedResponse response = scheduler.fetch("feed", null, key -> baseUrl + key, Map.of(),
+                    FeedListener.NONE);
+            if (!response.isSuccessful()) {
+                scheduledFailures.increment();
+            }
+            return response;
+        } catch (IOException e) {
+            scheduledFailures.increment();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingesting a synthetic raw-sample CSV of {@code sols} sols at 20,000 samples each (about 1.2 MB per sol):
+ * {@link SampleIngester} on one thread and on the common pool, against reading the same file line by line
+ * with {@link BufferedReader}, {@code String.split} and {@link Double#parseDouble}. The file size is printed
+ * at the end of each trial, so the scores convert to MB/s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class SampleIngestBenchmark {
+    private static final int SAMPLES_PER_SOL = 20_000;
+
+    @Param({"40"})
+    public int sols;
+
+    private Path file;
+    private long bytes;
+    private SampleIngester serial;
+    private SampleIngester parallel;
+    private ForkJoinPool singleThread;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("insight-samples", ".csv");
+        SplittableRandom random = new SplittableRandom(17);
+        long utc = Instant.parse("2019-02-12T00:00:00Z").toEpochMilli();
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("SOL,UTC,AT,PRE,HWS,WD\n");
+            for (int sol = 100; sol < 100 + sols; sol++) {
+                for (int i = 0; i < SAMPLES_PER_SOL; i++, utc += 4400) {
+                    out.write(String.format(Locale.ROOT, "%d,%s,%.3f,%.2f,%.3f,%.1f%n", sol, Instant.ofEpochMilli(utc),
+                            random.nextDouble(-90, -10), random.nextDouble(700, 760), random.nextDouble(0, 20),
+                            random.nextDouble(0, 360)));
+                }
+            }
+        }
+        bytes = Files.size(file);
+        singleThread = new ForkJoinPool(1);
+        serial = new SampleIngester(new SampleIngester.Config(SampleIngester.Config.defaults().chunkBytes(), singleThread));
+        parallel = new SampleIngester(SampleIngester.Config.defaults());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n%d sols, %.1f MB of samples%n", sols, bytes / 1e6);
+        singleThread.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<SolReport> ingestOneThread() throws IOException {
+        return serial.ingest(List.of(file)).reports();
+    }
+
+    @Benchmark
+    public List<SolReport> ingestParallel() throws IOException {
+        return parallel.ingest(List.of(file)).reports();
+    }
+
+    /** The straightforward reader: one String and one array per line, every field parsed by the JDK. */
+    @Benchmark
+    public double[] bufferedReaderSplit() throws IOException {
+        double[] sums = new double[4];
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            in.readLine();
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                String[] fields = line.split(",");
+                Integer.parseInt(fields[0]);
+                Instant.parse(fields[1]);
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i] += Double.parseDouble(fields[i + 2]);
+                }
+            }
+        }
+        return sums;
+    }
+}
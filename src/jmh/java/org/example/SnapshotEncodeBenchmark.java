@@ -0,0 +1,92 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/** PNG encoding of one rendered weather view: ImageIO against the reusable PngEncoder the snapshot renderer uses. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SnapshotEncodeBenchmark {
+
+    @Param({"1", "6"})
+    public int level;
+
+    private BufferedImage image;
+    private PngEncoder encoder;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        WeatherDisplay.applyDarkTheme();
+        WeatherPanel panel = new WeatherPanel(SyntheticFeeds.reports(200, 1, 7).get(0));
+        Dimension size = panel.getPreferredSize();
+        panel.setSize(Math.max(size.width, 1200), Math.max(size.height, 700));
+        SnapshotRenderer.layOut(panel);
+        image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        panel.paint(graphics);
+        graphics.dispose();
+        ImageIO.setUseCache(false);
+        encoder = new PngEncoder(level);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoder.close();
+        System.out.println();
+        System.out.println("PNG bytes: ImageIO " + imageIoSize() + ", PngEncoder level " + level + " " + encoderSize());
+    }
+
+    @Benchmark
+    public int imageIo() throws IOException {
+        out.reset();
+        ImageIO.write(image, "png", out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int pngEncoder() throws IOException {
+        out.reset();
+        encoder.write(image, out);
+        return out.size();
+    }
+
+    private int imageIoSize() {
+        try {
+            return imageIo();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private int encoderSize() {
+        try {
+            return pngEncoder();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/** Deterministic InSight-shaped feeds for benchmarks: one sol in ten fails a sensor validity check. */
+final class SyntheticFeeds {
+    private static final String[] SEASONS = {"spring", "summer", "fall", "winter"};
+    private static final long SOL_MILLIS = 88_775_244L;
+
+    private SyntheticFeeds() {}
+
+    static List<SolReport> reports(int firstSol, int count, long seed) {
+        Random random = new Random(seed);
+        List<SolReport> reports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int sol = firstSol + i;
+            String season = SEASONS[(sol / 167) % SEASONS.length];
+            SolReport.Builder builder = SolReport.builder(sol)
+                    .firstUtcMillis(1_543_000_000_000L + sol * SOL_MILLIS)
+                    .lastUtcMillis(1_543_000_000_000L + (sol + 1) * SOL_MILLIS - 1)
+                    .season(season)
+                    .northernSeason("early " + season)
+                    .southernSeason("late " + SEASONS[(sol / 167 + 2) % SEASONS.length]);
+            builder.sensor(Sensor.PRE, 720 + random.nextDouble() * 20, 740 + random.nextDouble() * 20, 760 + random.nextDouble() * 20, 300_000 + random.nextInt(50_000));
+            builder.sensor(Sensor.AT, -100 + random.nextDouble() * 10, -65 + random.nextDouble() * 10, -20 + random.nextDouble() * 10, 300_000 + random.nextInt(50_000));
+            builder.sensor(Sensor.HWS, random.nextDouble(), 4 + random.nextDouble() * 3, 15 + random.nextDouble() * 10, 150_000 + random.nextInt(30_000));
+            for (CompassPoint point : CompassPoint.values()) {
+                builder.windCount(point, random.nextInt(20_000));
+            }
+            reports.add(builder.build());
+        }
+        return reports;
+    }
+
+    static ValidityChecks validity(List<SolReport> reports) {
+        Map<String, Map<String, ValidityChecks.SensorValidity>> sols = new LinkedHashMap<>();
+        List<Integer> hours = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            hours.add(hour);
+        }
+        for (SolReport report : reports) {
+            Map<String, ValidityChecks.SensorValidity> sensors = new LinkedHashMap<>();
+            boolean valid = report.sol() % 10 != 0;
+            sensors.put("AT", new ValidityChecks.SensorValidity(hours, true));
+            sensors.put("HWS", new ValidityChecks.SensorValidity(hours, valid));
+            sensors.put("PRE", new ValidityChecks.SensorValidity(hours, true));
+            sensors.put("WD", new ValidityChecks.SensorValidity(valid ? hours : hours.subList(0, 12), valid));
+            sols.put(Integer.toString(report.sol()), sensors);
+        }
+        return new ValidityChecks(18, List.copyOf(sols.keySet()), sols);
+    }
+
+    static byte[] feed(int firstSol, int count, long seed) {
+        List<SolReport> reports = reports(firstSol, count, seed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(count * 2048);
+        try {
+            InsightFeedWriter.write(out, reports, validity(reports));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
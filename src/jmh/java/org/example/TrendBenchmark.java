@@ -0,0 +1,65 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/** Decimating a sol series to pixel columns, and repainting the trend view once decimated, headless. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TrendBenchmark {
+
+    @Param({"670", "50000"})
+    public int sols;
+
+    private SolSeries series;
+    private SolSeries.Decimation decimation;
+    private TrendPanel panel;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        series = SolSeries.of(SyntheticFeeds.reports(1, sols, 11));
+        decimation = new SolSeries.Decimation(1100);
+        panel = new TrendPanel(series, report -> { });
+        panel.setSize(1200, 700);
+        image = new BufferedImage(1200, 700, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public SolSeries.Decimation decimate() {
+        series.decimate(Sensor.AT, series.firstSol(), series.lastSol(), decimation);
+        return decimation;
+    }
+
+    @Benchmark
+    public BufferedImage repaint() {
+        panel.paintComponent(graphics);
+        return image;
+    }
+}
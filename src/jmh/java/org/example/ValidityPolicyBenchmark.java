@@ -0,0 +1,90 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hardcoded {@link SolValidator#isSolValid} rule against compiled {@link ValidityPolicy} predicates, both
+ * over the parsed check maps and over sols already packed with {@link ValidityPolicy#encode}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidityPolicyBenchmark {
+
+    @Param({"20000"})
+    public int sols;
+
+    private List<Map<String, ValidityChecks.SensorValidity>> checks;
+    private long[] encoded;
+    private int solHoursRequired;
+    private ValidityPolicy defaultPolicy;
+    private ValidityPolicy customPolicy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ValidityChecks validity = SyntheticFeeds.validity(SyntheticFeeds.reports(100, sols, 42));
+        checks = new ArrayList<>(validity.sols().values());
+        encoded = new long[checks.size()];
+        for (int i = 0; i < checks.size(); i++) {
+            encoded[i] = ValidityPolicy.encode(checks.get(i));
+        }
+        solHoursRequired = validity.solHoursRequired();
+        defaultPolicy = ValidityPolicy.DEFAULT;
+        customPolicy = ValidityPolicy.compile("AT valid, PRE valid, all hours >= required, ignore WD");
+    }
+
+    @Benchmark
+    public int hardcoded() {
+        int valid = 0;
+        for (Map<String, ValidityChecks.SensorValidity> sol : checks) {
+            if (SolValidator.isSolValid(sol)) valid++;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int defaultPolicyOverMaps() {
+        int valid = 0;
+        for (Map<String, ValidityChecks.SensorValidity> sol : checks) {
+            if (defaultPolicy.test(sol, solHoursRequired)) valid++;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int defaultPolicyEncoded() {
+        int valid = 0;
+        for (long sol : encoded) {
+            if (defaultPolicy.test(sol, solHoursRequired)) valid++;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int customPolicyEncoded() {
+        int valid = 0;
+        for (long sol : encoded) {
+            if (customPolicy.test(sol, solHoursRequired)) valid++;
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,173 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads many sols at once from several feed mirrors and sol archives. Every source fetch runs as its own
+ * virtual-thread task and each feed is validated by the {@link ValidationEngine}; a semaphore bounds how
+ * many upstream requests are in flight, each request has its own timeout, and 429 responses are retried
+ * after {@code Retry-After} or an exponential backoff.
+ */
+public final class BatchLoader {
+    private final InsightApiClient client;
+    private final Config config;
+
+    public BatchLoader(InsightApiClient client, Config config) {
+        this.client = client;
+        this.config = config;
+    }
+
+    public record Config(int maxConcurrentRequests, Duration requestTimeout, int maxAttempts, Duration initialBackoff) {
+        public static Config defaults() {
+            return new Config(8, Duration.ofSeconds(30), 5, Duration.ofMillis(500));
+        }
+    }
+
+    /** Valid sols in {@code [fromSol, toSol]} keyed by sol number, plus one message per source or sol that failed. */
+    public record Result(NavigableMap<Integer, SolReport> reports, List<String> failures, Duration elapsed) {
+    }
+
+    public Result load(List<String> feedUrls, List<Path> archives, int fromSol, int toSol) throws InterruptedException {
+        long start = System.nanoTime();
+        NavigableMap<Integer, SolReport> reports = new ConcurrentSkipListMap<>();
+        List<String> failures = new CopyOnWriteArrayList<>();
+        Semaphore permits = new Semaphore(config.maxConcurrentRequests());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String url : feedUrls) {
+                executor.submit(() -> {
+                    try {
+                        InsightFeed feed = fetchWithBackoff(url, permits);
+                        validateAll(feed, fromSol, toSol, reports, failures);
+                    } catch (IOException | TimeoutException | ExecutionException e) {
+                        failures.add(url + ": " + describe(e));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            for (Path archive : archives) {
+                executor.submit(() -> readArchive(archive, fromSol, toSol, reports, failures));
+            }
+        }
+
+        return new Result(Collections.unmodifiableNavigableMap(reports), List.copyOf(failures),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private InsightFeed fetchWithBackoff(String url, Semaphore permits)
+            throws IOException, InterruptedException, TimeoutException, ExecutionException {
+        long backoffMillis = config.initialBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            InsightApiClient.FeedResponse response;
+            permits.acquire();
+            try {
+                Future<InsightApiClient.FeedResponse> call = client.fetchFeedAsync(url, Map.of());
+                try {
+                    response = call.get(config.requestTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException | InterruptedException e) {
+                    call.cancel(true);
+                    throw e;
+                }
+            } finally {
+                permits.release();
+            }
+
+            if (response.isSuccessful()) {
+                return response.feed();
+            }
+            if (response.code() != 429 || attempt >= config.maxAttempts()) {
+                throw new IOException("HTTP " + response.code() + " after " + attempt + " attempt(s)");
+            }
+
+            long waitMillis = ResilientFetcher.retryAfterMillis(response.header("Retry-After"), backoffMillis);
+            Thread.sleep(waitMillis + ThreadLocalRandom.current().nextLong(waitMillis / 4 + 1));
+            backoffMillis *= 2;
+        }
+    }
+
+    private static void validateAll(InsightFeed feed, int fromSol, int toSol,
+                                    Map<Integer, SolReport> reports, List<String> failures) {
+        // Validation is pure CPU work, so it runs on the fork-join pool rather than one virtual thread per sol
+        ValidationEngine.Result validation = ValidationEngine.validate(feed.validityChecks());
+        for (Map.Entry<String, SolReport> entry : feed.sols().entrySet()) {
+            int sol = entry.getValue().sol();
+            if (sol < fromSol || sol > toSol || !feed.validityChecks().sols().containsKey(entry.getKey())) {
+                continue;
+            }
+            if (validation.isValid(sol)) {
+                reports.putIfAbsent(sol, entry.getValue());
+            } else {
+                failures.add("sol " + entry.getKey() + ": failed validity checks" + describe(validation.failures(sol)));
+            }
+        }
+    }
+
+    private static String describe(List<ValidationEngine.SensorVerdict> verdicts) {
+        StringBuilder text = new StringBuilder();
+        for (ValidationEngine.SensorVerdict verdict : verdicts) {
+            text.append(text.isEmpty() ? " (" : ", ").append(verdict.sensor()).append(' ')
+                    .append(verdict.reason().name().toLowerCase().replace('_', ' '));
+        }
+        return text.isEmpty() ? "" : text.append(')').toString();
+    }
+
+    private static void readArchive(Path path, int fromSol, int toSol,
+                                    Map<Integer, SolReport> reports, List<String> failures) {
+        // Keep the archive mapped until every decode task has run, then release it
+        List<Future<?>> decodes = new ArrayList<>();
+        try (SolArchive archive = SolArchive.open(path);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int from = insertionPoint(archive.indexOf(fromSol));
+            int to = insertionPoint(archive.indexOf(toSol));
+            if (to < archive.size() && archive.solAt(to) == toSol) {
+                to++;
+            }
+            int chunk = 256;
+            for (int start = from; start < to; start += chunk) {
+                int first = start;
+                int last = Math.min(start + chunk, to);
+                decodes.add(executor.submit(() -> {
+                    for (int i = first; i < last; i++) {
+                        SolReport report = archive.get(i);
+                        reports.putIfAbsent(report.sol(), report);
+                    }
+                }));
+            }
+            for (Future<?> decode : decodes) {
+                decode.get();
+            }
+        } catch (IOException | ExecutionException | CancellationException e) {
+            failures.add(path + ": " + describe(e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int insertionPoint(int index) {
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,78 @@
+package org.example;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row the circuit opens and
+ * every call is refused until the open period ends; then one trial call is let through, and its outcome
+ * either closes the circuit or opens it again.
+ */
+final class CircuitBreaker {
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openUntilNanos;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, long openNanos) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+    }
+
+    /** Whether a call may go ahead now. In the half-open state only the first caller is let through. */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openUntilNanos < 0) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            openFor(openNanos);
+        }
+    }
+
+    /** Opens the circuit for at least {@code nanos}, e.g. for a server's {@code Retry-After}. */
+    synchronized void openFor(long nanos) {
+        long until = System.nanoTime() + nanos;
+        if (state != State.OPEN || until - openUntilNanos > 0) {
+            openUntilNanos = until;
+        }
+        state = State.OPEN;
+        trialInFlight = false;
+    }
+
+    /** A call that was let through ended without an outcome (it was cancelled), so another may try. */
+    synchronized void onAbandoned() {
+        trialInFlight = false;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /** Milliseconds until an open circuit lets a trial through, 0 otherwise. */
+    synchronized long remainingOpenMillis() {
+        return state == State.OPEN ? Math.max(0, (openUntilNanos - System.nanoTime()) / 1_000_000) : 0;
+    }
+}
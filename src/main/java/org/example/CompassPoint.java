@@ -0,0 +1,28 @@
+package org.example;
+
+public enum CompassPoint {
+    N, NNE, NE, ENE, E, ESE, SE, SSE, S, SSW, SW, WSW, W, WNW, NW, NNW;
+
+    public static final int COUNT = 16;
+    public static final double SECTOR_DEGREES = 360.0 / COUNT;
+
+    private static final CompassPoint[] VALUES = values();
+
+    public double degrees() {
+        return ordinal() * SECTOR_DEGREES;
+    }
+
+    public static CompassPoint of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /** Returns the point with the given feed name ("NNE", ...) or null if it is not a compass point. */
+    public static CompassPoint fromName(String name) {
+        for (CompassPoint point : VALUES) {
+            if (point.name().equals(name)) {
+                return point;
+            }
+        }
+        return null;
+    }
+}
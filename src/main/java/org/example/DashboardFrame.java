@@ -0,0 +1,119 @@
+package org.example;
+
+import javax.swing.*;
+import javax.swing.event.ListSelectionEvent;
+import java.awt.*;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Long-running window for {@link LiveDashboard}: a sol list beside one {@link WeatherPanel}. Each poll's
+ * {@link FeedDiff} is applied in place, so list rows are inserted or removed individually and the weather
+ * view is only rebound when the sol it shows changed. All methods run on the EDT.
+ */
+class DashboardFrame extends JFrame {
+    private final NavigableMap<Integer, SolReport> reports = new TreeMap<>();
+    private final DefaultListModel<Integer> solModel = new DefaultListModel<>();
+    private final JList<Integer> solList = new JList<>(solModel);
+    private final JLabel statusLabel = new JLabel("Loading sols...");
+    private WeatherPanel weatherPanel;
+    // Keep showing the newest sol until the user picks an older one
+    private boolean followLatest = true;
+
+    DashboardFrame() {
+        setTitle("Mars Weather - Live");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+        getContentPane().setBackground(WeatherPanel.BACKGROUND_COLOR);
+
+        solList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        solList.setBackground(WeatherPanel.PANEL_BACKGROUND);
+        solList.setForeground(WeatherPanel.TEXT_COLOR);
+        solList.setFont(new Font("Arial", Font.PLAIN, 14));
+        solList.addListSelectionListener(this::solSelected);
+        JScrollPane solScroll = new JScrollPane(solList);
+        solScroll.setPreferredSize(new Dimension(110, 700));
+        solScroll.setBorder(BorderFactory.createMatteBorder(0, 0, 0, 1, WeatherPanel.PRIMARY_COLOR));
+
+        statusLabel.setForeground(WeatherPanel.TEXT_COLOR);
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(6, 10, 6, 10));
+
+        add(solScroll, BorderLayout.WEST);
+        add(statusLabel, BorderLayout.SOUTH);
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    void apply(FeedDiff diff, String status) {
+        for (Integer sol : diff.removed()) {
+            reports.remove(sol);
+            solModel.removeElement(sol);
+        }
+        for (SolReport report : diff.added()) {
+            reports.put(report.sol(), report);
+            solModel.add(insertionIndex(report.sol()), report.sol());
+        }
+        for (SolReport report : diff.changed()) {
+            reports.put(report.sol(), report);
+        }
+        showStatus(status);
+
+        if (reports.isEmpty()) {
+            return;
+        }
+        Integer selected = solList.getSelectedValue();
+        if (followLatest || selected == null || !reports.containsKey(selected)) {
+            solList.setSelectedIndex(solModel.size() - 1);
+            solList.ensureIndexIsVisible(solModel.size() - 1);
+        }
+        // Reselecting the row already selected fires no event, so a revised sol is rebound here
+        selected = solList.getSelectedValue();
+        if (weatherPanel != null && isChanged(diff, selected)) {
+            weatherPanel.bind(reports.get(selected));
+        }
+    }
+
+    void showStatus(String status) {
+        statusLabel.setText(status);
+    }
+
+    private void solSelected(ListSelectionEvent event) {
+        int index = solList.getSelectedIndex();
+        if (event.getValueIsAdjusting() || index < 0) {
+            return;
+        }
+        followLatest = index == solModel.size() - 1;
+        SolReport report = reports.get(solModel.get(index));
+        if (weatherPanel == null) {
+            weatherPanel = new WeatherPanel(report);
+            add(weatherPanel, BorderLayout.CENTER);
+            pack();
+            setLocationRelativeTo(null);
+        } else {
+            weatherPanel.bind(report);
+        }
+    }
+
+    private static boolean isChanged(FeedDiff diff, Integer sol) {
+        for (SolReport report : diff.changed()) {
+            if (sol != null && report.sol() == sol) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int insertionIndex(int sol) {
+        int low = 0;
+        int high = solModel.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (solModel.get(mid) < sol) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What changed between two {@link FeedSnapshot}s: valid sols that appeared, valid sols whose readings were
+ * revised, sols no longer shown (dropped from the feed or newly failing validity), and sols that newly fail
+ * their validity checks.
+ */
+public record FeedDiff(List<SolReport> added, List<SolReport> changed, List<Integer> removed, List<Integer> failed) {
+
+    public static FeedDiff between(FeedSnapshot previous, FeedSnapshot current) {
+        List<SolReport> added = new ArrayList<>();
+        List<SolReport> changed = new ArrayList<>();
+        List<Integer> removed = new ArrayList<>();
+        List<Integer> failed = new ArrayList<>();
+
+        for (Map.Entry<Integer, SolReport> entry : current.valid().entrySet()) {
+            SolReport before = previous.valid().get(entry.getKey());
+            if (before == null) {
+                added.add(entry.getValue());
+            } else if (!before.equals(entry.getValue())) {
+                changed.add(entry.getValue());
+            }
+        }
+        for (Integer sol : previous.valid().keySet()) {
+            if (!current.valid().containsKey(sol)) {
+                removed.add(sol);
+            }
+        }
+        for (Integer sol : current.failed()) {
+            if (!previous.failed().contains(sol)) {
+                failed.add(sol);
+            }
+        }
+        return new FeedDiff(added, changed, removed, failed);
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty() && failed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return added.size() + " new, " + changed.size() + " changed, " + removed.size() + " removed, "
+                + failed.size() + " failed validity";
+    }
+}
@@ -0,0 +1,17 @@
+package org.example;
+
+/**
+ * Callbacks while a feed streams in, invoked on the thread doing the reading. The parser reports each sol
+ * and the validity checks as soon as they are read, and {@link InsightApiClient} reports body bytes, so a
+ * caller can act on part of a feed before the download finishes.
+ */
+public interface FeedListener {
+    FeedListener NONE = new FeedListener() {};
+
+    /** {@code contentLength} is -1 when the server did not send one. */
+    default void onBytesRead(long bytesRead, long contentLength) {}
+
+    default void onSol(String solKey, SolReport report) {}
+
+    default void onValidityChecks(ValidityChecks validityChecks) {}
+}
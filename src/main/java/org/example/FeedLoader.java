@@ -0,0 +1,197 @@
+package org.example;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Loads the InSight feed through the {@link SolCache}. A recently revalidated cache is served without
+ * touching the network; otherwise the request carries the cached validators and a 304 is answered from
+ * disk, so a warm start downloads no feed body at all. Requests go through a {@link QuotaScheduler}, which
+ * picks an API key with quota left and shares concurrent requests, and a {@link ResilientFetcher}; whenever
+ * the API cannot be reached the last good feed on disk is served instead.
+ */
+public final class FeedLoader {
+    public static final String DEFAULT_BASE_URL = "https://api.nasa.gov/insight_weather/";
+    public static final long DEFAULT_REVALIDATE_AFTER_MILLIS = 10 * 60 * 1000L;
+
+    // Metrics counters for where each load was answered from
+    static final String LOADS_FROM_CACHE = "feed_loads{source=\"cache\"}";
+    static final String LOADS_NOT_MODIFIED = "feed_loads{source=\"not_modified\"}";
+    static final String LOADS_STALE = "feed_loads{source=\"stale_while_revalidate\"}";
+    static final String LOADS_FROM_NETWORK = "feed_loads{source=\"network\"}";
+    static final String LOADS_FALLBACK = "feed_loads{source=\"cache_fallback\"}";
+
+    private final QuotaScheduler scheduler;
+    private final SolCache cache;
+    private final String baseUrl;
+    private final long revalidateAfterMillis;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public FeedLoader(InsightApiClient client, SolCache cache) {
+        this(client, cache, DEFAULT_BASE_URL, Long.getLong("insight.cache.revalidateAfterMillis", DEFAULT_REVALIDATE_AFTER_MILLIS));
+    }
+
+    public FeedLoader(InsightApiClient client, SolCache cache, String baseUrl, long revalidateAfterMillis) {
+        this(new ResilientFetcher(client, ResilientFetcher.Config.fromSystemProperties()), cache, baseUrl, revalidateAfterMillis);
+    }
+
+    public FeedLoader(ResilientFetcher fetcher, SolCache cache, String baseUrl, long revalidateAfterMillis) {
+        this(new QuotaScheduler(fetcher, QuotaScheduler.Config.fromSystemProperties()), cache, baseUrl, revalidateAfterMillis);
+    }
+
+    public FeedLoader(QuotaScheduler scheduler, SolCache cache, String baseUrl, long revalidateAfterMillis) {
+        this.scheduler = scheduler;
+        this.cache = cache;
+        this.baseUrl = baseUrl;
+        this.revalidateAfterMillis = revalidateAfterMillis;
+    }
+
+    /** The cache key: the feed URL without the API key, since every key sees the same sols. */
+    public String endpoint() {
+        return baseUrl + "?feedtype=json&ver=1.0";
+    }
+
+    public String feedUrl(String apiKey) {
+        return baseUrl + "?api_key=" + apiKey + "&feedtype=json&ver=1.0";
+    }
+
+    public ResilientFetcher.Stats fetchStats() {
+        return scheduler.fetcher().stats();
+    }
+
+    public List<QuotaScheduler.KeyStatus> quotaStatus() {
+        return scheduler.status();
+    }
+
+    public InsightFeed load(String apiKey) throws IOException {
+        return load(apiKey, FeedListener.NONE);
+    }
+
+    /**
+     * Loads the feed, reporting it to {@code listener} as it streams in. A feed served from the cache is
+     * reported in one go; if a download fails part way and the cache is served instead, sols already
+     * reported are reported again.
+     */
+    public InsightFeed load(String apiKey, FeedListener listener) throws IOException {
+        Optional<SolCache.Entry> cached = readCache(endpoint());
+        if (cached.isPresent() && cached.get().complete() && !isDue(cached.get())) {
+            Metrics.count(LOADS_FROM_CACHE, 1);
+            return replay(cached.get().feed(), listener);
+        }
+        return fetch(apiKey, listener, cached);
+    }
+
+    /**
+     * Stale-while-revalidate: a complete cached feed is returned at once however old it is, and if it is due
+     * for revalidation the refresh runs on a background thread. {@code refreshed} receives the new feed only
+     * if the server sent one; a 304 or a failed refresh leaves the cached feed in place. Without a complete
+     * cache this is {@link #load(String, FeedListener)}.
+     */
+    public InsightFeed loadStaleWhileRevalidate(String apiKey, FeedListener listener, Consumer<InsightFeed> refreshed)
+            throws IOException {
+        Optional<SolCache.Entry> cached = readCache(endpoint());
+        if (cached.isEmpty() || !cached.get().complete()) {
+            return fetch(apiKey, listener, cached);
+        }
+        Metrics.count(LOADS_STALE, 1);
+        InsightFeed stale = replay(cached.get().feed(), listener);
+        if (isDue(cached.get()) && refreshing.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("insight-revalidate").start(() -> {
+                try {
+                    InsightFeed feed = revalidate(apiKey, FeedListener.NONE, cached);
+                    if (feed != null) {
+                        refreshed.accept(feed);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Background refresh failed, keeping cached sols: " + e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return stale;
+    }
+
+    private boolean isDue(SolCache.Entry entry) {
+        return System.currentTimeMillis() - entry.fetchedAtMillis() >= revalidateAfterMillis;
+    }
+
+    private InsightFeed fetch(String apiKey, FeedListener listener, Optional<SolCache.Entry> cached) throws IOException {
+        try {
+            InsightFeed feed = revalidate(apiKey, listener, cached);
+            Metrics.count(feed != null ? LOADS_FROM_NETWORK : LOADS_NOT_MODIFIED, 1);
+            return feed != null ? feed : replay(cached.get().feed(), listener);
+        } catch (IOException e) {
+            // A cancelled load should stop, not fall back to the cache
+            if (cached.isPresent() && !Thread.currentThread().isInterrupted()) {
+                Metrics.count(LOADS_FALLBACK, 1);
+                return replay(cached.get().feed(), listener);
+            }
+            throw e;
+        }
+    }
+
+    /** The feed from the server, or null when it answered 304 for the cached copy. */
+    private InsightFeed revalidate(String apiKey, FeedListener listener, Optional<SolCache.Entry> cached) throws IOException {
+        String endpoint = endpoint();
+        Map<String, String> headers = new LinkedHashMap<>();
+        // Only revalidate when every sol is on disk, otherwise a 304 would leave evicted sols missing
+        if (cached.isPresent() && cached.get().complete()) {
+            if (cached.get().etag() != null) {
+                headers.put("If-None-Match", cached.get().etag());
+            }
+            if (cached.get().lastModified() != null) {
+                headers.put("If-Modified-Since", cached.get().lastModified());
+            }
+        }
+
+        InsightApiClient.FeedResponse response = scheduler.fetch(endpoint, apiKey, this::feedUrl, headers, listener);
+        if (response.isNotModified() && cached.isPresent()) {
+            touchCache(endpoint);
+            return null;
+        }
+        if (!response.isSuccessful()) {
+            throw new IOException("InSight API returned HTTP " + response.code());
+        }
+        writeCache(endpoint, response.feed(), response.header("ETag"), response.header("Last-Modified"));
+        return response.feed();
+    }
+
+    private static InsightFeed replay(InsightFeed feed, FeedListener listener) {
+        if (listener != FeedListener.NONE) {
+            feed.sols().forEach(listener::onSol);
+            listener.onValidityChecks(feed.validityChecks());
+        }
+        return feed;
+    }
+
+    private Optional<SolCache.Entry> readCache(String endpoint) {
+        try (Metrics.Span ignored = Metrics.start("cache.read")) {
+            return cache.load(endpoint);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable sol cache: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeCache(String endpoint, InsightFeed feed, String etag, String lastModified) {
+        try (Metrics.Span ignored = Metrics.start("cache.write")) {
+            cache.store(endpoint, feed, etag, lastModified);
+        } catch (IOException e) {
+            System.err.println("Could not update sol cache: " + e.getMessage());
+        }
+    }
+
+    private void touchCache(String endpoint) {
+        try {
+            cache.touch(endpoint);
+        } catch (IOException e) {
+            System.err.println("Could not update sol cache: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.example;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads the feed for the main window in stages that never block the EDT. Fetch and parse stream together on
+ * a background thread; validation starts on the fork-join pool the moment {@code validity_checks} has been
+ * read, so the sol picker can be offered before the download finishes; the model is built next to it, and
+ * only the view is left for the EDT. Every {@link View} callback is posted with
+ * {@link SwingUtilities#invokeLater}, and nothing is posted once {@link #cancel} has been called.
+ * <p>
+ * A cached feed is shown at once even when it is due for revalidation; if the background refresh brings a
+ * newer feed, {@link View#solsAvailable} and {@link View#loaded} are called again with it.
+ */
+public final class FeedPipeline {
+
+    public enum Stage {
+        FETCH("Downloading feed"),
+        PARSE("Reading sols"),
+        VALIDATE("Checking sol validity"),
+        MODEL("Preparing sols"),
+        VIEW("Building view");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    /** Receives the pipeline's progress. Every method is called on the EDT. */
+    public interface View {
+        void stageStarted(Stage stage);
+
+        /** {@code contentLength} is -1 when unknown. */
+        void progress(long bytesRead, long contentLength, int solsRead);
+
+        /** The valid sols, in order, as soon as validation is done; their reports may still be streaming. */
+        void solsAvailable(List<String> validSolKeys);
+
+        void loaded(Model model);
+
+        void failed(String message);
+    }
+
+    /** The finished load: the feed and its valid sols in sol order. */
+    public record Model(InsightFeed feed, List<String> validSolKeys, List<SolReport> validReports) {
+    }
+
+    private final FeedLoader loader;
+    private final String apiKey;
+    private final View view;
+    // A platform thread rather than a virtual one, so Metrics can measure what the fetch and parse allocate
+    private final ExecutorService fetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "insight-load");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, SolReport> streamed = new ConcurrentHashMap<>();
+
+    private volatile boolean cancelled;
+    private volatile Future<?> fetch;
+    private volatile ValidityChecks validatedChecks;
+    private volatile CompletableFuture<ValidationEngine.Result> validation;
+    private boolean refreshDelivered;
+
+    // Progress is coalesced: at most one update is queued on the EDT, and it reads the latest values
+    private final AtomicBoolean progressQueued = new AtomicBoolean();
+    private volatile long bytesRead;
+    private volatile long contentLength = -1;
+    private volatile int solsRead;
+
+    public FeedPipeline(FeedLoader loader, String apiKey, View view) {
+        this.loader = loader;
+        this.apiKey = apiKey;
+        this.view = view;
+    }
+
+    public void start() {
+        fetch = fetchExecutor.submit(this::run);
+        fetchExecutor.shutdown();
+    }
+
+    /** Stops every stage; the view hears nothing further. Safe to call from any thread. */
+    public void cancel() {
+        cancelled = true;
+        Future<?> running = fetch;
+        if (running != null) {
+            running.cancel(true);
+        }
+        CompletableFuture<ValidationEngine.Result> pending = validation;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** A sol that has streamed in so far, or null. */
+    public SolReport report(String solKey) {
+        return streamed.get(solKey);
+    }
+
+    private void run() {
+        try {
+            post(() -> view.stageStarted(Stage.FETCH));
+            InsightFeed feed = loader.loadStaleWhileRevalidate(apiKey, new FeedListener() {
+                @Override
+                public void onBytesRead(long read, long length) {
+                    bytesRead = read;
+                    contentLength = length;
+                    postProgress();
+                }
+
+                @Override
+                public void onSol(String solKey, SolReport report) {
+                    if (streamed.isEmpty()) {
+                        post(() -> view.stageStarted(Stage.PARSE));
+                    }
+                    streamed.put(solKey, report);
+                    solsRead = streamed.size();
+                    postProgress();
+                }
+
+                @Override
+                public void onValidityChecks(ValidityChecks validityChecks) {
+                    validate(validityChecks);
+                }
+            }, this::refreshed);
+            if (!cancelled) {
+                deliver(feed, false);
+            }
+        } catch (Exception e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            post(() -> view.failed(message));
+        }
+    }
+
+    // A stale cached feed was shown and the background revalidation brought a newer one
+    private void refreshed(InsightFeed feed) {
+        if (cancelled) {
+            return;
+        }
+        try {
+            streamed.putAll(feed.sols());
+            deliver(feed, true);
+        } catch (RuntimeException e) {
+            System.err.println("Could not apply refreshed feed: " + e.getMessage());
+        }
+    }
+
+    private synchronized void deliver(InsightFeed feed, boolean refresh) {
+        // The first load can lose the race with a very fast refresh; never replace newer sols with older ones
+        if (!refresh && refreshDelivered) {
+            return;
+        }
+        refreshDelivered |= refresh;
+
+        // The feed came from a path that did not stream its checks, or a cache replay replaced them
+        if (validatedChecks != feed.validityChecks()) {
+            validate(feed.validityChecks());
+        }
+        ValidationEngine.Result result = validation.join();
+
+        post(() -> view.stageStarted(Stage.MODEL));
+        Model model;
+        try (Metrics.Span ignored = Metrics.start("model")) {
+            List<String> validSolKeys = result.validSolKeys();
+            List<SolReport> validReports = new ArrayList<>(validSolKeys.size());
+            for (String solKey : validSolKeys) {
+                SolReport report = feed.sols().get(solKey);
+                if (report != null) {
+                    validReports.add(report);
+                }
+            }
+            model = new Model(feed, validSolKeys, List.copyOf(validReports));
+        }
+        post(() -> {
+            view.stageStarted(Stage.VIEW);
+            view.loaded(model);
+        });
+    }
+
+    private synchronized void validate(ValidityChecks validityChecks) {
+        validatedChecks = validityChecks;
+        post(() -> view.stageStarted(Stage.VALIDATE));
+        validation = CompletableFuture.supplyAsync(() -> ValidationEngine.validate(validityChecks), ForkJoinPool.commonPool());
+        validation.thenAccept(result -> {
+            List<String> validSolKeys = result.validSolKeys();
+            post(() -> view.solsAvailable(validSolKeys));
+        });
+    }
+
+    private void postProgress() {
+        if (progressQueued.compareAndSet(false, true)) {
+            post(() -> {
+                progressQueued.set(false);
+                view.progress(bytesRead, contentLength, solsRead);
+            });
+        }
+    }
+
+    private void post(Runnable update) {
+        SwingUtilities.invokeLater(() -> {
+            if (!cancelled) {
+                update.run();
+            }
+        });
+    }
+}
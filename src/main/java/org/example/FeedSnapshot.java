@@ -0,0 +1,32 @@
+package org.example;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/** The sols of one feed poll, split into those that pass {@link ValidityPolicy#configured()} and those that fail it. */
+public record FeedSnapshot(NavigableMap<Integer, SolReport> valid, Set<Integer> failed) {
+
+    public static final FeedSnapshot EMPTY = new FeedSnapshot(Collections.emptyNavigableMap(), Set.of());
+
+    public static FeedSnapshot of(InsightFeed feed) {
+        NavigableMap<Integer, SolReport> valid = new TreeMap<>();
+        Set<Integer> failed = new HashSet<>();
+        ValidityPolicy policy = ValidityPolicy.configured();
+        for (Map.Entry<String, Map<String, ValidityChecks.SensorValidity>> entry : feed.validityChecks().sols().entrySet()) {
+            SolReport report = feed.sols().get(entry.getKey());
+            if (report == null) {
+                continue;
+            }
+            if (policy.test(entry.getValue(), feed.validityChecks().solHoursRequired())) {
+                valid.put(report.sol(), report);
+            } else {
+                failed.add(report.sol());
+            }
+        }
+        return new FeedSnapshot(Collections.unmodifiableNavigableMap(valid), Collections.unmodifiableSet(failed));
+    }
+}
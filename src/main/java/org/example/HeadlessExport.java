@@ -0,0 +1,243 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command-line export that never touches {@code java.awt} or {@code javax.swing}: loads the feed (or an
+ * archive), keeps the sols that pass the configured {@link ValidityPolicy}, and streams them to stdout or a file.
+ *
+ * <pre>
+ * --api-key KEY     or NASA_API_KEY ("demo" uses DEMO_KEY)
+ * --sols SPEC       or INSIGHT_SOLS, e.g. "all", "259,261", "250-300" (default all)
+ * --format FORMAT   or INSIGHT_FORMAT: csv, jsonl, columnar (default csv)
+ * --out FILE        or INSIGHT_OUT (default stdout)
+ * --archive FILE    read sols from a sol archive instead of the API
+ * --stats           print startup time and resident memory to stderr
+ * --summary         write per-season and rolling statistics instead of the sols
+ * --window N        sols in the rolling window of --summary (default 7)
+ * </pre>
+ */
+public final class HeadlessExport {
+
+    private HeadlessExport() {}
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    static int run(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        String apiKey = option(options, "api-key", "NASA_API_KEY", "DEMO_KEY");
+        if (apiKey.equals("demo")) {
+            apiKey = "DEMO_KEY";
+        }
+        String solSpec = option(options, "sols", "INSIGHT_SOLS", "all");
+        SolExportFormat format = SolExportFormat.parse(option(options, "format", "INSIGHT_FORMAT", "csv"));
+        String out = option(options, "out", "INSIGHT_OUT", null);
+        String archive = options.get("archive");
+
+        try {
+            long exportStart = System.nanoTime();
+            int sols;
+            if (out == null || out.equals("-")) {
+                sols = export(options, format, archive, apiKey, solSpec, System.out);
+                System.out.flush();
+            } else {
+                try (OutputStream stream = Files.newOutputStream(Path.of(out))) {
+                    sols = export(options, format, archive, apiKey, solSpec, stream);
+                }
+            }
+
+            if (options.containsKey("stats")) {
+                printStats(sols, System.nanoTime() - exportStart);
+            }
+            return 0;
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Writes each selected sol as it is loaded. CSV and JSON Lines hold only the current sol; the columnar
+     * format keeps every row in memory until its sink's {@code finish()} writes the columns. Returns the
+     * number of sols.
+     */
+    private static int export(Map<String, String> options, SolExportFormat format, String archive, String apiKey,
+                              String solSpec, OutputStream out) throws IOException {
+        if (options.containsKey("summary")) {
+            SolAggregator aggregator = new SolAggregator(Integer.parseInt(options.getOrDefault("window", "7")));
+            int sols = forEachSol(archive, apiKey, solSpec, aggregator::add);
+            writeSummary(aggregator, out);
+            return sols;
+        }
+        SolExportFormat.Sink sink = format.open(out);
+        int sols = forEachSol(archive, apiKey, solSpec, sink::write);
+        sink.finish();
+        return sols;
+    }
+
+    private static void writeSummary(SolAggregator aggregator, OutputStream out) throws IOException {
+        StringBuilder text = new StringBuilder("scope,sensor,sols,samples,weighted_mean,mean,stddev,min,p05,p50,p95,max,prevailing_wind\n");
+        appendSummary(text, "all", aggregator.total());
+        appendSummary(text, "last " + aggregator.recent().size(), aggregator.recent().summary());
+        aggregator.bySeason().forEach((season, aggregate) -> appendSummary(text, "season " + season, aggregate));
+        aggregator.byNorthernSeason().forEach((season, aggregate) -> appendSummary(text, "northern season " + season, aggregate));
+        out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void appendSummary(StringBuilder text, String scope, SolAggregate aggregate) {
+        CompassPoint wind = aggregate.prevailingWind();
+        for (Sensor sensor : Sensor.values()) {
+            SolAggregate.SensorStats stats = aggregate.sensor(sensor);
+            if (stats.sols() == 0) {
+                continue;
+            }
+            text.append(scope).append(',').append(sensor.name())
+                    .append(',').append(stats.sols())
+                    .append(',').append(stats.samples());
+            for (double value : new double[]{stats.weightedMean(), stats.mean(), stats.standardDeviation(), stats.min(),
+                    stats.quantile(0.05), stats.quantile(0.5), stats.quantile(0.95), stats.max()}) {
+                text.append(',').append(Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.3f", value));
+            }
+            text.append(',').append(wind != null ? wind.name() : "").append('\n');
+        }
+    }
+
+    /** Receives the selected sols in sol order. */
+    interface SolConsumer {
+        void accept(SolReport report) throws IOException;
+    }
+
+    /** Passes every selected sol of the archive, or of the feed when {@code archive} is null, to {@code consumer}. */
+    static int forEachSol(String archive, String apiKey, String solSpec, SolConsumer consumer) throws IOException {
+        return archive != null ? forEachArchiveSol(Path.of(archive), solSpec, consumer) : forEachFeedSol(apiKey, solSpec, consumer);
+    }
+
+    static List<SolReport> loadFeed(String apiKey, String solSpec) throws IOException {
+        List<SolReport> reports = new ArrayList<>();
+        forEachFeedSol(apiKey, solSpec, reports::add);
+        return reports;
+    }
+
+    static List<SolReport> loadArchive(Path path, String solSpec) throws IOException {
+        List<SolReport> reports = new ArrayList<>();
+        forEachArchiveSol(path, solSpec, reports::add);
+        return reports;
+    }
+
+    private static int forEachFeedSol(String apiKey, String solSpec, SolConsumer consumer) throws IOException {
+        InsightFeed feed = new FeedLoader(InsightApiClient.shared(), SolCache.openDefault()).load(apiKey);
+        int sols = 0;
+        for (String solKey : SolValidator.getValidSolKeys(feed.validityChecks())) {
+            SolReport report = feed.sols().get(solKey);
+            if (report != null && matches(solSpec, report.sol())) {
+                consumer.accept(report);
+                sols++;
+            }
+        }
+        return sols;
+    }
+
+    // Archives only ever contain sols that passed validation when they were built
+    private static int forEachArchiveSol(Path path, String solSpec, SolConsumer consumer) throws IOException {
+        int sols = 0;
+        try (SolArchive archive = SolArchive.open(path)) {
+            for (int i = 0; i < archive.size(); i++) {
+                if (matches(solSpec, archive.solAt(i))) {
+                    consumer.accept(archive.get(i));
+                    sols++;
+                }
+            }
+        }
+        return sols;
+    }
+
+    static boolean matches(String solSpec, int sol) {
+        if (solSpec.equals("all")) {
+            return true;
+        }
+        for (String part : solSpec.split(",")) {
+            String range = part.strip();
+            int dash = range.indexOf('-');
+            try {
+                if (dash > 0) {
+                    int from = Integer.parseInt(range.substring(0, dash).strip());
+                    int to = Integer.parseInt(range.substring(dash + 1).strip());
+                    if (sol >= from && sol <= to) return true;
+                } else if (!range.isEmpty() && Integer.parseInt(range) == sol) {
+                    return true;
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid sol selection: " + solSpec);
+            }
+        }
+        return false;
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String name = arg.substring(2);
+            if (name.equals("stats") || name.equals("summary") || name.equals("headless") || name.equals("conditional")) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+        }
+        return options;
+    }
+
+    static String option(Map<String, String> options, String name, String envName, String defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            value = System.getenv(envName);
+        }
+        return value != null && !value.isBlank() ? value.strip() : defaultValue;
+    }
+
+    private static void printStats(int sols, long exportNanos) {
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        System.err.printf("exported %d sols in %.1f ms, %d ms since JVM start, RSS %s%n",
+                sols, exportNanos / 1e6, uptimeMillis, residentMemory());
+    }
+
+    private static String residentMemory() {
+        Path status = Path.of("/proc/self/status");
+        if (Files.isReadable(status)) {
+            try (BufferedReader reader = Files.newBufferedReader(status)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("VmRSS:")) {
+                        return line.substring("VmRSS:".length()).strip();
+                    }
+                }
+            } catch (IOException ignored) {}
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / 1024 + " kB heap used";
+    }
+}
@@ -0,0 +1,208 @@
+package org.example;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the single {@link OkHttpClient} used for every NASA API call in this JVM: one bounded connection
+ * pool, one dispatcher, explicit timeouts and HTTP/2 where the server offers it. OkHttp negotiates gzip
+ * itself as long as no Accept-Encoding header is set by hand. Responses are always closed here.
+ */
+public final class InsightApiClient implements AutoCloseable {
+    private static volatile InsightApiClient shared;
+
+    private final OkHttpClient client;
+
+    public InsightApiClient(Config config) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.maxRequests());
+        dispatcher.setMaxRequestsPerHost(config.maxRequestsPerHost());
+
+        this.client = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(config.maxIdleConnections(), config.keepAliveSeconds(), TimeUnit.SECONDS))
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(config.connectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .callTimeout(config.callTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+
+    /** The process-wide client, configured from {@code insight.http.*} system properties on first use. */
+    public static InsightApiClient shared() {
+        InsightApiClient instance = shared;
+        if (instance == null) {
+            synchronized (InsightApiClient.class) {
+                instance = shared;
+                if (instance == null) {
+                    instance = new InsightApiClient(Config.fromSystemProperties());
+                    shared = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public record Config(int maxIdleConnections,
+                         long keepAliveSeconds,
+                         int maxRequests,
+                         int maxRequestsPerHost,
+                         long connectTimeoutMillis,
+                         long readTimeoutMillis,
+                         long callTimeoutMillis) {
+
+        public static Config defaults() {
+            return new Config(8, 300, 64, 16, 10_000, 30_000, 60_000);
+        }
+
+        public static Config fromSystemProperties() {
+            Config defaults = defaults();
+            return new Config(
+                    Integer.getInteger("insight.http.maxIdleConnections", defaults.maxIdleConnections()),
+                    Long.getLong("insight.http.keepAliveSeconds", defaults.keepAliveSeconds()),
+                    Integer.getInteger("insight.http.maxRequests", defaults.maxRequests()),
+                    Integer.getInteger("insight.http.maxRequestsPerHost", defaults.maxRequestsPerHost()),
+                    Long.getLong("insight.http.connectTimeoutMillis", defaults.connectTimeoutMillis()),
+                    Long.getLong("insight.http.readTimeoutMillis", defaults.readTimeoutMillis()),
+                    Long.getLong("insight.http.callTimeoutMillis", defaults.callTimeoutMillis()));
+        }
+    }
+
+    /** Outcome of a feed request; {@code feed} is only set for 2xx responses. */
+    public record FeedResponse(int code, InsightFeed feed, Headers headers) {
+        public boolean isSuccessful() {
+            return code >= 200 && code < 300 && feed != null;
+        }
+
+        public boolean isNotModified() {
+            return code == 304;
+        }
+
+        public String header(String name) {
+            return headers.get(name);
+        }
+    }
+
+    public FeedResponse fetchFeed(String url, Map<String, String> headers) throws IOException {
+        return fetchFeed(url, headers, FeedListener.NONE);
+    }
+
+    /**
+     * Fetches and parses the feed, reporting body bytes and parsed sections to {@code listener} as they
+     * arrive. Interrupting the calling thread aborts the download with an {@link InterruptedIOException}.
+     */
+    public FeedResponse fetchFeed(String url, Map<String, String> headers, FeedListener listener) throws IOException {
+        Response response;
+        try (Metrics.Span ignored = Metrics.start("fetch")) {
+            response = client.newCall(feedRequest(url, headers)).execute();
+        }
+        try (response) {
+            return toFeedResponse(response, listener);
+        }
+    }
+
+    public CompletableFuture<FeedResponse> fetchFeedAsync(String url, Map<String, String> headers) {
+        CompletableFuture<FeedResponse> future = new CompletableFuture<>();
+        Call call = client.newCall(feedRequest(url, headers));
+        long start = System.nanoTime();
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                Metrics.timer("fetch").record(System.nanoTime() - start);
+                try (response) {
+                    future.complete(toFeedResponse(response, FeedListener.NONE));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        // Cancelling the future cancels the HTTP call as well
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    private static Request feedRequest(String url, Map<String, String> headers) {
+        Request.Builder request = new Request.Builder().url(url).get().addHeader("accept", "application/json");
+        headers.forEach(request::header);
+        return request.build();
+    }
+
+    private static FeedResponse toFeedResponse(Response response, FeedListener listener) throws IOException {
+        ResponseBody body = response.body();
+        if (response.isSuccessful() && body != null) {
+            // The body streams into the parser, so "parse" also covers the download after the headers
+            ProgressInputStream in = new ProgressInputStream(body.byteStream(), body.contentLength(), listener);
+            try (Metrics.Span ignored = Metrics.start("parse")) {
+                return new FeedResponse(response.code(), InsightFeedParser.parse(in, listener), response.headers());
+            } finally {
+                Metrics.count("bytes_downloaded", in.bytesRead);
+            }
+        }
+        return new FeedResponse(response.code(), null, response.headers());
+    }
+
+    private static final class ProgressInputStream extends FilterInputStream {
+        private final long contentLength;
+        private final FeedListener listener;
+        private long bytesRead;
+
+        ProgressInputStream(InputStream in, long contentLength, FeedListener listener) {
+            super(in);
+            this.contentLength = contentLength;
+            this.listener = listener;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == 1 ? one[0] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Feed download interrupted");
+            }
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                bytesRead += read;
+                listener.onBytesRead(bytesRead, contentLength);
+            }
+            return read;
+        }
+    }
+
+    @Override
+    public void close() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+}
@@ -0,0 +1,7 @@
+package org.example;
+
+import java.util.List;
+import java.util.Map;
+
+public record InsightFeed(List<String> solKeys, Map<String, SolReport> sols, ValidityChecks validityChecks) {
+}
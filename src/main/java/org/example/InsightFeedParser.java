@@ -0,0 +1,248 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass reader for the InSight weather feed. Sols and validity checks are
+ * pulled straight off the token stream into typed records, no tree is built.
+ */
+public final class InsightFeedParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private InsightFeedParser() {}
+
+    public static InsightFeed parse(InputStream in) throws IOException {
+        return parse(in, FeedListener.NONE);
+    }
+
+    /** Parses the feed, handing each sol and the validity checks to {@code listener} as soon as they are read. */
+    public static InsightFeed parse(InputStream in, FeedListener listener) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected feed to start with an object");
+            }
+
+            List<String> solKeys = new ArrayList<>();
+            Map<String, SolReport> sols = new LinkedHashMap<>();
+            ValidityChecks validityChecks = new ValidityChecks(0, List.of(), Map.of());
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (fieldName.equals("sol_keys") && token == JsonToken.START_ARRAY) {
+                    solKeys = readStringArray(parser);
+                } else if (fieldName.equals("validity_checks") && token == JsonToken.START_OBJECT) {
+                    validityChecks = readValidityChecks(parser);
+                    listener.onValidityChecks(validityChecks);
+                } else if (token == JsonToken.START_OBJECT && isSolKey(fieldName)) {
+                    SolReport report = readSol(Integer.parseInt(fieldName), parser);
+                    sols.put(fieldName, report);
+                    listener.onSol(fieldName, report);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return new InsightFeed(solKeys, sols, validityChecks);
+        }
+    }
+
+    private static SolReport readSol(int sol, JsonParser parser) throws IOException {
+        SolReport.Builder builder = SolReport.builder(sol);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (fieldName) {
+                case "First_UTC" -> builder.firstUtcMillis(readUtcMillis(parser));
+                case "Last_UTC" -> builder.lastUtcMillis(readUtcMillis(parser));
+                case "Season" -> builder.season(parser.getValueAsString());
+                case "Northern_season" -> builder.northernSeason(parser.getValueAsString());
+                case "Southern_season" -> builder.southernSeason(parser.getValueAsString());
+                case "AT", "HWS", "PRE" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        readSensor(parser, builder, Sensor.valueOf(fieldName));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "WD" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        readWindDirections(parser, builder);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static long readUtcMillis(JsonParser parser) throws IOException {
+        String value = parser.getValueAsString();
+        if (value == null) {
+            return SolReport.NO_TIME;
+        }
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return SolReport.NO_TIME;
+        }
+    }
+
+    private static void readSensor(JsonParser parser, SolReport.Builder builder, Sensor sensor) throws IOException {
+        double mn = Double.NaN;
+        double av = Double.NaN;
+        double mx = Double.NaN;
+        int ct = -1;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (!token.isNumeric()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (fieldName) {
+                case "mn" -> mn = parser.getDoubleValue();
+                case "av" -> av = parser.getDoubleValue();
+                case "mx" -> mx = parser.getDoubleValue();
+                case "ct" -> ct = parser.getIntValue();
+                default -> {}
+            }
+        }
+
+        builder.sensor(sensor, mn, av, mx, ct);
+    }
+
+    private static void readWindDirections(JsonParser parser, SolReport.Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (fieldName.equals("most_common") || token != JsonToken.START_OBJECT) { // Skip summary entry
+                parser.skipChildren();
+                continue;
+            }
+
+            CompassPoint compassPoint = null;
+            double count = 0.0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String windField = parser.currentName();
+                JsonToken windToken = parser.nextToken();
+                if (windField.equals("compass_point") && windToken == JsonToken.VALUE_STRING) {
+                    compassPoint = CompassPoint.fromName(parser.getText());
+                } else if (windField.equals("ct") && windToken.isNumeric()) {
+                    count = parser.getDoubleValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (compassPoint != null) {
+                builder.windCount(compassPoint, count);
+            }
+        }
+    }
+
+    private static ValidityChecks readValidityChecks(JsonParser parser) throws IOException {
+        int solHoursRequired = 0;
+        List<String> solsChecked = List.of();
+        Map<String, Map<String, ValidityChecks.SensorValidity>> sols = new LinkedHashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (fieldName.equals("sol_hours_required") && token.isNumeric()) {
+                solHoursRequired = parser.getIntValue();
+            } else if (fieldName.equals("sols_checked") && token == JsonToken.START_ARRAY) {
+                solsChecked = readStringArray(parser);
+            } else if (token == JsonToken.START_OBJECT) {
+                sols.put(fieldName, readSolValidity(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return new ValidityChecks(solHoursRequired, solsChecked, sols);
+    }
+
+    private static Map<String, ValidityChecks.SensorValidity> readSolValidity(JsonParser parser) throws IOException {
+        Map<String, ValidityChecks.SensorValidity> sensors = new LinkedHashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String sensor = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            List<Integer> hours = List.of();
+            boolean valid = true;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (fieldName.equals("sol_hours_with_data") && token == JsonToken.START_ARRAY) {
+                    hours = readIntArray(parser);
+                } else if (fieldName.equals("valid") && token.isBoolean()) {
+                    valid = parser.getBooleanValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            sensors.put(sensor, new ValidityChecks.SensorValidity(hours, valid));
+        }
+
+        return sensors;
+    }
+
+    private static boolean isSolKey(String fieldName) {
+        if (fieldName.isEmpty() || fieldName.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < fieldName.length(); i++) {
+            if (!Character.isDigit(fieldName.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> readStringArray(JsonParser parser) throws IOException {
+        List<String> values = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token.isScalarValue()) {
+                values.add(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    private static List<Integer> readIntArray(JsonParser parser) throws IOException {
+        List<Integer> values = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token.isNumeric()) {
+                values.add(parser.getIntValue());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+}
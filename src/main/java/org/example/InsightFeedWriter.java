@@ -0,0 +1,141 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes sols and validity checks back out in the InSight feed layout, so anything it produces can be
+ * read again by {@link InsightFeedParser}.
+ */
+public final class InsightFeedWriter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private InsightFeedWriter() {}
+
+    public static void write(OutputStream out, Collection<SolReport> reports, ValidityChecks validityChecks) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("sol_keys");
+            for (SolReport report : reports) {
+                generator.writeString(Integer.toString(report.sol()));
+            }
+            generator.writeEndArray();
+
+            for (SolReport report : reports) {
+                generator.writeFieldName(Integer.toString(report.sol()));
+                writeSol(generator, report);
+            }
+
+            if (validityChecks != null) {
+                generator.writeFieldName("validity_checks");
+                writeValidityChecks(generator, validityChecks);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /** Writes only {@code sol_keys} and {@code validity_checks}, leaving the sol objects out. */
+    public static void writeIndex(OutputStream out, List<String> solKeys, ValidityChecks validityChecks) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            writeStringArray(generator, "sol_keys", solKeys);
+            generator.writeFieldName("validity_checks");
+            writeValidityChecks(generator, validityChecks);
+            generator.writeEndObject();
+        }
+    }
+
+    public static void writeSol(JsonGenerator generator, SolReport report) throws IOException {
+        generator.writeStartObject();
+        writeSolFields(generator, report);
+        generator.writeEndObject();
+    }
+
+    /** Writes the fields of a sol object into an object the caller has already started. */
+    public static void writeSolFields(JsonGenerator generator, SolReport report) throws IOException {
+        for (Sensor sensor : Sensor.values()) {
+            if (report.hasSensor(sensor)) {
+                generator.writeObjectFieldStart(sensor.name());
+                writeNumber(generator, "av", report.average(sensor));
+                if (report.count(sensor) >= 0) {
+                    generator.writeNumberField("ct", report.count(sensor));
+                }
+                writeNumber(generator, "mn", report.min(sensor));
+                writeNumber(generator, "mx", report.max(sensor));
+                generator.writeEndObject();
+            }
+        }
+        writeUtc(generator, "First_UTC", report.firstUtcMillis());
+        writeUtc(generator, "Last_UTC", report.lastUtcMillis());
+        writeString(generator, "Season", report.season());
+        writeString(generator, "Northern_season", report.northernSeason());
+        writeString(generator, "Southern_season", report.southernSeason());
+
+        generator.writeObjectFieldStart("WD");
+        for (CompassPoint point : CompassPoint.values()) {
+            double count = report.windCount(point);
+            if (count > 0) {
+                generator.writeObjectFieldStart(Integer.toString(point.ordinal()));
+                generator.writeNumberField("compass_degrees", point.degrees());
+                generator.writeStringField("compass_point", point.name());
+                generator.writeNumberField("ct", count);
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    public static void writeValidityChecks(JsonGenerator generator, ValidityChecks validityChecks) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, Map<String, ValidityChecks.SensorValidity>> sol : validityChecks.sols().entrySet()) {
+            generator.writeObjectFieldStart(sol.getKey());
+            for (Map.Entry<String, ValidityChecks.SensorValidity> sensor : sol.getValue().entrySet()) {
+                generator.writeObjectFieldStart(sensor.getKey());
+                generator.writeArrayFieldStart("sol_hours_with_data");
+                for (int hour : sensor.getValue().solHoursWithData()) {
+                    generator.writeNumber(hour);
+                }
+                generator.writeEndArray();
+                generator.writeBooleanField("valid", sensor.getValue().valid());
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+        }
+        generator.writeNumberField("sol_hours_required", validityChecks.solHoursRequired());
+        writeStringArray(generator, "sols_checked", validityChecks.solsChecked());
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, double value) throws IOException {
+        if (!Double.isNaN(value)) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeUtc(JsonGenerator generator, String name, long epochMillis) throws IOException {
+        if (epochMillis != SolReport.NO_TIME) {
+            generator.writeStringField(name, Instant.ofEpochMilli(epochMillis).toString());
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private static void writeStringArray(JsonGenerator generator, String name, List<String> values) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+}
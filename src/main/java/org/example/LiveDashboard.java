@@ -0,0 +1,79 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard mode: polls the feed on a background scheduler and pushes only the {@link FeedDiff} against the
+ * previous poll to the window. Nothing from older polls is retained beyond the latest {@link FeedSnapshot},
+ * and the window's components are reused, so it can stay up for days without its heap growing.
+ */
+public final class LiveDashboard {
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMinutes(10);
+    private static final DateTimeFormatter STATUS_TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final FeedLoader loader;
+    private final String apiKey;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "insight-live-poll");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only touched by the poll thread
+    private FeedSnapshot snapshot = FeedSnapshot.EMPTY;
+    // Only touched on the EDT
+    private DashboardFrame frame;
+
+    public LiveDashboard(FeedLoader loader, String apiKey, Duration pollInterval) {
+        this.loader = loader;
+        this.apiKey = apiKey;
+        this.pollInterval = pollInterval;
+    }
+
+    public void start() {
+        SwingUtilities.invokeLater(() -> {
+            frame = new DashboardFrame();
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    stop();
+                }
+            });
+            frame.setVisible(true);
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void poll() {
+        // Any exception escaping here would cancel every later poll
+        try {
+            FeedSnapshot current = FeedSnapshot.of(loader.load(apiKey));
+            FeedDiff diff = FeedDiff.between(snapshot, current);
+            snapshot = current;
+
+            String status = "Updated " + LocalTime.now().format(STATUS_TIME) + ": " + current.valid().size()
+                    + " valid sols" + (diff.isEmpty() ? ", no changes" : " (" + diff + ")");
+            if (diff.isEmpty()) {
+                SwingUtilities.invokeLater(() -> frame.showStatus(status));
+            } else {
+                SwingUtilities.invokeLater(() -> frame.apply(diff, status));
+            }
+        } catch (Exception e) {
+            String status = "Refresh failed at " + LocalTime.now().format(STATUS_TIME) + ": " + e.getMessage();
+            SwingUtilities.invokeLater(() -> frame.showStatus(status));
+        }
+    }
+}
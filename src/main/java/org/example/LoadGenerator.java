@@ -0,0 +1,216 @@
+package org.example;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local load generator for {@link SolServer}: a number of clients, each on its own thread and connection,
+ * request a mix of {@code /sols/{n}} (60%), {@code /sols/{n}/windrose} (30%) and {@code /sols} (10%) for a
+ * fixed time, then latency percentiles, throughput and status counts are printed. Clients accept gzip, and
+ * with {@code --conditional} they also revalidate what they have seen with {@code If-None-Match}, as a
+ * caching client would.
+ *
+ * <pre>
+ * --url URL         server base, e.g. http://127.0.0.1:8080 (required)
+ * --clients N       concurrent clients (default 100)
+ * --seconds N       run time after a one second warm-up (default 10)
+ * --conditional     send If-None-Match for paths already fetched
+ * </pre>
+ */
+public final class LoadGenerator {
+    private final String baseUrl;
+    private final int clients;
+    private final Duration duration;
+    private final boolean conditional;
+    private final OkHttpClient http;
+
+    public LoadGenerator(String baseUrl, int clients, Duration duration, boolean conditional) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.clients = clients;
+        this.duration = duration;
+        this.conditional = conditional;
+        this.http = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(clients, 1, TimeUnit.MINUTES))
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .readTimeout(10, TimeUnit.SECONDS)
+                .build();
+    }
+
+    public record Result(long requests, long errors, long bytes, Map<Integer, Long> statuses, Duration elapsed,
+                         QuantileSketch latencyMillis) {
+        public double requestsPerSecond() {
+            return requests / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%d requests in %.1f s, %.0f req/s, %d errors, %d KB read%n"
+                            + "latency p50 %.3f ms  p90 %.3f ms  p99 %.3f ms  p99.9 %.3f ms%nstatuses %s",
+                    requests, elapsed.toNanos() / 1e9, requestsPerSecond(), errors, bytes / 1024,
+                    latencyMillis.quantile(0.5), latencyMillis.quantile(0.9), latencyMillis.quantile(0.99),
+                    latencyMillis.quantile(0.999), statuses);
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            Map<String, String> options = HeadlessExport.parseOptions(args);
+            String url = options.get("url");
+            if (url == null) {
+                throw new IllegalArgumentException("Missing --url");
+            }
+            LoadGenerator generator = new LoadGenerator(url,
+                    Integer.parseInt(options.getOrDefault("clients", "100")),
+                    Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "10"))),
+                    options.containsKey("conditional"));
+            System.out.println(generator.run());
+            System.exit(0);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (IOException | InterruptedException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public Result run() throws IOException, InterruptedException {
+        List<String> paths = discoverPaths();
+        Client[] workers = new Client[clients];
+        Thread[] threads = new Thread[clients];
+        long warmUpEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        long end = warmUpEnd + duration.toNanos();
+        for (int i = 0; i < clients; i++) {
+            workers[i] = new Client(paths, i, warmUpEnd, end);
+            threads[i] = new Thread(workers[i], "insight-load-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long requests = 0;
+        long errors = 0;
+        long bytes = 0;
+        Map<Integer, Long> statuses = new TreeMap<>();
+        QuantileSketch latency = new QuantileSketch(0.01);
+        for (Client worker : workers) {
+            requests += worker.requests;
+            errors += worker.errors;
+            bytes += worker.bytes;
+            worker.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+            latency.merge(worker.latency);
+        }
+        http.dispatcher().executorService().shutdown();
+        http.connectionPool().evictAll();
+        return new Result(requests, errors, bytes, statuses, duration, latency);
+    }
+
+    // The index is the feed layout, so the parser that reads NASA's feed also lists the served sols
+    private List<String> discoverPaths() throws IOException {
+        try (Response response = http.newCall(new Request.Builder().url(baseUrl + "/sols").build()).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("GET " + baseUrl + "/sols returned HTTP " + response.code());
+            }
+            List<String> paths = new ArrayList<>();
+            for (String solKey : InsightFeedParser.parse(body.byteStream()).solKeys()) {
+                paths.add("/sols/" + solKey);
+            }
+            if (paths.isEmpty()) {
+                throw new IOException(baseUrl + " serves no sols");
+            }
+            return paths;
+        }
+    }
+
+    private final class Client implements Runnable {
+        private final List<String> solPaths;
+        private final SplittableRandom random;
+        private final long measureFrom;
+        private final long end;
+        private final Map<String, String> etags = new HashMap<>();
+        private final byte[] buffer = new byte[16 * 1024];
+        final Map<Integer, Long> statuses = new HashMap<>();
+        final QuantileSketch latency = new QuantileSketch(0.01);
+        long requests;
+        long errors;
+        long bytes;
+
+        Client(List<String> solPaths, int seed, long measureFrom, long end) {
+            this.solPaths = solPaths;
+            this.random = new SplittableRandom(seed);
+            this.measureFrom = measureFrom;
+            this.end = end;
+        }
+
+        @Override
+        public void run() {
+            for (long now = System.nanoTime(); now < end; now = System.nanoTime()) {
+                String path = nextPath();
+                Request.Builder request = new Request.Builder().url(baseUrl + path);
+                String etag = conditional ? etags.get(path) : null;
+                if (etag != null) {
+                    request.header("If-None-Match", etag);
+                }
+                boolean measured = now >= measureFrom;
+                try (Response response = http.newCall(request.build()).execute()) {
+                    long read = drain(response.body());
+                    long elapsed = System.nanoTime() - now;
+                    String responseEtag = response.header("ETag");
+                    if (conditional && responseEtag != null) {
+                        etags.put(path, responseEtag);
+                    }
+                    if (measured) {
+                        requests++;
+                        bytes += read;
+                        statuses.merge(response.code(), 1L, Long::sum);
+                        latency.add(elapsed / 1e6);
+                    }
+                } catch (IOException e) {
+                    if (measured) {
+                        errors++;
+                    }
+                }
+            }
+        }
+
+        private String nextPath() {
+            int roll = random.nextInt(10);
+            if (roll == 0) {
+                return "/sols";
+            }
+            String sol = solPaths.get(random.nextInt(solPaths.size()));
+            return roll <= 3 ? sol + "/windrose" : sol;
+        }
+
+        private long drain(ResponseBody body) throws IOException {
+            if (body == null) {
+                return 0;
+            }
+            long total = 0;
+            try (InputStream in = body.byteStream()) {
+                for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                    total += read;
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup window for {@link FeedPipeline}: shows the current stage and download progress, offers the sol
+ * picker as soon as validation is done, and opens the {@link WeatherDisplay} for the chosen sol. Closing the
+ * window or pressing Cancel cancels the load. Once the display is open the load carries on for it, so a
+ * background refresh of a stale cached feed reaches the display. All methods run on the EDT.
+ */
+class LoadingFrame extends JFrame implements FeedPipeline.View {
+    private final JLabel statusLabel = new JLabel("Connecting...");
+    private final JProgressBar progressBar = new JProgressBar();
+    private final JComboBox<String> solPicker = new JComboBox<>();
+    private final JButton viewButton = new JButton("View");
+    private final JButton cancelButton = new JButton("Cancel");
+    private final JButton retryButton = new JButton("Retry");
+
+    private FeedLoader loader;
+    private String apiKey;
+    private FeedPipeline pipeline;
+    private FeedPipeline.Model model;
+    private List<String> validSolKeys = List.of();
+    // A sol picked before its report streamed in, opened once the load finishes
+    private String pendingSol;
+    private WeatherDisplay display;
+
+    LoadingFrame() {
+        setTitle("Mars Weather");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setResizable(false);
+        getContentPane().setBackground(WeatherPanel.BACKGROUND_COLOR);
+
+        JPanel content = new JPanel(new GridLayout(0, 1, 10, 10));
+        content.setBackground(WeatherPanel.BACKGROUND_COLOR);
+        content.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        statusLabel.setForeground(WeatherPanel.TEXT_COLOR);
+        statusLabel.setFont(new Font("Arial", Font.PLAIN, 13));
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+
+        solPicker.setEnabled(false);
+        viewButton.setEnabled(false);
+        viewButton.addActionListener(e -> showSelectedSol());
+        cancelButton.addActionListener(e -> dispose());
+        retryButton.addActionListener(e -> retry());
+        retryButton.setVisible(false);
+
+        JPanel pickerRow = new JPanel(new BorderLayout(10, 0));
+        pickerRow.setOpaque(false);
+        JLabel pickerLabel = new JLabel("Sol:");
+        pickerLabel.setForeground(WeatherPanel.TEXT_COLOR);
+        pickerRow.add(pickerLabel, BorderLayout.WEST);
+        pickerRow.add(solPicker, BorderLayout.CENTER);
+        pickerRow.add(viewButton, BorderLayout.EAST);
+
+        JPanel buttonRow = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonRow.setOpaque(false);
+        buttonRow.add(retryButton);
+        buttonRow.add(cancelButton);
+
+        content.add(statusLabel);
+        content.add(progressBar);
+        content.add(pickerRow);
+        content.add(buttonRow);
+        add(content);
+        getRootPane().setDefaultButton(viewButton);
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                if (display == null) {
+                    cancelLoad();
+                }
+            }
+        });
+        setPreferredSize(new Dimension(420, 220));
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    private void cancelLoad() {
+        if (pipeline != null) {
+            pipeline.cancel();
+        }
+    }
+
+    void start(FeedLoader loader, String apiKey) {
+        this.loader = loader;
+        this.apiKey = apiKey;
+        pipeline = new FeedPipeline(loader, apiKey, this);
+        setVisible(true);
+        pipeline.start();
+    }
+
+    private void retry() {
+        retryButton.setVisible(false);
+        cancelButton.setText("Cancel");
+        statusLabel.setText("Connecting...");
+        progressBar.setIndeterminate(true);
+        progressBar.setString("");
+        pipeline = new FeedPipeline(loader, apiKey, this);
+        pipeline.start();
+    }
+
+    @Override
+    public void stageStarted(FeedPipeline.Stage stage) {
+        statusLabel.setText(stage.label() + "...");
+    }
+
+    @Override
+    public void progress(long bytesRead, long contentLength, int solsRead) {
+        String text = bytesRead / 1024 + " KB" + (solsRead > 0 ? ", " + solsRead + " sols" : "");
+        if (contentLength > 0) {
+            progressBar.setIndeterminate(false);
+            progressBar.setValue((int) Math.min(100, bytesRead * 100 / contentLength));
+        }
+        progressBar.setString(text);
+    }
+
+    @Override
+    public void solsAvailable(List<String> validSolKeys) {
+        if (validSolKeys.isEmpty()) {
+            return;
+        }
+        this.validSolKeys = validSolKeys;
+        // A cache replay can deliver the checks again; keep the user's choice if it is still offered
+        Object selected = solPicker.getSelectedItem();
+        solPicker.setModel(new DefaultComboBoxModel<>(validSolKeys.toArray(new String[0])));
+        solPicker.setSelectedItem(selected != null && validSolKeys.contains(selected) ? selected : validSolKeys.get(0));
+        solPicker.setEnabled(true);
+        viewButton.setEnabled(true);
+        statusLabel.setText("Select a Sol to view");
+        solPicker.requestFocusInWindow();
+    }
+
+    @Override
+    public void loaded(FeedPipeline.Model model) {
+        boolean refresh = this.model != null;
+        this.model = model;
+        if (display != null) {
+            // This window is gone; the load finished or refreshed for the display opened from it
+            display.update(SolNavigator.of(model.validReports()));
+            return;
+        }
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(100);
+        if (model.validSolKeys().isEmpty()) {
+            statusLabel.setText("The feed has no valid sols");
+            return;
+        }
+        statusLabel.setText(refresh ? "Updated from NASA, select a Sol to view" : "Select a Sol to view");
+        if (pendingSol != null) {
+            open(pendingSol);
+        }
+    }
+
+    @Override
+    public void failed(String message) {
+        System.out.println(message);
+        statusLabel.setText("Loading failed: " + message);
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(0);
+        retryButton.setVisible(true);
+        cancelButton.setText("Close");
+    }
+
+    private void showSelectedSol() {
+        String solKey = (String) solPicker.getSelectedItem();
+        if (solKey == null) {
+            return;
+        }
+        if (pipeline.report(solKey) != null || model != null) {
+            open(solKey);
+        } else {
+            pendingSol = solKey;
+            solPicker.setEnabled(false);
+            viewButton.setEnabled(false);
+            statusLabel.setText("Waiting for sol " + solKey + "...");
+        }
+    }
+
+    private void open(String solKey) {
+        SolReport report = pipeline.report(solKey);
+        if (report == null && model != null) {
+            report = model.feed().sols().get(solKey);
+        }
+        if (report == null) {
+            statusLabel.setText("Sol " + solKey + " is missing from the feed");
+            return;
+        }
+        statusLabel.setText(FeedPipeline.Stage.VIEW.label() + "...");
+        // The window steps through every valid sol, so it needs them all; until the load finishes only the
+        // ones already streamed in can be offered
+        List<SolReport> reports = model != null ? model.validReports() : streamedReports();
+        if (!reports.contains(report)) {
+            reports = List.of(report);
+        }
+        SolNavigator navigator = SolNavigator.of(reports);
+        display = new WeatherDisplay(navigator, navigator.indexOf(report.sol()));
+        display.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                cancelLoad();
+            }
+        });
+        display.setVisible(true);
+        dispose();
+    }
+
+    private List<SolReport> streamedReports() {
+        List<SolReport> reports = new ArrayList<>(validSolKeys.size());
+        for (String solKey : validSolKeys) {
+            SolReport report = pipeline.report(solKey);
+            if (report != null) {
+                reports.add(report);
+            }
+        }
+        return reports;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Prints a {@link Metrics} summary to stderr on a fixed interval and once more when closed. */
+final class LogMetricsExporter implements MetricsExporter {
+    static final long DEFAULT_INTERVAL_SECONDS = 60;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "insight-metrics-log");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static LogMetricsExporter start(long intervalSeconds) {
+        LogMetricsExporter exporter = new LogMetricsExporter();
+        if (intervalSeconds > 0) {
+            exporter.scheduler.scheduleAtFixedRate(() -> System.err.print(summary()), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+        return exporter;
+    }
+
+    static String summary() {
+        StringBuilder text = new StringBuilder("metrics:\n");
+        for (Metrics.Timer timer : Metrics.timers().values()) {
+            text.append(String.format(Locale.ROOT, "  %-16s %6d runs  p50 %8.3f ms  p90 %8.3f ms  p99 %8.3f ms  max %8.3f ms",
+                    timer.stage(), timer.count(), timer.quantileMillis(0.5), timer.quantileMillis(0.9),
+                    timer.quantileMillis(0.99), timer.maxMillis()));
+            double perRun = timer.allocatedBytesPerRun();
+            text.append(Double.isNaN(perRun) ? "\n" : String.format(Locale.ROOT, "  %10.0f B/run%n", perRun));
+        }
+        for (Map.Entry<String, LongAdder> counter : Metrics.counters().entrySet()) {
+            text.append("  ").append(counter.getKey()).append(' ').append(counter.getValue().sum()).append('\n');
+        }
+        long cached = Metrics.counter(FeedLoader.LOADS_FROM_CACHE) + Metrics.counter(FeedLoader.LOADS_NOT_MODIFIED)
+                + Metrics.counter(FeedLoader.LOADS_STALE);
+        long total = cached + Metrics.counter(FeedLoader.LOADS_FROM_NETWORK) + Metrics.counter(FeedLoader.LOADS_FALLBACK);
+        if (total > 0) {
+            text.append(String.format(Locale.ROOT, "  feed cache hit rate %.1f%%%n", cached * 100.0 / total));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        System.err.print(summary());
+        System.err.flush();
+    }
+}
@@ -1,13 +1,11 @@
 package org.example;
 
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Iterator;
-
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
 
 import javax.swing.*;
 import java.util.List;
@@ -16,90 +14,160 @@ import java.util.List;
 public class Main {
 
     public static void main(String[] args) {
-        run();
+        MetricsExporter.installConfigured();
+        if (args.length >= 1 && args[0].equals("--headless")) {
+            HeadlessExport.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length >= 1 && args[0].equals("--serve")) {
+            SolServer.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length >= 1 && args[0].equals("--load-test")) {
+            LoadGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length >= 1 && args[0].equals("--render")) {
+            SnapshotRenderer.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length >= 1 && args[0].equals("--ingest")) {
+            SampleIngester.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length >= 3 && args[0].equals("--build-archive")) {
+            buildArchive(Path.of(args[1]), Arrays.copyOfRange(args, 2, args.length));
+        } else if (args.length >= 4 && args[0].equals("--batch")) {
+            runBatch(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Arrays.copyOfRange(args, 3, args.length));
+        } else if (args.length == 2 && args[0].equals("--archive")) {
+            runArchive(Path.of(args[1]));
+        } else if (args.length >= 1 && args[0].equals("--trend")) {
+            runTrend(args.length >= 2 ? Path.of(args[1]) : null);
+        } else if (args.length >= 1 && args[0].equals("--live")) {
+            runLive(args.length >= 2 ? Duration.ofSeconds(Long.parseLong(args[1])) : LiveDashboard.DEFAULT_POLL_INTERVAL);
+        } else {
+            run();
+        }
     }
 
-    private static void run(){
-        try{
-            String input = JOptionPane.showInputDialog(null, "Enter API Key or type 'demo' (limited usage):", "API Key Required", JOptionPane.QUESTION_MESSAGE).strip();
-            String apiKey;
-            if (input.equals("demo")){
-                apiKey = "DEMO_KEY";
-            }else{
-                apiKey = input;
+    private static void runTrend(Path archivePath) {
+        try {
+            List<SolReport> reports = new ArrayList<>();
+            if (archivePath != null) {
+                try (SolArchive archive = SolArchive.open(archivePath)) {
+                    for (int i = 0; i < archive.size(); i++) {
+                        reports.add(archive.get(i));
+                    }
+                }
+            } else {
+                String apiKey = promptApiKey();
+                if (apiKey == null) {
+                    return;
+                }
+                InsightFeed feed = new FeedLoader(InsightApiClient.shared(), SolCache.openDefault()).load(apiKey);
+                for (String solKey : SolValidator.getValidSolKeys(feed.validityChecks())) {
+                    SolReport report = feed.sols().get(solKey);
+                    if (report != null) {
+                        reports.add(report);
+                    }
+                }
+            }
+            if (reports.isEmpty()) {
+                System.out.println("No valid sols to plot");
+                return;
             }
-            String url = "https://api.nasa.gov/insight_weather/?api_key=" + apiKey + "&feedtype=json&ver=1.0";
-
-            String response;
-
-            OkHttpClient client = new OkHttpClient();
-            Request request = new Request.Builder().url(url).get().addHeader("accept", "application/json").build();
-
-            try {
-                okhttp3.Response httpResponse = client.newCall(request).execute();
-                if (httpResponse.body() != null) {
-                    response = httpResponse.body().string();
-                    ObjectMapper mapper = new ObjectMapper();
-                    JsonNode rootNode = mapper.readTree(response);
-                    List<String> validSolKeys = getValidSolKeys(rootNode);
 
+            SolSeries series = SolSeries.of(reports);
+            SwingUtilities.invokeLater(() -> new TrendFrame(series).setVisible(true));
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+        }
+    }
 
-                    String[] validSolKeysArray = validSolKeys.toArray(new String[0]);
-                    String selectedSol = (String) JOptionPane.showInputDialog(null, "Select a Sol to view:", "Select Sol", JOptionPane.QUESTION_MESSAGE, null, validSolKeysArray, validSolKeysArray[0]);
+    private static void runLive(Duration pollInterval) {
+        try {
+            String apiKey = promptApiKey();
+            if (apiKey == null) {
+                return;
+            }
+            // Every poll revalidates; an unchanged feed costs a 304 and is answered from the sol cache
+            FeedLoader loader = new FeedLoader(InsightApiClient.shared(), SolCache.openDefault(), FeedLoader.DEFAULT_BASE_URL, 0);
+            new LiveDashboard(loader, apiKey, pollInterval).start();
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+        }
+    }
 
+    private static String promptApiKey() {
+        String input = JOptionPane.showInputDialog(null, "Enter API Key or type 'demo' (limited usage):", "API Key Required", JOptionPane.QUESTION_MESSAGE);
+        if (input == null) {
+            return null;
+        }
+        input = input.strip();
+        return input.equals("demo") ? "DEMO_KEY" : input;
+    }
 
-                    if (selectedSol != null) {
-                        JsonNode selectedSolNode = rootNode.get(selectedSol);
-                        if (selectedSolNode != null) {
-                            WeatherDisplay weatherDisplay = new WeatherDisplay(selectedSolNode.toString());
-                            weatherDisplay.setVisible(true);
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                System.out.println(e.getMessage());
+    // Opens at the newest sol; the window's sol list replaces the picker, reading sols from the archive on demand
+    private static void runArchive(Path archivePath) {
+        try {
+            SolArchive archive = SolArchive.open(archivePath);
+            if (archive.size() == 0) {
+                archive.close();
+                System.out.println("Archive " + archivePath + " contains no sols");
+                return;
             }
-        }catch (Exception e){
+            SolNavigator navigator = SolNavigator.of(archive);
+            SwingUtilities.invokeLater(() -> new WeatherDisplay(navigator, navigator.size() - 1).setVisible(true));
+        } catch (Exception e) {
             System.out.println(e.getMessage());
         }
     }
 
-    private static List<String> getValidSolKeys(JsonNode rootNode) {
-        List<String> validSolKeys = new ArrayList<>();
-        JsonNode validityChecksNode = rootNode.get("validity_checks");
-
-        if (validityChecksNode != null && validityChecksNode.isObject()) {
-            Iterator<String> fieldNames = validityChecksNode.fieldNames();
-            while (fieldNames.hasNext()) {
-                String solKey = fieldNames.next();
-                if (!solKey.equals("sol_hours_required") && !solKey.equals("sols_checked")) { // Skip metadata fields
-                    JsonNode solValidityNode = validityChecksNode.get(solKey);
-                    if (isSolValid(solValidityNode)) {
-                        validSolKeys.add(solKey);
-                    }
-                }
+    private static void runBatch(int fromSol, int toSol, String[] sources) {
+        List<String> feedUrls = new ArrayList<>();
+        List<Path> archives = new ArrayList<>();
+        for (String source : sources) {
+            if (source.startsWith("http://") || source.startsWith("https://")) {
+                feedUrls.add(source);
+            } else {
+                archives.add(Path.of(source));
             }
         }
 
-        return validSolKeys;
+        try {
+            BatchLoader loader = new BatchLoader(InsightApiClient.shared(), BatchLoader.Config.defaults());
+            BatchLoader.Result result = loader.load(feedUrls, archives, fromSol, toSol);
+            result.failures().forEach(System.out::println);
+            System.out.println("Loaded " + result.reports().size() + " valid sols in " + result.elapsed().toMillis() + " ms");
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+        }
     }
 
-    private static boolean isSolValid(JsonNode solValidityNode) {
-        if (solValidityNode != null && solValidityNode.isObject()) {
-            Iterator<String> fieldNames = solValidityNode.fieldNames();
-            while (fieldNames.hasNext()) {
-                String fieldName = fieldNames.next();
-                JsonNode sensorValidityNode = solValidityNode.get(fieldName);
-                if (sensorValidityNode != null && sensorValidityNode.isObject()) {
-                    JsonNode validNode = sensorValidityNode.get("valid");
-                    if (validNode != null && validNode.isBoolean() && !validNode.asBoolean()) {
-                        return false;
+    private static void buildArchive(Path archivePath, String[] feedFiles) {
+        try {
+            List<SolReport> reports = new ArrayList<>();
+            for (String feedFile : feedFiles) {
+                try (InputStream in = Files.newInputStream(Path.of(feedFile))) {
+                    InsightFeed feed = InsightFeedParser.parse(in);
+                    for (String solKey : ValidationEngine.validate(feed.validityChecks()).validSolKeys()) {
+                        SolReport report = feed.sols().get(solKey);
+                        if (report != null) {
+                            reports.add(report);
+                        }
                     }
                 }
             }
-            return true;
+            SolArchive.write(archivePath, reports);
+            System.out.println("Wrote " + reports.size() + " sols to " + archivePath);
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
         }
-        return false;
     }
 
-}
\ No newline at end of file
+    // Everything that touches Swing runs on the EDT; the feed itself is loaded by the FeedPipeline off it
+    private static void run() {
+        SwingUtilities.invokeLater(() -> {
+            try {
+                String apiKey = promptApiKey();
+                if (apiKey == null) {
+                    return;
+                }
+                new LoadingFrame().start(new FeedLoader(InsightApiClient.shared(), SolCache.openDefault()), apiKey);
+            } catch (Exception e) {
+                System.out.println(e.getMessage());
+            }
+        });
+    }
+
+}
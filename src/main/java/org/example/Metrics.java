@@ -0,0 +1,175 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide instrumentation. Each stage (fetch, parse, validate, cache, view, paint) has a {@link Timer}
+ * with a latency histogram and the bytes its thread allocated, and each timed stage is also a JFR
+ * {@link StageEvent}. Counters cover bytes downloaded and where feeds were loaded from. A
+ * {@link MetricsExporter} publishes everything.
+ * <p>
+ * Recording is two clock reads, an allocation counter read and a histogram update, so it is always on.
+ * Allocation is per thread and cannot be read on virtual threads, where it counts as unknown.
+ */
+public final class Metrics {
+    private static final Map<String, Timer> TIMERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentSkipListMap<>();
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    private Metrics() {}
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    public static Timer timer(String stage) {
+        return TIMERS.computeIfAbsent(stage, Timer::new);
+    }
+
+    /** Starts timing {@code stage} on this thread; close the span when the stage ends. */
+    public static Span start(String stage) {
+        return new Span(timer(stage));
+    }
+
+    /** Adds to a counter. The name may carry Prometheus labels, e.g. {@code feed_loads{source="cache"}}. */
+    public static void count(String name, long delta) {
+        COUNTERS.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    public static long counter(String name) {
+        LongAdder counter = COUNTERS.get(name);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /** Live views sorted by name, for exporters. */
+    public static Map<String, Timer> timers() {
+        return Collections.unmodifiableMap(TIMERS);
+    }
+
+    public static Map<String, LongAdder> counters() {
+        return Collections.unmodifiableMap(COUNTERS);
+    }
+
+    /** Bytes allocated so far by the current thread, or -1 when that cannot be measured. */
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /** A running stage. Not thread-safe: close it on the thread that started it. */
+    public static final class Span implements AutoCloseable {
+        private final Timer timer;
+        private final StageEvent event;
+        private final long startNanos;
+        private final long startAllocated;
+
+        private Span(Timer timer) {
+            this.timer = timer;
+            this.event = StageEvent.TYPE.isEnabled() ? new StageEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            this.startAllocated = allocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - startNanos;
+            long allocatedNow = allocatedBytes();
+            long allocated = startAllocated >= 0 && allocatedNow >= 0 ? allocatedNow - startAllocated : -1;
+            timer.record(elapsed, allocated);
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.stage = timer.stage;
+                    event.elapsed = elapsed;
+                    event.allocated = allocated;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Count, total and histogram of one stage's durations, plus the bytes allocated while it ran. Paint code
+     * calls {@link #record(long)} directly so a repaint stays allocation free.
+     */
+    public static final class Timer {
+        private final String stage;
+        private final QuantileSketch millis = new QuantileSketch(0.01);
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long allocatedBytes;
+        private long allocationSamples;
+
+        private Timer(String stage) {
+            this.stage = stage;
+        }
+
+        public String stage() {
+            return stage;
+        }
+
+        /** Records one run without allocation data, also as a JFR event when enabled. */
+        public void record(long nanos) {
+            record(nanos, -1);
+            if (StageEvent.TYPE.isEnabled()) {
+                StageEvent event = new StageEvent();
+                if (event.shouldCommit()) {
+                    event.stage = stage;
+                    event.elapsed = nanos;
+                    event.allocated = -1;
+                    event.commit();
+                }
+            }
+        }
+
+        synchronized void record(long nanos, long allocated) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            millis.add(nanos / 1e6);
+            if (allocated >= 0) {
+                allocatedBytes += allocated;
+                allocationSamples++;
+            }
+        }
+
+        public synchronized long count() {
+            return count;
+        }
+
+        public synchronized double totalMillis() {
+            return totalNanos / 1e6;
+        }
+
+        public synchronized double maxMillis() {
+            return maxNanos / 1e6;
+        }
+
+        /** Duration at quantile {@code q}, NaN before the first run. */
+        public synchronized double quantileMillis(double q) {
+            return millis.quantile(q);
+        }
+
+        /** Total bytes allocated by the runs whose allocation could be measured. */
+        public synchronized long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /** Mean bytes allocated per measured run, NaN when none could be measured. */
+        public synchronized double allocatedBytesPerRun() {
+            return allocationSamples > 0 ? (double) allocatedBytes / allocationSamples : Double.NaN;
+        }
+    }
+}
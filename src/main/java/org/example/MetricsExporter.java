@@ -0,0 +1,48 @@
+package org.example;
+
+import java.io.IOException;
+
+/**
+ * Publishes {@link Metrics} somewhere. Chosen with {@code -Dinsight.metrics}:
+ *
+ * <pre>
+ * prometheus[:PORT]   text exposition format on http://127.0.0.1:PORT/metrics (default 9464)
+ * log[:SECONDS]       a summary on stderr every SECONDS (default 60) and at exit
+ * none                nothing (the default)
+ * </pre>
+ *
+ * Neither needs a display, so both work for headless export.
+ */
+public interface MetricsExporter extends AutoCloseable {
+
+    @Override
+    void close();
+
+    static MetricsExporter fromSpec(String spec) throws IOException {
+        String[] parts = spec.strip().split(":", 2);
+        try {
+            return switch (parts[0].toLowerCase()) {
+                case "prometheus" -> PrometheusExporter.start(parts.length > 1 ? Integer.parseInt(parts[1]) : PrometheusExporter.DEFAULT_PORT);
+                case "log" -> LogMetricsExporter.start(parts.length > 1 ? Long.parseLong(parts[1]) : LogMetricsExporter.DEFAULT_INTERVAL_SECONDS);
+                case "none", "" -> () -> {};
+                default -> throw new IllegalArgumentException("Unknown metrics exporter: " + spec + " (expected prometheus[:PORT], log[:SECONDS] or none)");
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid metrics exporter: " + spec);
+        }
+    }
+
+    /** Starts the exporter named by {@code -Dinsight.metrics}, closed again when the JVM exits. */
+    static void installConfigured() {
+        String spec = System.getProperty("insight.metrics");
+        if (spec == null || spec.isBlank()) {
+            return;
+        }
+        try {
+            MetricsExporter exporter = fromSpec(spec);
+            Runtime.getRuntime().addShutdownHook(new Thread(exporter::close, "insight-metrics-shutdown"));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Metrics disabled: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Minimal PNG writer for opaque {@link BufferedImage#TYPE_INT_RGB} images: 8-bit RGB, every row with the
+ * Sub filter, which suits the flat panels and text of the weather view. The deflater and row buffers are
+ * kept between images, so one encoder per thread writes snapshot after snapshot without allocating.
+ * Not thread-safe.
+ */
+final class PngEncoder implements AutoCloseable {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+    private static final int FILTER_SUB = 1;
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] header = new byte[13];
+    private final byte[] chunkHeader = new byte[8];
+    private final byte[] deflated = new byte[64 * 1024];
+    private byte[] row = new byte[0];
+
+    PngEncoder(int level) {
+        this.deflater = new Deflater(level);
+    }
+
+    void write(BufferedImage image, OutputStream out) throws IOException {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            throw new IllegalArgumentException("Only TYPE_INT_RGB images can be encoded, got type " + image.getType());
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        if (row.length < 1 + width * 3) {
+            row = new byte[1 + width * 3];
+        }
+
+        out.write(SIGNATURE);
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8;   // bit depth
+        header[9] = 2;   // colour type RGB
+        header[10] = 0;  // compression, filter and interlace methods
+        header[11] = 0;
+        header[12] = 0;
+        writeChunk(out, IHDR, header, header.length);
+
+        deflater.reset();
+        row[0] = FILTER_SUB;
+        for (int y = 0; y < height; y++) {
+            int offset = y * width;
+            int previous = 0;
+            for (int x = 0, i = 1; x < width; x++, i += 3) {
+                int pixel = pixels[offset + x];
+                row[i] = (byte) ((pixel >>> 16) - (previous >>> 16));
+                row[i + 1] = (byte) ((pixel >>> 8) - (previous >>> 8));
+                row[i + 2] = (byte) (pixel - previous);
+                previous = pixel;
+            }
+            deflater.setInput(row, 0, 1 + width * 3);
+            while (!deflater.needsInput()) {
+                drain(out, deflater.deflate(deflated, 0, deflated.length, Deflater.NO_FLUSH));
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            drain(out, deflater.deflate(deflated));
+        }
+        writeChunk(out, IEND, deflated, 0);
+    }
+
+    private void drain(OutputStream out, int length) throws IOException {
+        if (length > 0) {
+            writeChunk(out, IDAT, deflated, length);
+        }
+    }
+
+    private void writeChunk(OutputStream out, byte[] type, byte[] data, int length) throws IOException {
+        putInt(chunkHeader, 0, length);
+        System.arraycopy(type, 0, chunkHeader, 4, 4);
+        out.write(chunkHeader);
+        out.write(data, 0, length);
+        crc.reset();
+        crc.update(type);
+        crc.update(data, 0, length);
+        long value = crc.getValue();
+        out.write((int) (value >>> 24));
+        out.write((int) (value >>> 16));
+        out.write((int) (value >>> 8));
+        out.write((int) value);
+    }
+
+    @Override
+    public void close() {
+        deflater.end();
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Everything {@link WeatherPanel} shows for one sol, formatted ahead of time. {@link SolNavigator} builds
+ * these for neighbouring sols on a background thread, so stepping to one only copies references into the
+ * existing labels.
+ */
+final class PreparedSol {
+    private static final DateTimeFormatter DATE_FORMAT_OUTPUT =
+            DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm:ss").withZone(ZoneOffset.UTC);
+    static final int METRICS = 4;
+
+    final SolReport report;
+    final String firstUtc;
+    final String lastUtc;
+    final String season;
+    final String northernSeason;
+    final String southernSeason;
+    // Indexed by sensor ordinal
+    final boolean[] shown = new boolean[Sensor.values().length];
+    final boolean[] unavailable = new boolean[Sensor.values().length];
+    final String[][] metrics = new String[Sensor.values().length][];
+
+    private PreparedSol(SolReport report) {
+        this.report = report;
+        this.firstUtc = formatUtc(report.firstUtcMillis());
+        this.lastUtc = formatUtc(report.lastUtcMillis());
+        this.season = seasonText(report.season());
+        this.northernSeason = seasonText(report.northernSeason());
+        this.southernSeason = seasonText(report.southernSeason());
+
+        for (Sensor sensor : Sensor.values()) {
+            int index = sensor.ordinal();
+            shown[index] = report.hasSensor(sensor);
+            if (!shown[index]) {
+                continue;
+            }
+            if (report.count(sensor) < 0 && Double.isNaN(report.average(sensor))) {
+                unavailable[index] = true;
+                continue;
+            }
+            String[] texts = new String[METRICS];
+            double[] values = {report.min(sensor), report.average(sensor), report.max(sensor)};
+            for (int i = 0; i < values.length; i++) {
+                if (!Double.isNaN(values[i])) {
+                    texts[i] = String.format("%.2f%s", values[i], sensor.unit());
+                } else {
+                    texts[i] = String.format("%.2f%s", 0.0, "N/A");
+                }
+            }
+            int count = report.count(sensor);
+            if (count >= 0) {
+                texts[3] = String.format("%d%s", count, "");
+            } else {
+                texts[3] = String.format("%.2f%s", 0.0, "N/A");
+            }
+            metrics[index] = texts;
+        }
+    }
+
+    static PreparedSol of(SolReport report) {
+        return new PreparedSol(report);
+    }
+
+    static String formatUtc(long epochMillis) {
+        return epochMillis == SolReport.NO_TIME ? "N/A" : DATE_FORMAT_OUTPUT.format(Instant.ofEpochMilli(epochMillis));
+    }
+
+    private static String seasonText(String value) {
+        return value != null ? value : "N/A";
+    }
+}
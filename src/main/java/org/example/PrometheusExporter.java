@@ -0,0 +1,95 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Serves {@link Metrics} in the Prometheus text format from a loopback-only JDK HTTP server. */
+final class PrometheusExporter implements MetricsExporter {
+    static final int DEFAULT_PORT = 9464;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final HttpServer server;
+
+    private PrometheusExporter(HttpServer server) {
+        this.server = server;
+    }
+
+    static PrometheusExporter start(int port) throws IOException {
+        SolServer.disableNagle();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", PrometheusExporter::serve);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        System.err.println("Metrics at http://127.0.0.1:" + server.getAddress().getPort() + "/metrics");
+        return new PrometheusExporter(server);
+    }
+
+    private static void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = text().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    static String text() {
+        StringBuilder text = new StringBuilder(4096);
+        text.append("# HELP insight_stage_seconds Duration of fetch, parse, validate, cache, view and paint stages\n")
+                .append("# TYPE insight_stage_seconds summary\n");
+        for (Metrics.Timer timer : Metrics.timers().values()) {
+            String stage = "stage=\"" + timer.stage() + "\"";
+            for (double q : QUANTILES) {
+                text.append("insight_stage_seconds{").append(stage).append(",quantile=\"").append(q).append("\"} ")
+                        .append(number(timer.quantileMillis(q) / 1000)).append('\n');
+            }
+            text.append("insight_stage_seconds_sum{").append(stage).append("} ").append(number(timer.totalMillis() / 1000)).append('\n')
+                    .append("insight_stage_seconds_count{").append(stage).append("} ").append(timer.count()).append('\n');
+        }
+        text.append("# HELP insight_stage_allocated_bytes_total Bytes allocated by the thread running each stage\n")
+                .append("# TYPE insight_stage_allocated_bytes_total counter\n");
+        for (Metrics.Timer timer : Metrics.timers().values()) {
+            text.append("insight_stage_allocated_bytes_total{stage=\"").append(timer.stage()).append("\"} ")
+                    .append(timer.allocatedBytes()).append('\n');
+        }
+
+        String lastName = null;
+        for (Map.Entry<String, LongAdder> counter : Metrics.counters().entrySet()) {
+            String series = "insight_" + counter.getKey();
+            int brace = series.indexOf('{');
+            String name = brace >= 0 ? series.substring(0, brace) : series;
+            if (!name.equals(lastName)) {
+                text.append("# TYPE ").append(name).append("_total counter\n");
+                lastName = name;
+            }
+            text.append(name).append("_total").append(brace >= 0 ? series.substring(brace) : "")
+                    .append(' ').append(counter.getValue().sum()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String number(double value) {
+        return Double.isNaN(value) ? "NaN" : String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
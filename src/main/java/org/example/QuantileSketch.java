@@ -0,0 +1,155 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch with relative accuracy: values are counted in logarithmic buckets of width
+ * {@code (1 + accuracy) / (1 - accuracy)}, so any quantile is within {@code accuracy} of the true value.
+ * Adding and removing a value are O(1), and two sketches with the same accuracy merge by adding their
+ * bucket counts. Negative values (Martian temperatures) use a mirrored set of buckets.
+ */
+public final class QuantileSketch {
+    public static final double DEFAULT_ACCURACY = 0.001;
+    // Magnitudes below this are counted as zero
+    private static final double MIN_INDEXABLE = 1e-9;
+
+    private final double accuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Buckets positive = new Buckets();
+    private final Buckets negative = new Buckets();
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch() {
+        this(DEFAULT_ACCURACY);
+    }
+
+    public QuantileSketch(double accuracy) {
+        if (!(accuracy > 0 && accuracy < 1)) {
+            throw new IllegalArgumentException("Accuracy must be in (0, 1): " + accuracy);
+        }
+        this.accuracy = accuracy;
+        this.gamma = (1 + accuracy) / (1 - accuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(accuracy);
+        copy.merge(this);
+        return copy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public void add(double value) {
+        update(value, 1);
+    }
+
+    /** Removes one occurrence of a value added earlier. */
+    public void remove(double value) {
+        update(value, -1);
+    }
+
+    private void update(double value, int delta) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (value > MIN_INDEXABLE) {
+            positive.add(index(value), delta);
+        } else if (value < -MIN_INDEXABLE) {
+            negative.add(index(-value), delta);
+        } else {
+            zeroCount += delta;
+        }
+        count += delta;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.accuracy != accuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with accuracy " + accuracy + " and " + other.accuracy);
+        }
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /** The value at quantile {@code q} in [0, 1], or NaN when the sketch is empty. */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + q);
+        }
+        if (count <= 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (q * (count - 1));
+        long seen = 0;
+        // Most negative first: the largest magnitudes of the negative buckets
+        for (int i = negative.counts.length - 1; i >= 0; i--) {
+            seen += negative.counts[i];
+            if (seen > rank) {
+                return -value(negative.offset + i);
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0.0;
+        }
+        for (int i = 0; i < positive.counts.length; i++) {
+            seen += positive.counts[i];
+            if (seen > rank) {
+                return value(positive.offset + i);
+            }
+        }
+        return value(positive.offset + positive.counts.length - 1);
+    }
+
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    // Midpoint of the bucket, which keeps the relative error within accuracy on both sides
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    /** Dense bucket counts starting at bucket index {@code offset}, grown on demand. */
+    private static final class Buckets {
+        private long[] counts = new long[0];
+        private int offset;
+
+        void add(int index, long delta) {
+            ensure(index);
+            counts[index - offset] += delta;
+        }
+
+        void merge(Buckets other) {
+            if (other.counts.length == 0) {
+                return;
+            }
+            ensure(other.offset);
+            ensure(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+
+        private void ensure(int index) {
+            if (counts.length == 0) {
+                counts = new long[16];
+                offset = index - 8;
+            } else if (index < offset) {
+                int grow = Math.max(offset - index, counts.length / 2);
+                long[] grown = new long[counts.length + grow];
+                System.arraycopy(counts, 0, grown, grow, counts.length);
+                counts = grown;
+                offset -= grow;
+            } else if (index >= offset + counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(index - offset + 1, counts.length + counts.length / 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Decides which API key each feed request uses, and lets concurrent callers share one request.
+ * <ul>
+ * <li>Every key has a token bucket sized to its hourly limit. Each response resets it from
+ * {@code X-RateLimit-Limit} and {@code X-RateLimit-Remaining}, and a 429 empties it.</li>
+ * <li>Keys are taken round robin from a pool ({@code -Dinsight.api.keys} or {@code NASA_API_KEYS}, plus any
+ * key a caller passes in), skipping keys without a token. When every key is out, the request waits up to
+ * {@code maxWaitMillis} for a token and otherwise fails with an {@link IOException}, so {@link FeedLoader} serves
+ * its cache.</li>
+ * <li>Requests for the same URL with the same validators are single-flight: callers that arrive while one is
+ * in flight wait for it and get the same parsed response, streamed to their listener once it is complete.</li>
+ * </ul>
+ * A throttled or circuit-broken key hands the request on to the next key with quota left.
+ */
+public final class QuotaScheduler {
+    public static final String DEMO_KEY = "DEMO_KEY";
+    // NASA's documented hourly limits
+    static final int DEMO_KEY_HOURLY_LIMIT = 30;
+    static final int DEFAULT_HOURLY_LIMIT = 1000;
+    static final String COALESCED = "feed_requests{result=\"coalesced\"}";
+    static final String QUOTA_WAITS = "feed_requests{result=\"waited_for_quota\"}";
+    static final String QUOTA_REFUSED = "feed_requests{result=\"out_of_quota\"}";
+
+    private final ResilientFetcher fetcher;
+    private final Config config;
+    private final List<KeyQuota> keys = new ArrayList<>();
+    private final Map<String, CompletableFuture<InsightApiClient.FeedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+    // Guarded by keys
+    private int cursor;
+
+    public QuotaScheduler(ResilientFetcher fetcher, Config config) {
+        this.fetcher = fetcher;
+        this.config = config;
+        for (String key : config.keys()) {
+            register(key);
+        }
+    }
+
+    /**
+     * @param keys          the pool; keys passed to {@link #fetch} join it as well
+     * @param maxWaitMillis how long a request may wait for a token when every key is out of quota
+     */
+    public record Config(List<String> keys, long maxWaitMillis) {
+        public static Config defaults() {
+            return new Config(List.of(), 10_000);
+        }
+
+        public static Config fromSystemProperties() {
+            String keys = System.getProperty("insight.api.keys", System.getenv("NASA_API_KEYS"));
+            List<String> pool = new ArrayList<>();
+            if (keys != null) {
+                for (String key : keys.split(",")) {
+                    if (!key.isBlank()) {
+                        pool.add(key.strip());
+                    }
+                }
+            }
+            return new Config(pool, Long.getLong("insight.quota.maxWaitMillis", defaults().maxWaitMillis()));
+        }
+    }
+
+    /** One key's bucket at the time of the call; keys are masked so the status can be logged. */
+    public record KeyStatus(String key, double tokens, int hourlyLimit, long requests, long throttled) {
+        @Override
+        public String toString() {
+            return String.format("%s %.0f/%d left, %d requests, %d throttled", key, tokens, hourlyLimit, requests, throttled);
+        }
+    }
+
+    public ResilientFetcher fetcher() {
+        return fetcher;
+    }
+
+    public List<KeyStatus> status() {
+        synchronized (keys) {
+            List<KeyStatus> status = new ArrayList<>(keys.size());
+            long now = System.nanoTime();
+            for (KeyQuota quota : keys) {
+                quota.refill(now);
+                status.add(new KeyStatus(mask(quota.key), quota.tokens, quota.hourlyLimit, quota.requests, quota.throttled));
+            }
+            return status;
+        }
+    }
+
+    /** Requests that were answered by another caller's request instead of their own. */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Fetches {@code urlForKey.apply(key)} with a key chosen from the pool, {@code apiKey} included. If the same
+     * request is already in flight, waits for it instead and reports its feed to {@code listener} in one go.
+     */
+    public InsightApiClient.FeedResponse fetch(String endpoint, String apiKey, Function<String, String> urlForKey,
+                                               Map<String, String> headers, FeedListener listener) throws IOException {
+        register(apiKey);
+        // Validators are part of the identity: a conditional request may be answered by a 304 without a feed
+        String flightKey = endpoint + '\n' + headers;
+        while (true) {
+            CompletableFuture<InsightApiClient.FeedResponse> mine = new CompletableFuture<>();
+            CompletableFuture<InsightApiClient.FeedResponse> leader = inFlight.putIfAbsent(flightKey, mine);
+            if (leader == null) {
+                // Leave the map before completing, so nobody arriving later is handed this response
+                try {
+                    InsightApiClient.FeedResponse response = send(endpoint, urlForKey, headers, listener);
+                    inFlight.remove(flightKey, mine);
+                    mine.complete(response);
+                    return response;
+                } catch (IOException | RuntimeException e) {
+                    inFlight.remove(flightKey, mine);
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+            }
+
+            InsightApiClient.FeedResponse response;
+            try {
+                response = leader.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a shared feed request");
+            } catch (ExecutionException e) {
+                // The leader was cancelled, which says nothing about this caller: send the request again
+                if (e.getCause() instanceof InterruptedIOException) {
+                    continue;
+                }
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            }
+            coalesced.increment();
+            Metrics.count(COALESCED, 1);
+            if (response.feed() != null && listener != FeedListener.NONE) {
+                response.feed().sols().forEach(listener::onSol);
+                listener.onValidityChecks(response.feed().validityChecks());
+            }
+            return response;
+        }
+    }
+
+    private InsightApiClient.FeedResponse send(String endpoint, Function<String, String> urlForKey,
+                                               Map<String, String> headers, FeedListener listener) throws IOException {
+        int attempts;
+        synchronized (keys) {
+            attempts = keys.size();
+        }
+        IOException lastFailure = null;
+        InsightApiClient.FeedResponse throttled = null;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            KeyQuota quota = acquire();
+            InsightApiClient.FeedResponse response;
+            try {
+                // A 429 comes straight back, so the key's bucket is emptied and the next key tried
+                response = fetcher.fetch(endpoint, quota.key, urlForKey.apply(quota.key), headers, listener, false);
+            } catch (InterruptedIOException e) {
+                throw e;
+            } catch (IOException e) {
+                // Typically this key's circuit is open; another key may still get through
+                lastFailure = e;
+                continue;
+            }
+            boolean limited = response.code() == 429;
+            synchronized (keys) {
+                quota.update(response.header("X-RateLimit-Limit"), response.header("X-RateLimit-Remaining"), limited);
+            }
+            if (!limited) {
+                return response;
+            }
+            throttled = response;
+        }
+        if (throttled != null) {
+            return throttled;
+        }
+        throw lastFailure != null ? lastFailure : new IOException("No InSight API key configured");
+    }
+
+    /** Takes a token from the next key round robin that has one, waiting up to {@code maxWaitMillis} if none has. */
+    private KeyQuota acquire() throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.maxWaitMillis());
+        boolean waited = false;
+        while (true) {
+            long waitNanos = Long.MAX_VALUE;
+            synchronized (keys) {
+                long now = System.nanoTime();
+                for (int i = 0; i < keys.size(); i++) {
+                    KeyQuota quota = keys.get((cursor + i) % keys.size());
+                    quota.refill(now);
+                    if (quota.tokens >= 1) {
+                        quota.tokens--;
+                        quota.requests++;
+                        cursor = (cursor + i + 1) % keys.size();
+                        return quota;
+                    }
+                    waitNanos = Math.min(waitNanos, quota.nanosUntilToken());
+                }
+                if (now + waitNanos > deadline) {
+                    Metrics.count(QUOTA_REFUSED, 1);
+                    throw new IOException("All " + keys.size() + " InSight API keys are out of quota, next request in "
+                            + Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos)) + " s");
+                }
+            }
+            if (!waited) {
+                Metrics.count(QUOTA_WAITS, 1);
+                waited = true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for API quota");
+            }
+        }
+    }
+
+    private void register(String key) {
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        synchronized (keys) {
+            for (KeyQuota quota : keys) {
+                if (quota.key.equals(key)) {
+                    return;
+                }
+            }
+            keys.add(new KeyQuota(key, key.equals(DEMO_KEY) ? DEMO_KEY_HOURLY_LIMIT : DEFAULT_HOURLY_LIMIT));
+        }
+    }
+
+    static String mask(String key) {
+        return key.equals(DEMO_KEY) || key.length() <= 4 ? key : "..." + key.substring(key.length() - 4);
+    }
+
+    /** A key's token bucket, refilled continuously at its hourly limit. Guarded by the scheduler's key list. */
+    private static final class KeyQuota {
+        private static final long HOUR_NANOS = TimeUnit.HOURS.toNanos(1);
+
+        final String key;
+        int hourlyLimit;
+        double tokens;
+        long refilledAt = System.nanoTime();
+        long requests;
+        long throttled;
+
+        KeyQuota(String key, int hourlyLimit) {
+            this.key = key;
+            this.hourlyLimit = hourlyLimit;
+            this.tokens = hourlyLimit;
+        }
+
+        void refill(long now) {
+            tokens = Math.min(hourlyLimit, tokens + (double) (now - refilledAt) * hourlyLimit / HOUR_NANOS);
+            refilledAt = now;
+        }
+
+        long nanosUntilToken() {
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) * HOUR_NANOS / hourlyLimit);
+        }
+
+        /** The server's count wins over the local estimate; missing or malformed headers leave the bucket alone. */
+        void update(String limit, String remaining, boolean limited) {
+            try {
+                if (limit != null) {
+                    hourlyLimit = Math.max(1, Integer.parseInt(limit.strip()));
+                }
+                if (remaining != null) {
+                    tokens = Math.min(hourlyLimit, Math.max(0, Integer.parseInt(remaining.strip())));
+                }
+            } catch (NumberFormatException ignored) {
+                // keep the local estimate
+            }
+            if (limited) {
+                throttled++;
+                tokens = 0;
+            }
+            refilledAt = System.nanoTime();
+        }
+    }
+}
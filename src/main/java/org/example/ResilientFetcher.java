@@ -0,0 +1,195 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feed requests that survive a flaky API. Connection failures, 429s and 5xx responses are retried with
+ * exponential backoff and full jitter, or after the server's {@code Retry-After} when it sends one. Each
+ * endpoint and API key pair has its own {@link CircuitBreaker}, so a throttled DEMO_KEY stops being sent
+ * without affecting other keys; a refused call fails fast with an {@link IOException}, which
+ * {@link FeedLoader} answers from its cache. Every attempt's latency is recorded for {@link #stats()}.
+ */
+public final class ResilientFetcher {
+    private final InsightApiClient client;
+    private final Config config;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final QuantileSketch latencyMillis = new QuantileSketch(0.01);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ResilientFetcher(InsightApiClient client, Config config) {
+        this.client = client;
+        this.config = config;
+    }
+
+    /**
+     * @param maxAttempts      attempts per request, the first one included
+     * @param maxBackoff       cap on one backoff, and on how long a {@code Retry-After} is waited out in place;
+     *                         a longer one opens the circuit instead
+     * @param failureThreshold consecutive failures that open an endpoint's circuit
+     * @param openDuration     how long an open circuit refuses calls before a trial request
+     */
+    public record Config(int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                         int failureThreshold, Duration openDuration) {
+
+        public static Config defaults() {
+            return new Config(4, Duration.ofMillis(500), Duration.ofSeconds(20), 5, Duration.ofSeconds(60));
+        }
+
+        public static Config fromSystemProperties() {
+            Config defaults = defaults();
+            return new Config(
+                    Integer.getInteger("insight.fetch.maxAttempts", defaults.maxAttempts()),
+                    Duration.ofMillis(Long.getLong("insight.fetch.initialBackoffMillis", defaults.initialBackoff().toMillis())),
+                    Duration.ofMillis(Long.getLong("insight.fetch.maxBackoffMillis", defaults.maxBackoff().toMillis())),
+                    Integer.getInteger("insight.fetch.failureThreshold", defaults.failureThreshold()),
+                    Duration.ofMillis(Long.getLong("insight.fetch.openMillis", defaults.openDuration().toMillis())));
+        }
+    }
+
+    /** Counters since construction, and per-attempt latency percentiles in milliseconds (NaN before any attempt). */
+    public record Stats(long requests, long attempts, long retries, long failures, long rejected,
+                        double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d attempts, %d retries, %d failed attempts, %d refused by open circuits,"
+                            + " latency p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    requests, attempts, retries, failures, rejected, p50Millis, p90Millis, p99Millis, maxMillis);
+        }
+    }
+
+    /**
+     * Fetches {@code url}, retrying as configured. {@code endpoint} and {@code apiKey} pick the circuit. The last
+     * response is returned even when unsuccessful; an exception means no response was received at all.
+     */
+    public InsightApiClient.FeedResponse fetch(String endpoint, String apiKey, String url,
+                                               Map<String, String> headers, FeedListener listener) throws IOException {
+        return fetch(endpoint, apiKey, url, headers, listener, true);
+    }
+
+    /**
+     * As {@link #fetch(String, String, String, Map, FeedListener)}, but with {@code retryThrottled} false a 429 is
+     * returned at once instead of being retried on the same key, for callers that move on to another key.
+     */
+    public InsightApiClient.FeedResponse fetch(String endpoint, String apiKey, String url, Map<String, String> headers,
+                                               FeedListener listener, boolean retryThrottled) throws IOException {
+        requests.increment();
+        CircuitBreaker breaker = breakers.computeIfAbsent(endpoint + '\n' + apiKey,
+                key -> new CircuitBreaker(config.failureThreshold(), config.openDuration().toNanos()));
+
+        for (int attempt = 1; ; attempt++) {
+            if (!breaker.tryAcquire()) {
+                rejected.increment();
+                throw new IOException("InSight API circuit is open, next attempt in "
+                        + Math.max(1, breaker.remainingOpenMillis() / 1000) + " s");
+            }
+
+            InsightApiClient.FeedResponse response;
+            long start = System.nanoTime();
+            try {
+                response = client.fetchFeed(url, headers, listener);
+            } catch (IOException e) {
+                recordLatency(start);
+                if (Thread.currentThread().isInterrupted()) {
+                    breaker.onAbandoned();
+                    throw e;
+                }
+                failures.increment();
+                breaker.onFailure();
+                if (attempt >= config.maxAttempts()) {
+                    throw e;
+                }
+                pause(backoffMillis(attempt));
+                continue;
+            }
+            recordLatency(start);
+
+            if (!isRetryable(response.code())) {
+                // A 4xx other than 429 is the caller's problem, the endpoint itself is answering
+                breaker.onSuccess();
+                return response;
+            }
+            failures.increment();
+            long backoff = backoffMillis(attempt);
+            long waitMillis = retryAfterMillis(response.header("Retry-After"), backoff);
+            if (waitMillis > config.maxBackoff().toMillis()) {
+                // e.g. an hourly DEMO_KEY limit: stop sending until the server says it is worth trying again
+                breaker.openFor(waitMillis * 1_000_000L);
+                return response;
+            }
+            breaker.onFailure();
+            if (attempt >= config.maxAttempts() || (response.code() == 429 && !retryThrottled)) {
+                return response;
+            }
+            pause(waitMillis);
+        }
+    }
+
+    public Stats stats() {
+        synchronized (latencyMillis) {
+            return new Stats(requests.sum(), attempts.sum(), retries.sum(), failures.sum(), rejected.sum(),
+                    latencyMillis.quantile(0.5), latencyMillis.quantile(0.9), latencyMillis.quantile(0.99),
+                    latencyMillis.quantile(1.0));
+        }
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 429 || code == 500 || code == 502 || code == 503 || code == 504;
+    }
+
+    // Full jitter: uniform in [0, min(maxBackoff, initialBackoff * 2^(attempt - 1))]
+    private long backoffMillis(int attempt) {
+        long ceiling = config.initialBackoff().toMillis() << Math.min(attempt - 1, 20);
+        return ThreadLocalRandom.current().nextLong(Math.min(ceiling, config.maxBackoff().toMillis()) + 1);
+    }
+
+    private void pause(long millis) throws InterruptedIOException {
+        retries.increment();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Feed request interrupted during backoff");
+        }
+    }
+
+    private void recordLatency(long startNanos) {
+        attempts.increment();
+        double millis = (System.nanoTime() - startNanos) / 1e6;
+        synchronized (latencyMillis) {
+            latencyMillis.add(millis);
+        }
+    }
+
+    /** Wait for a {@code Retry-After} value in seconds or as an HTTP date, or {@code fallbackMillis} without one. */
+    static long retryAfterMillis(String retryAfter, long fallbackMillis) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return fallbackMillis;
+        }
+        String value = retryAfter.strip();
+        try {
+            return Math.max(0, Long.parseLong(value)) * 1000L;
+        } catch (NumberFormatException ignored) {
+            // Not delta-seconds, try the HTTP-date form
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, at.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (DateTimeParseException e) {
+            return fallbackMillis;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Summary of the last {@code capacity} sols added. Each new sol is added to and the oldest removed from one
+ * {@link SolAggregate}, and per-sensor min and max come from monotonic deques, so an update is O(1)
+ * amortized however large the window is.
+ */
+public final class RollingWindow {
+    private final int capacity;
+    private final ArrayDeque<SolReport> window;
+    private final SolAggregate aggregate = new SolAggregate();
+    private final MonotonicDeque[] minimums = new MonotonicDeque[Sensor.values().length];
+    private final MonotonicDeque[] maximums = new MonotonicDeque[Sensor.values().length];
+    private long added;
+
+    public RollingWindow(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Window capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.window = new ArrayDeque<>(capacity);
+        for (int i = 0; i < minimums.length; i++) {
+            minimums[i] = new MonotonicDeque(capacity, false);
+            maximums[i] = new MonotonicDeque(capacity, true);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return window.size();
+    }
+
+    public void add(SolReport report) {
+        if (window.size() == capacity) {
+            aggregate.remove(window.removeFirst());
+        }
+        window.addLast(report);
+        aggregate.add(report);
+
+        long sequence = added++;
+        for (Sensor sensor : Sensor.values()) {
+            int s = sensor.ordinal();
+            minimums[s].expire(sequence - capacity);
+            maximums[s].expire(sequence - capacity);
+            if (report.hasSensor(sensor)) {
+                minimums[s].push(sequence, report.min(sensor));
+                maximums[s].push(sequence, report.max(sensor));
+            }
+        }
+    }
+
+    /** The window's summary, with per-sensor min and max taken from the deques. Valid until the next add. */
+    public SolAggregate summary() {
+        for (Sensor sensor : Sensor.values()) {
+            int s = sensor.ordinal();
+            aggregate.sensor(sensor).setRange(minimums[s].peek(), maximums[s].peek());
+        }
+        return aggregate;
+    }
+
+    /**
+     * The last {@code capacity} sols, by sol number, across this window and another partition's window.
+     * Rebuilds from both windows' sols, so it costs O(capacity log capacity).
+     */
+    public RollingWindow merge(RollingWindow other) {
+        List<SolReport> sols = new ArrayList<>(window);
+        sols.addAll(other.window);
+        sols.sort(Comparator.comparingInt(SolReport::sol));
+        RollingWindow merged = new RollingWindow(capacity);
+        for (SolReport report : sols.subList(Math.max(0, sols.size() - capacity), sols.size())) {
+            merged.add(report);
+        }
+        return merged;
+    }
+
+    /** Ring buffer of (sequence, value) whose values stay ascending (min) or descending (max) from the front. */
+    private static final class MonotonicDeque {
+        private final long[] sequences;
+        private final double[] values;
+        private final boolean descending;
+        private int head;
+        private int size;
+
+        MonotonicDeque(int capacity, boolean descending) {
+            this.sequences = new long[capacity + 1];
+            this.values = new double[capacity + 1];
+            this.descending = descending;
+        }
+
+        void push(long sequence, double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            while (size > 0) {
+                double last = values[slot(size - 1)];
+                if (descending ? last > value : last < value) {
+                    break;
+                }
+                size--;
+            }
+            int slot = slot(size++);
+            sequences[slot] = sequence;
+            values[slot] = value;
+        }
+
+        void expire(long oldestExcluded) {
+            while (size > 0 && sequences[head] <= oldestExcluded) {
+                head = (head + 1) % sequences.length;
+                size--;
+            }
+        }
+
+        double peek() {
+            return size > 0 ? values[head] : Double.NaN;
+        }
+
+        private int slot(int position) {
+            return (head + position) % sequences.length;
+        }
+    }
+}
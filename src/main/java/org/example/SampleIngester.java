@@ -0,0 +1,626 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds {@link SolReport}s from recorded raw samples instead of the API's pre-aggregated values. Each file
+ * is CSV with a header line naming its columns; columns are matched by name, in any order and case, and
+ * others are ignored:
+ *
+ * <pre>
+ * SOL   sol number; without it the sol is taken from LMST ("00123M08:34:56.789")
+ * UTC   ISO-8601 instant ("2019-02-12T10:23:45.123Z") or epoch milliseconds, optional
+ * AT    air temperature, °C
+ * PRE   pressure, Pa (or PRESSURE)
+ * HWS   horizontal wind speed, m/s (or HORIZONTAL_WIND_SPEED)
+ * WD    wind direction, degrees clockwise from north (or WIND_DIRECTION)
+ * </pre>
+ *
+ * An empty or {@code NaN} field is a missing sample. Files are cut into chunks at line boundaries, each chunk
+ * is memory-mapped and scanned byte by byte on a {@link ForkJoinPool} into per-sol min, max, sum and count
+ * plus the 16-sector wind-direction histogram, and the partial results are merged in file order, so the
+ * reports do not depend on the number of threads. Sums are compensated (Neumaier's variant of Kahan
+ * summation), which keeps each average within rounding of the exact one, so changing the chunk size does
+ * not move it either. Lines that cannot be parsed are skipped and counted.
+ */
+public final class SampleIngester {
+    // Lines crossing a chunk's end are read up to this far into the next one
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private static final int COLUMN_IGNORED = -1;
+    private static final int COLUMN_SOL = -2;
+    private static final int COLUMN_LMST = -3;
+    private static final int COLUMN_UTC = -4;
+    private static final int COLUMN_WD = -5;
+    static final String SAMPLES = "ingested_samples";
+
+    private final Config config;
+
+    public SampleIngester(Config config) {
+        this.config = config;
+    }
+
+    /** @param chunkBytes how much of a file one task maps and scans */
+    public record Config(int chunkBytes, ForkJoinPool pool) {
+        public static Config defaults() {
+            return new Config(32 * 1024 * 1024, ForkJoinPool.commonPool());
+        }
+    }
+
+    /** Reports in ascending sol order; {@code samples} counts the lines that went into them. */
+    public record Result(List<SolReport> reports, long samples, long rejectedLines, long bytes, Duration elapsed) {
+        public double megabytesPerSecond() {
+            return bytes / 1e6 / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d sols from %d samples (%d lines rejected), %.1f MB in %d ms, %.0f MB/s",
+                    reports.size(), samples, rejectedLines, bytes / 1e6, elapsed.toMillis(), megabytesPerSecond());
+        }
+    }
+
+    /** Ingests the files into an archive: {@code <archive> <sample file>...}. */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: --ingest <archive> <sample file>...");
+            System.exit(2);
+        }
+        try {
+            List<Path> files = new ArrayList<>();
+            for (int i = 1; i < args.length; i++) {
+                files.add(Path.of(args[i]));
+            }
+            Result result = new SampleIngester(Config.defaults()).ingest(files);
+            SolArchive.write(Path.of(args[0]), result.reports());
+            System.out.println(result);
+            System.out.println("Wrote " + result.reports().size() + " sols to " + args[0]);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads every file and returns one report per sol found. A sol spread over several files is combined.
+     *
+     * @throws IllegalArgumentException when a file's header has no sol column or no sensor column
+     * @throws IOException              when a file cannot be read or has a line longer than 64 KB
+     */
+    public Result ingest(List<Path> files) throws IOException {
+        long start = System.nanoTime();
+        try (Metrics.Span ignored = Metrics.start("ingest")) {
+            List<FileChannel> channels = new ArrayList<>();
+            try {
+                List<Chunk> chunks = new ArrayList<>();
+                long bytes = 0;
+                for (Path file : files) {
+                    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                    channels.add(channel);
+                    bytes += channel.size();
+                    addChunks(file, channel, chunks);
+                }
+                ScanRange all = new ScanRange(chunks, 0, chunks.size());
+                Partial partial = chunks.size() <= 1 || config.pool().getParallelism() <= 1
+                        ? all.compute() : config.pool().invoke(all);
+                Metrics.count(SAMPLES, partial.samples);
+                return new Result(partial.reports(), partial.samples, partial.rejectedLines, bytes,
+                        Duration.ofNanos(System.nanoTime() - start));
+            } finally {
+                for (FileChannel channel : channels) {
+                    channel.close();
+                }
+            }
+        } catch (ScanException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void addChunks(Path file, FileChannel channel, List<Chunk> chunks) throws IOException {
+        long size = channel.size();
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, MAX_LINE_BYTES));
+        int headerEnd = 0;
+        while (headerEnd < head.limit() && head.get(headerEnd) != '\n') {
+            headerEnd++;
+        }
+        if (headerEnd == head.limit() && size > head.limit()) {
+            throw new IllegalArgumentException(file + ": header line longer than " + MAX_LINE_BYTES + " bytes");
+        }
+        byte[] header = new byte[headerEnd];
+        head.get(0, header);
+        int[] columns = columns(file, new String(header, StandardCharsets.UTF_8));
+
+        for (long from = Math.min(size, headerEnd + 1L); from < size; from += config.chunkBytes()) {
+            chunks.add(new Chunk(file, channel, columns, from, Math.min(size, from + config.chunkBytes())));
+        }
+    }
+
+    // Sensor columns map to Sensor ordinals, the rest to the negative COLUMN_ codes
+    private static int[] columns(Path file, String header) {
+        String[] names = header.strip().split(",", -1);
+        int[] columns = new int[names.length];
+        boolean hasSol = false;
+        boolean hasSensor = false;
+        for (int i = 0; i < names.length; i++) {
+            columns[i] = switch (names[i].strip().toUpperCase(Locale.ROOT)) {
+                case "SOL" -> COLUMN_SOL;
+                case "LMST" -> COLUMN_LMST;
+                case "UTC" -> COLUMN_UTC;
+                case "AT" -> Sensor.AT.ordinal();
+                case "PRE", "PRESSURE" -> Sensor.PRE.ordinal();
+                case "HWS", "HORIZONTAL_WIND_SPEED" -> Sensor.HWS.ordinal();
+                case "WD", "WIND_DIRECTION" -> COLUMN_WD;
+                default -> COLUMN_IGNORED;
+            };
+            hasSol |= columns[i] == COLUMN_SOL || columns[i] == COLUMN_LMST;
+            hasSensor |= columns[i] >= 0 || columns[i] == COLUMN_WD;
+        }
+        if (!hasSol || !hasSensor) {
+            throw new IllegalArgumentException(file + ": header needs a SOL or LMST column and at least one of "
+                    + "AT, PRE, HWS or WD, got: " + abbreviate(header.strip()));
+        }
+        return columns;
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= 120 ? text : text.substring(0, 117) + "...";
+    }
+
+    /** Byte range {@code [from, to)} of one file; it owns every line that starts inside it. */
+    private record Chunk(Path file, FileChannel channel, int[] columns, long from, long to) {
+    }
+
+    // Carries an IOException out of a fork-join task
+    private static final class ScanException extends RuntimeException {
+        ScanException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
+    private static final class ScanRange extends RecursiveTask<Partial> {
+        private final List<Chunk> chunks;
+        private final int from;
+        private final int to;
+
+        ScanRange(List<Chunk> chunks, int from, int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            // Split down to single chunks even without a pool, so the sums are added in the same order either way
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                ScanRange right = new ScanRange(chunks, middle, to);
+                right.fork();
+                Partial left = new ScanRange(chunks, from, middle).compute();
+                return left.merge(right.join());
+            }
+            Partial partial = new Partial();
+            if (from < to) {
+                try {
+                    scan(chunks.get(from), partial);
+                } catch (IOException e) {
+                    throw new ScanException(e);
+                }
+            }
+            return partial;
+        }
+    }
+
+    private static void scan(Chunk chunk, Partial partial) throws IOException {
+        long size = chunk.channel().size();
+        long mapFrom = Math.max(0, chunk.from() - 1);
+        long mapTo = Math.min(size, chunk.to() + MAX_LINE_BYTES);
+        MappedByteBuffer buffer = chunk.channel().map(FileChannel.MapMode.READ_ONLY, mapFrom, mapTo - mapFrom);
+        int end = (int) (chunk.to() - mapFrom);
+        int limit = buffer.limit();
+
+        // A line that began in the previous chunk belongs to it
+        int position = (int) (chunk.from() - mapFrom);
+        if (position > 0 && buffer.get(position - 1) != '\n') {
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+            position++;
+        }
+
+        LineParser parser = new LineParser(buffer, chunk.columns());
+        while (position < end) {
+            int lineEnd = position;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (lineEnd == limit && mapTo < size) {
+                throw new IOException(chunk.file() + ": line at byte " + (mapFrom + position)
+                        + " is longer than " + MAX_LINE_BYTES + " bytes");
+            }
+            int contentEnd = lineEnd > position && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd > position) {
+                if (parser.parse(position, contentEnd)) {
+                    partial.add(parser);
+                } else {
+                    partial.rejectedLines++;
+                }
+            }
+            position = lineEnd + 1;
+        }
+    }
+
+    /** Splits one line into fields in place; nothing is allocated per line. */
+    private static final class LineParser {
+        private final MappedByteBuffer buffer;
+        private final int[] columns;
+        final double[] values = new double[Sensor.values().length];
+        int sol;
+        long utcMillis;
+        double windDegrees;
+        // Set by parseDouble when a field is not a number
+        private boolean malformed;
+
+        LineParser(MappedByteBuffer buffer, int[] columns) {
+            this.buffer = buffer;
+            this.columns = columns;
+        }
+
+        boolean parse(int from, int to) {
+            sol = -1;
+            utcMillis = SolReport.NO_TIME;
+            windDegrees = Double.NaN;
+            malformed = false;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Double.NaN;
+            }
+
+            int fieldStart = from;
+            for (int column = 0; column < columns.length; column++) {
+                if (fieldStart > to) {
+                    return false;
+                }
+                int fieldEnd = fieldStart;
+                while (fieldEnd < to && buffer.get(fieldEnd) != ',') {
+                    fieldEnd++;
+                }
+                int start = trimStart(fieldStart, fieldEnd);
+                int end = trimEnd(start, fieldEnd);
+                int role = columns[column];
+                if (role >= 0) {
+                    values[role] = parseDouble(start, end);
+                    if (malformed || Double.isInfinite(values[role])) {
+                        return false;
+                    }
+                } else if (role == COLUMN_WD) {
+                    windDegrees = parseDouble(start, end);
+                    if (malformed) {
+                        return false;
+                    }
+                } else if (role == COLUMN_SOL || role == COLUMN_LMST) {
+                    if (sol < 0) {
+                        sol = parseSol(start, end, role == COLUMN_LMST);
+                    }
+                } else if (role == COLUMN_UTC && end > start) {
+                    utcMillis = parseUtc(start, end);
+                    if (utcMillis == SolReport.NO_TIME) {
+                        return false;
+                    }
+                }
+                fieldStart = fieldEnd + 1;
+            }
+            return sol >= 0;
+        }
+
+        private int trimStart(int from, int to) {
+            while (from < to && buffer.get(from) == ' ') {
+                from++;
+            }
+            return from;
+        }
+
+        private int trimEnd(int from, int to) {
+            while (to > from && buffer.get(to - 1) == ' ') {
+                to--;
+            }
+            return to;
+        }
+
+        // Digits up to the end, or up to the 'M' of an LMST timestamp
+        private int parseSol(int from, int to, boolean lmst) {
+            int sol = 0;
+            int digits = 0;
+            for (int i = from; i < to; i++) {
+                byte b = buffer.get(i);
+                if (lmst && b == 'M') {
+                    break;
+                }
+                if (b < '0' || b > '9' || ++digits > 9) {
+                    return -1;
+                }
+                sol = sol * 10 + (b - '0');
+            }
+            return digits > 0 ? sol : -1;
+        }
+
+        /**
+         * Decimal with optional sign, fraction and exponent. Up to 15 significant digits and a power of ten
+         * within 10^22 the result is one correctly rounded division, the same as {@link Double#parseDouble};
+         * longer numbers go through it. Empty and {@code NaN} fields are NaN.
+         */
+        private double parseDouble(int from, int to) {
+            if (from == to) {
+                return Double.NaN;
+            }
+            int i = from;
+            boolean negative = false;
+            byte b = buffer.get(i);
+            if (b == '-' || b == '+') {
+                negative = b == '-';
+                i++;
+            }
+            if (to - i == 3 && buffer.get(i) == 'N' && buffer.get(i + 1) == 'a' && buffer.get(i + 2) == 'N') {
+                return Double.NaN;
+            }
+            long mantissa = 0;
+            int significant = 0;
+            int scale = 0;
+            boolean digits = false;
+            boolean fraction = false;
+            for (; i < to; i++) {
+                b = buffer.get(i);
+                if (b >= '0' && b <= '9') {
+                    digits = true;
+                    if (mantissa == 0 && b == '0') {
+                        if (fraction) {
+                            scale--;
+                        }
+                        continue;
+                    }
+                    if (significant >= 15) {
+                        return parseSlow(from, to);
+                    }
+                    mantissa = mantissa * 10 + (b - '0');
+                    significant++;
+                    if (fraction) {
+                        scale--;
+                    }
+                } else if (b == '.' && !fraction) {
+                    fraction = true;
+                } else if ((b == 'e' || b == 'E') && digits) {
+                    return parseSlow(from, to);
+                } else {
+                    malformed = true;
+                    return Double.NaN;
+                }
+            }
+            if (!digits) {
+                malformed = true;
+                return Double.NaN;
+            }
+            double value = scale == 0 ? mantissa : scale >= -22 ? mantissa / POWERS_OF_TEN[-scale] : parseSlow(from, to);
+            return negative ? -value : value;
+        }
+
+        private double parseSlow(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            buffer.get(from, bytes);
+            try {
+                return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                malformed = true;
+                return Double.NaN;
+            }
+        }
+
+        /** {@code yyyy-MM-ddTHH:mm:ss[.fff][Z]} or plain epoch milliseconds; NO_TIME when it is neither. */
+        private long parseUtc(int from, int to) {
+            if (to - from >= 19 && buffer.get(from + 4) == '-') {
+                int year = digits(from, 4);
+                int month = digits(from + 5, 2);
+                int day = digits(from + 8, 2);
+                int hour = digits(from + 11, 2);
+                int minute = digits(from + 14, 2);
+                int second = digits(from + 17, 2);
+                if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23
+                        || minute < 0 || minute > 59 || second < 0 || second > 60) {
+                    return SolReport.NO_TIME;
+                }
+                int millis = 0;
+                int i = from + 19;
+                if (i < to && buffer.get(i) == '.') {
+                    int scale = 100;
+                    for (i++; i < to && buffer.get(i) >= '0' && buffer.get(i) <= '9'; i++) {
+                        millis += (buffer.get(i) - '0') * scale;
+                        scale /= 10;
+                    }
+                }
+                if (i < to && buffer.get(i) == 'Z') {
+                    i++;
+                }
+                if (i != to) {
+                    return SolReport.NO_TIME;
+                }
+                return ((epochDay(year, month, day) * 24 + hour) * 60 + minute) * 60_000L + second * 1000L + millis;
+            }
+            long millis = 0;
+            for (int i = from; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b < '0' || b > '9' || i - from >= 18) {
+                    return SolReport.NO_TIME;
+                }
+                millis = millis * 10 + (b - '0');
+            }
+            return millis;
+        }
+
+        private int digits(int from, int count) {
+            int value = 0;
+            for (int i = from; i < from + count; i++) {
+                byte b = buffer.get(i);
+                if (b < '0' || b > '9') {
+                    return -1;
+                }
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+    }
+
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar
+    static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    /** Per-sol sums from any number of chunks; merging in chunk order keeps the averages reproducible. */
+    private static final class Partial {
+        private final Map<Integer, SolSamples> sols = new HashMap<>();
+        // Samples arrive in time order, so consecutive lines nearly always share a sol
+        private SolSamples last;
+        long samples;
+        long rejectedLines;
+
+        void add(LineParser line) {
+            SolSamples sol = last;
+            if (sol == null || sol.sol != line.sol) {
+                sol = sols.computeIfAbsent(line.sol, SolSamples::new);
+                last = sol;
+            }
+            sol.add(line);
+            samples++;
+        }
+
+        Partial merge(Partial other) {
+            other.sols.forEach((sol, samples) -> sols.merge(sol, samples, SolSamples::merge));
+            samples += other.samples;
+            rejectedLines += other.rejectedLines;
+            last = null;
+            return this;
+        }
+
+        List<SolReport> reports() {
+            List<SolReport> reports = new ArrayList<>(sols.size());
+            sols.values().stream()
+                    .sorted((a, b) -> Integer.compare(a.sol, b.sol))
+                    .forEach(samples -> reports.add(samples.report()));
+            return reports;
+        }
+    }
+
+    private static final class SolSamples {
+        private static final int SENSORS = Sensor.values().length;
+
+        final int sol;
+        private long firstUtc = Long.MAX_VALUE;
+        private long lastUtc = Long.MIN_VALUE;
+        private final double[] min = new double[SENSORS];
+        private final double[] max = new double[SENSORS];
+        private final double[] sum = new double[SENSORS];
+        // Low-order bits lost by sum, added back when the average is taken
+        private final double[] compensation = new double[SENSORS];
+        private final int[] count = new int[SENSORS];
+        private final int[] wind = new int[CompassPoint.COUNT];
+
+        SolSamples(int sol) {
+            this.sol = sol;
+            for (int i = 0; i < SENSORS; i++) {
+                min[i] = Double.POSITIVE_INFINITY;
+                max[i] = Double.NEGATIVE_INFINITY;
+            }
+        }
+
+        void add(LineParser line) {
+            if (line.utcMillis != SolReport.NO_TIME) {
+                firstUtc = Math.min(firstUtc, line.utcMillis);
+                lastUtc = Math.max(lastUtc, line.utcMillis);
+            }
+            for (int i = 0; i < SENSORS; i++) {
+                double value = line.values[i];
+                if (!Double.isNaN(value)) {
+                    min[i] = Math.min(min[i], value);
+                    max[i] = Math.max(max[i], value);
+                    addCompensated(i, value);
+                    count[i]++;
+                }
+            }
+            double degrees = line.windDegrees;
+            if (degrees >= 0 && degrees <= 360) {
+                // Sector i is centred on i * 22.5 degrees
+                wind[(int) ((degrees + CompassPoint.SECTOR_DEGREES / 2) / CompassPoint.SECTOR_DEGREES) % CompassPoint.COUNT]++;
+            }
+        }
+
+        SolSamples merge(SolSamples other) {
+            firstUtc = Math.min(firstUtc, other.firstUtc);
+            lastUtc = Math.max(lastUtc, other.lastUtc);
+            for (int i = 0; i < SENSORS; i++) {
+                min[i] = Math.min(min[i], other.min[i]);
+                max[i] = Math.max(max[i], other.max[i]);
+                addCompensated(i, other.sum[i]);
+                compensation[i] += other.compensation[i];
+                count[i] += other.count[i];
+            }
+            for (int i = 0; i < wind.length; i++) {
+                wind[i] += other.wind[i];
+            }
+            return this;
+        }
+
+        private void addCompensated(int i, double value) {
+            double total = sum[i] + value;
+            compensation[i] += Math.abs(sum[i]) >= Math.abs(value) ? (sum[i] - total) + value : (value - total) + sum[i];
+            sum[i] = total;
+        }
+
+        SolReport report() {
+            SolReport.Builder builder = SolReport.builder(sol);
+            if (firstUtc <= lastUtc) {
+                builder.firstUtcMillis(firstUtc).lastUtcMillis(lastUtc);
+            }
+            for (Sensor sensor : Sensor.values()) {
+                int i = sensor.ordinal();
+                if (count[i] > 0) {
+                    builder.sensor(sensor, min[i], (sum[i] + compensation[i]) / count[i], max[i], count[i]);
+                }
+            }
+            for (CompassPoint point : CompassPoint.values()) {
+                builder.windCount(point, wind[point.ordinal()]);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example;
+
+public enum Sensor {
+    PRE("Pressure (PRE)", "Pa"),
+    AT("Temperature (AT)", "°C"),
+    HWS("Wind Speed (HWS)", "m/s");
+
+    private final String label;
+    private final String unit;
+
+    Sensor(String label, String unit) {
+        this.label = label;
+        this.unit = unit;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public String unit() {
+        return unit;
+    }
+}
@@ -0,0 +1,312 @@
+package org.example;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+/**
+ * Renders PNG snapshots of many sols without a display: the weather view as {@link WeatherDisplay} shows it,
+ * and the {@link WindRosePanel} on its own.
+ * <p>
+ * Each render thread owns a {@link WeatherPanel} and a pair of images per kind, and rebinds the panel for
+ * every sol it takes, so nothing is rebuilt or reallocated per sol. Painted images go to a separate pool of
+ * encoder threads and come back once written; while one image is being encoded the render thread paints the
+ * other. Each encoder thread keeps its own {@link PngEncoder}. Swing components are only thread confined
+ * here, never shared, which is what makes painting them off the EDT safe.
+ *
+ * <pre>
+ * --archive FILE    or the feed via --api-key / NASA_API_KEY
+ * --sols SPEC       e.g. "all", "259,261", "250-300" (default all)
+ * --out DIR         output directory (default snapshots)
+ * --images KIND     dashboard, windrose or both (default both)
+ * --threads N       render threads (default one per core)
+ * --encoders N      PNG encoder threads (default one per core)
+ * --png-level N     deflate level 0-9 (default 6)
+ * </pre>
+ */
+public final class SnapshotRenderer {
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 700;
+    // Images per kind and render thread: one being painted while the other is encoded
+    private static final int IMAGES_PER_THREAD = 2;
+
+    private final Config config;
+
+    public SnapshotRenderer(Config config) {
+        this.config = config;
+    }
+
+    /** {@code pngLevel} is the deflate level; 1 encodes about twice as fast as 6 and writes about a quarter more bytes. */
+    public record Config(Path outDir, boolean dashboard, boolean windRose, int renderThreads, int encoderThreads, int pngLevel) {
+        public static Config defaults(Path outDir) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            return new Config(outDir, true, true, cores, cores, Deflater.DEFAULT_COMPRESSION);
+        }
+    }
+
+    public record Result(int images, List<String> failures, Duration elapsed, long pngBytes) {
+        public double imagesPerSecond() {
+            return images / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        try {
+            Map<String, String> options = HeadlessExport.parseOptions(args);
+            String solSpec = HeadlessExport.option(options, "sols", "INSIGHT_SOLS", "all");
+            String apiKey = HeadlessExport.option(options, "api-key", "NASA_API_KEY", "DEMO_KEY");
+            String archive = options.get("archive");
+            List<SolReport> reports = archive != null
+                    ? HeadlessExport.loadArchive(Path.of(archive), solSpec)
+                    : HeadlessExport.loadFeed(apiKey.equals("demo") ? "DEMO_KEY" : apiKey, solSpec);
+
+            Config defaults = Config.defaults(Path.of(options.getOrDefault("out", "snapshots")));
+            String images = options.getOrDefault("images", "both");
+            if (!images.equals("both") && !images.equals("dashboard") && !images.equals("windrose")) {
+                throw new IllegalArgumentException("Unknown image kind: " + images + " (expected dashboard, windrose or both)");
+            }
+            Config config = new Config(defaults.outDir(), !images.equals("windrose"), !images.equals("dashboard"),
+                    Integer.parseInt(options.getOrDefault("threads", Integer.toString(defaults.renderThreads()))),
+                    Integer.parseInt(options.getOrDefault("encoders", Integer.toString(defaults.encoderThreads()))),
+                    Integer.parseInt(options.getOrDefault("png-level", Integer.toString(defaults.pngLevel()))));
+
+            Result result = new SnapshotRenderer(config).render(reports);
+            result.failures().forEach(System.err::println);
+            System.err.printf("rendered %d images for %d sols in %d ms, %.1f images/s, %d KB of PNG (%d render, %d encoder threads)%n",
+                    result.images(), reports.size(), result.elapsed().toMillis(), result.imagesPerSecond(),
+                    result.pngBytes() / 1024, config.renderThreads(), config.encoderThreads());
+            System.exit(result.failures().isEmpty() ? 0 : 1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (IOException | InterruptedException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public Result render(List<SolReport> reports) throws IOException, InterruptedException {
+        if (config.renderThreads() < 1 || config.encoderThreads() < 1) {
+            throw new IllegalArgumentException("Render and encoder thread counts must be at least 1");
+        }
+        if (config.pngLevel() < Deflater.DEFAULT_COMPRESSION || config.pngLevel() > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("PNG level must be between 0 and 9, got " + config.pngLevel());
+        }
+        Files.createDirectories(config.outDir());
+        WeatherDisplay.applyDarkTheme();
+
+        long start = System.nanoTime();
+        List<String> failures = new CopyOnWriteArrayList<>();
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger images = new AtomicInteger();
+        AtomicLong pngBytes = new AtomicLong();
+        BlockingQueue<Job> encodeQueue = new ArrayBlockingQueue<>(config.renderThreads() * IMAGES_PER_THREAD * 2);
+
+        try (ExecutorService encoders = Executors.newFixedThreadPool(config.encoderThreads(), named("insight-encode"))) {
+            for (int i = 0; i < config.encoderThreads(); i++) {
+                encoders.execute(() -> encodeAll(encodeQueue, config.pngLevel(), images, pngBytes, failures));
+            }
+            try (ExecutorService renderers = Executors.newFixedThreadPool(config.renderThreads(), named("insight-render"))) {
+                for (int i = 0; i < config.renderThreads(); i++) {
+                    renderers.execute(() -> renderAll(reports, next, encodeQueue, failures));
+                }
+            }
+            for (int i = 0; i < config.encoderThreads(); i++) {
+                encodeQueue.put(Job.END);
+            }
+        }
+        return new Result(images.get(), List.copyOf(failures), Duration.ofNanos(System.nanoTime() - start), pngBytes.get());
+    }
+
+    private void renderAll(List<SolReport> reports, AtomicInteger next, BlockingQueue<Job> encodeQueue, List<String> failures) {
+        int index = next.getAndIncrement();
+        if (index >= reports.size()) {
+            return;
+        }
+        Canvas canvas = new Canvas(reports.get(index));
+        try {
+            for (; index < reports.size(); index = next.getAndIncrement()) {
+                SolReport report = reports.get(index);
+                try {
+                    if (config.dashboard()) {
+                        Frame frame = canvas.dashboards.take();
+                        paint(frame, () -> canvas.paintDashboard(report, frame));
+                        encodeQueue.put(new Job(frame, config.outDir().resolve(fileName(report.sol(), ""))));
+                    }
+                    if (config.windRose()) {
+                        Frame frame = canvas.windRoses.take();
+                        paint(frame, () -> canvas.paintWindRose(report, frame));
+                        encodeQueue.put(new Job(frame, config.outDir().resolve(fileName(report.sol(), "-windrose"))));
+                    }
+                } catch (RuntimeException e) {
+                    failures.add("sol " + report.sol() + ": " + e);
+                }
+            }
+            // Wait for this thread's images to come back so none is disposed while still being encoded
+            canvas.awaitEncoded();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            canvas.dispose();
+        }
+    }
+
+    private static void paint(Frame frame, Runnable painter) {
+        try (Metrics.Span ignored = Metrics.start("render.paint")) {
+            painter.run();
+        } catch (RuntimeException e) {
+            frame.release();
+            throw e;
+        }
+    }
+
+    private static void encodeAll(BlockingQueue<Job> encodeQueue, int pngLevel, AtomicInteger images, AtomicLong pngBytes, List<String> failures) {
+        try (PngEncoder encoder = new PngEncoder(pngLevel)) {
+            for (Job job = encodeQueue.take(); job != Job.END; job = encodeQueue.take()) {
+                try (Metrics.Span ignored = Metrics.start("render.encode");
+                     OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.file()), 64 * 1024)) {
+                    encoder.write(job.frame().image, out);
+                } catch (IOException | RuntimeException e) {
+                    failures.add(job.file() + ": " + e.getMessage());
+                    job.frame().release();
+                    continue;
+                }
+                job.frame().release();
+                images.incrementAndGet();
+                Metrics.count("images_rendered", 1);
+                try {
+                    pngBytes.addAndGet(Files.size(job.file()));
+                } catch (IOException ignored) {}
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // validate() does nothing without a native peer, so lay the tree out directly
+    static void layOut(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container nested) {
+                layOut(nested);
+            }
+        }
+    }
+
+    static String fileName(int sol, String suffix) {
+        return String.format("sol-%04d%s.png", sol, suffix);
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Job(Frame frame, Path file) {
+        static final Job END = new Job(null, null);
+    }
+
+    /** A reusable image with its graphics context, returned to its render thread's pool once encoded. */
+    private static final class Frame {
+        final BufferedImage image;
+        final Graphics2D graphics;
+        final BlockingQueue<Frame> pool;
+
+        Frame(int width, int height, BlockingQueue<Frame> pool) {
+            // Opaque RGB: the view has a solid background, and PNG encodes it faster without an alpha channel
+            this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            this.graphics = image.createGraphics();
+            this.pool = pool;
+        }
+
+        void release() {
+            pool.add(this);
+        }
+    }
+
+    /** One render thread's panel and images. */
+    private static final class Canvas {
+        final WeatherPanel panel;
+        final BlockingQueue<Frame> dashboards = new ArrayBlockingQueue<>(IMAGES_PER_THREAD);
+        final BlockingQueue<Frame> windRoses = new ArrayBlockingQueue<>(IMAGES_PER_THREAD);
+
+        Canvas(SolReport first) {
+            panel = new WeatherPanel(first);
+            Dimension size = panel.getPreferredSize();
+            panel.setSize(Math.max(size.width, WIDTH), Math.max(size.height, HEIGHT));
+            layOut(panel);
+            WindRosePanel windRose = panel.windRose();
+            for (int i = 0; i < IMAGES_PER_THREAD; i++) {
+                dashboards.add(new Frame(panel.getWidth(), panel.getHeight(), dashboards));
+                windRoses.add(new Frame(windRose.getWidth(), windRose.getHeight(), windRoses));
+            }
+        }
+
+        void paintDashboard(SolReport report, Frame frame) {
+            bind(report);
+            frame.graphics.setColor(WeatherPanel.BACKGROUND_COLOR);
+            frame.graphics.fillRect(0, 0, frame.image.getWidth(), frame.image.getHeight());
+            panel.paint(frame.graphics);
+        }
+
+        void paintWindRose(SolReport report, Frame frame) {
+            bind(report);
+            frame.graphics.setColor(WeatherPanel.PANEL_BACKGROUND);
+            frame.graphics.fillRect(0, 0, frame.image.getWidth(), frame.image.getHeight());
+            panel.windRose().paint(frame.graphics);
+        }
+
+        private void bind(SolReport report) {
+            if (report.equals(panel.report())) {
+                return;
+            }
+            panel.bind(report);
+            // A sol with a different set of sensors changes the layout
+            layOut(panel);
+        }
+
+        void awaitEncoded() throws InterruptedException {
+            for (BlockingQueue<Frame> pool : List.of(dashboards, windRoses)) {
+                Frame[] frames = new Frame[IMAGES_PER_THREAD];
+                for (int i = 0; i < frames.length; i++) {
+                    frames[i] = pool.take();
+                }
+                for (Frame frame : frames) {
+                    pool.add(frame);
+                }
+            }
+        }
+
+        void dispose() {
+            for (BlockingQueue<Frame> pool : List.of(dashboards, windRoses)) {
+                for (Frame frame : pool) {
+                    frame.graphics.dispose();
+                }
+            }
+        }
+    }
+}
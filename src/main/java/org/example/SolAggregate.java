@@ -0,0 +1,209 @@
+package org.example;
+
+/**
+ * Mergeable summary of any number of sols: per-sensor {@link SensorStats} and the summed wind-direction
+ * histogram. Folding in a sol is O(1), and summaries built over separate partitions combine with
+ * {@link #merge} into the same result as folding every sol into one.
+ */
+public final class SolAggregate {
+    private final SensorStats[] sensors = new SensorStats[Sensor.values().length];
+    private final double[] windCounts = new double[CompassPoint.COUNT];
+    private int sols;
+
+    public SolAggregate() {
+        for (int i = 0; i < sensors.length; i++) {
+            sensors[i] = new SensorStats();
+        }
+    }
+
+    public SolAggregate copy() {
+        SolAggregate copy = new SolAggregate();
+        copy.merge(this);
+        return copy;
+    }
+
+    public void add(SolReport report) {
+        sols++;
+        for (Sensor sensor : Sensor.values()) {
+            sensors[sensor.ordinal()].add(report, sensor);
+        }
+        for (int i = 0; i < windCounts.length; i++) {
+            windCounts[i] += report.windCount(i);
+        }
+    }
+
+    /**
+     * Takes a sol added earlier back out. Everything but the per-sensor min and max is updated exactly; those
+     * two cannot be undone in O(1), so {@link RollingWindow} tracks them itself.
+     */
+    public void remove(SolReport report) {
+        sols--;
+        for (Sensor sensor : Sensor.values()) {
+            sensors[sensor.ordinal()].remove(report, sensor);
+        }
+        for (int i = 0; i < windCounts.length; i++) {
+            windCounts[i] -= report.windCount(i);
+        }
+    }
+
+    public void merge(SolAggregate other) {
+        sols += other.sols;
+        for (int i = 0; i < sensors.length; i++) {
+            sensors[i].merge(other.sensors[i]);
+        }
+        for (int i = 0; i < windCounts.length; i++) {
+            windCounts[i] += other.windCounts[i];
+        }
+    }
+
+    public int sols() {
+        return sols;
+    }
+
+    public SensorStats sensor(Sensor sensor) {
+        return sensors[sensor.ordinal()];
+    }
+
+    public double windCount(CompassPoint point) {
+        return windCounts[point.ordinal()];
+    }
+
+    /** The compass point with the most wind samples, or null when no wind was recorded. */
+    public CompassPoint prevailingWind() {
+        int best = -1;
+        for (int i = 0; i < windCounts.length; i++) {
+            if (windCounts[i] > 0 && (best < 0 || windCounts[i] > windCounts[best])) {
+                best = i;
+            }
+        }
+        return best >= 0 ? CompassPoint.of(best) : null;
+    }
+
+    /**
+     * One sensor across many sols. The count-weighted mean weights each sol's {@code av} by its {@code ct},
+     * so it equals the mean over every raw sample. Variance and quantiles are over the per-sol averages, with
+     * the variance kept by Welford's method and merged with Chan's formula so it stays numerically stable.
+     */
+    public static final class SensorStats {
+        private int sols;
+        private long samples;
+        private double weightedSum;
+        private double mean;
+        private double m2;
+        private double min = Double.NaN;
+        private double max = Double.NaN;
+        private final QuantileSketch averages = new QuantileSketch();
+
+        void add(SolReport report, Sensor sensor) {
+            if (!report.hasSensor(sensor)) {
+                return;
+            }
+            double average = report.average(sensor);
+            if (!Double.isNaN(average)) {
+                sols++;
+                double delta = average - mean;
+                mean += delta / sols;
+                m2 += delta * (average - mean);
+                averages.add(average);
+                int count = report.count(sensor);
+                if (count > 0) {
+                    samples += count;
+                    weightedSum += average * count;
+                }
+            }
+            min = lower(min, report.min(sensor));
+            max = higher(max, report.max(sensor));
+        }
+
+        void remove(SolReport report, Sensor sensor) {
+            double average = report.average(sensor);
+            if (!report.hasSensor(sensor) || Double.isNaN(average)) {
+                return;
+            }
+            if (sols <= 1) {
+                sols = 0;
+                mean = 0;
+                m2 = 0;
+            } else {
+                double previousMean = (sols * mean - average) / (sols - 1);
+                m2 = Math.max(0, m2 - (average - previousMean) * (average - mean));
+                mean = previousMean;
+                sols--;
+            }
+            averages.remove(average);
+            int count = report.count(sensor);
+            if (count > 0) {
+                samples -= count;
+                weightedSum -= average * count;
+            }
+        }
+
+        void merge(SensorStats other) {
+            if (other.sols > 0) {
+                int total = sols + other.sols;
+                double delta = other.mean - mean;
+                m2 += other.m2 + delta * delta * ((double) sols * other.sols / total);
+                mean += delta * other.sols / total;
+                sols = total;
+            }
+            samples += other.samples;
+            weightedSum += other.weightedSum;
+            min = lower(min, other.min);
+            max = higher(max, other.max);
+            averages.merge(other.averages);
+        }
+
+        /** Sols that reported an average for this sensor. */
+        public int sols() {
+            return sols;
+        }
+
+        /** Raw samples behind those averages, the sum of {@code ct}. */
+        public long samples() {
+            return samples;
+        }
+
+        public double weightedMean() {
+            return samples > 0 ? weightedSum / samples : Double.NaN;
+        }
+
+        public double mean() {
+            return sols > 0 ? mean : Double.NaN;
+        }
+
+        public double variance() {
+            return sols > 1 ? m2 / (sols - 1) : Double.NaN;
+        }
+
+        public double standardDeviation() {
+            return Math.sqrt(variance());
+        }
+
+        public double min() {
+            return min;
+        }
+
+        public double max() {
+            return max;
+        }
+
+        /** Quantile of the per-sol averages, within {@link QuantileSketch#DEFAULT_ACCURACY}. */
+        public double quantile(double q) {
+            return averages.quantile(q);
+        }
+
+        void setRange(double min, double max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        // NaN-ignoring min and max
+        private static double lower(double current, double value) {
+            return Double.isNaN(current) || value < current ? value : current;
+        }
+
+        private static double higher(double current, double value) {
+            return Double.isNaN(current) || value > current ? value : current;
+        }
+    }
+}
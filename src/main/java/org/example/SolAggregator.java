@@ -0,0 +1,69 @@
+package org.example;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+
+/**
+ * Folds sols into an overall {@link SolAggregate}, one per Martian season (from both the {@code Season} and
+ * {@code Northern_season} fields) and a {@link RollingWindow} over the last sols. Each {@link #add} is O(1)
+ * amortized; aggregators built over separate partitions combine with {@link #merge}, which is what
+ * {@link #collector} uses for parallel streams.
+ */
+public final class SolAggregator {
+    private final SolAggregate total = new SolAggregate();
+    private final Map<String, SolAggregate> bySeason = new TreeMap<>();
+    private final Map<String, SolAggregate> byNorthernSeason = new TreeMap<>();
+    private RollingWindow recent;
+
+    public SolAggregator(int windowSize) {
+        this.recent = new RollingWindow(windowSize);
+    }
+
+    public static Collector<SolReport, ?, SolAggregator> collector(int windowSize) {
+        return Collector.of(() -> new SolAggregator(windowSize), SolAggregator::add, SolAggregator::merge);
+    }
+
+    public void add(SolReport report) {
+        total.add(report);
+        if (report.season() != null) {
+            bySeason.computeIfAbsent(report.season(), season -> new SolAggregate()).add(report);
+        }
+        if (report.northernSeason() != null) {
+            byNorthernSeason.computeIfAbsent(report.northernSeason(), season -> new SolAggregate()).add(report);
+        }
+        recent.add(report);
+    }
+
+    /** Folds {@code other} into this aggregator and returns this one. */
+    public SolAggregator merge(SolAggregator other) {
+        total.merge(other.total);
+        mergeSeasons(bySeason, other.bySeason);
+        mergeSeasons(byNorthernSeason, other.byNorthernSeason);
+        recent = recent.merge(other.recent);
+        return this;
+    }
+
+    private static void mergeSeasons(Map<String, SolAggregate> into, Map<String, SolAggregate> from) {
+        from.forEach((season, aggregate) -> into.computeIfAbsent(season, s -> new SolAggregate()).merge(aggregate));
+    }
+
+    public SolAggregate total() {
+        return total;
+    }
+
+    /** Aggregates keyed by the {@code Season} field, in name order. */
+    public Map<String, SolAggregate> bySeason() {
+        return Collections.unmodifiableMap(bySeason);
+    }
+
+    /** Aggregates keyed by the {@code Northern_season} field, in name order. */
+    public Map<String, SolAggregate> byNorthernSeason() {
+        return Collections.unmodifiableMap(byNorthernSeason);
+    }
+
+    public RollingWindow recent() {
+        return recent;
+    }
+}
@@ -0,0 +1,256 @@
+package org.example;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only archive of historical sols in a fixed-width binary layout, opened through {@link FileChannel#map}
+ * so that listing and looking up sols never touches JSON.
+ *
+ * <pre>
+ * header   magic "INSA", version, record count, record size, season name table
+ * index    int sol number per record, ascending
+ * records  RECORD_SIZE bytes each, same order as the index
+ * </pre>
+ */
+public final class SolArchive implements AutoCloseable {
+    private static final int MAGIC = 0x494E5341; // "INSA"
+    private static final int VERSION = 1;
+    private static final int NO_SEASON = 0xFF;
+
+    // Record layout
+    private static final int OFF_SOL = 0;
+    private static final int OFF_FIRST_UTC = 4;
+    private static final int OFF_LAST_UTC = 12;
+    private static final int OFF_SENSORS = 20;
+    private static final int SENSOR_SIZE = 3 * Double.BYTES + Integer.BYTES;
+    private static final int OFF_WIND = OFF_SENSORS + Sensor.values().length * SENSOR_SIZE;
+    private static final int OFF_SENSOR_MASK = OFF_WIND + CompassPoint.COUNT * Integer.BYTES;
+    private static final int OFF_SEASONS = OFF_SENSOR_MASK + 1;
+    static final int RECORD_SIZE = 176;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final String[] seasonNames;
+    private final int indexOffset;
+    private final int recordsOffset;
+
+    private SolArchive(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a sol archive (version " + VERSION + ")");
+        }
+        this.count = buffer.getInt(8);
+        if (buffer.getInt(12) != RECORD_SIZE) {
+            throw new IOException("Unexpected sol archive record size " + buffer.getInt(12));
+        }
+
+        int position = 16;
+        int seasonCount = buffer.get(position++) & 0xFF;
+        this.seasonNames = new String[seasonCount];
+        for (int i = 0; i < seasonCount; i++) {
+            int length = buffer.getShort(position) & 0xFFFF;
+            position += 2;
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            seasonNames[i] = new String(bytes, StandardCharsets.UTF_8).intern();
+            position += length;
+        }
+        this.indexOffset = align(position);
+        this.recordsOffset = align(indexOffset + count * Integer.BYTES);
+    }
+
+    public static SolArchive open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SolArchive(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Sol number of the record at {@code index}; indices are in ascending sol order. */
+    public int solAt(int index) {
+        return buffer.getInt(indexOffset + index * Integer.BYTES);
+    }
+
+    /** Index of the record for {@code sol}, or a negative value if the archive does not contain it. */
+    public int indexOf(int sol) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midSol = solAt(mid);
+            if (midSol < sol) {
+                low = mid + 1;
+            } else if (midSol > sol) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    public Optional<SolReport> find(int sol) {
+        int index = indexOf(sol);
+        return index >= 0 ? Optional.of(get(index)) : Optional.empty();
+    }
+
+    public SolReport get(int index) {
+        int base = recordsOffset + index * RECORD_SIZE;
+        SolReport.Builder builder = SolReport.builder(buffer.getInt(base + OFF_SOL))
+                .firstUtcMillis(buffer.getLong(base + OFF_FIRST_UTC))
+                .lastUtcMillis(buffer.getLong(base + OFF_LAST_UTC));
+
+        int sensorMask = buffer.get(base + OFF_SENSOR_MASK);
+        for (Sensor sensor : Sensor.values()) {
+            if ((sensorMask & (1 << sensor.ordinal())) != 0) {
+                int offset = base + OFF_SENSORS + sensor.ordinal() * SENSOR_SIZE;
+                builder.sensor(sensor,
+                        buffer.getDouble(offset),
+                        buffer.getDouble(offset + 8),
+                        buffer.getDouble(offset + 16),
+                        buffer.getInt(offset + 24));
+            }
+        }
+        for (int i = 0; i < CompassPoint.COUNT; i++) {
+            builder.windCount(CompassPoint.of(i), buffer.getInt(base + OFF_WIND + i * Integer.BYTES));
+        }
+
+        builder.season(seasonName(buffer.get(base + OFF_SEASONS)));
+        builder.northernSeason(seasonName(buffer.get(base + OFF_SEASONS + 1)));
+        builder.southernSeason(seasonName(buffer.get(base + OFF_SEASONS + 2)));
+        return builder.build();
+    }
+
+    private String seasonName(byte code) {
+        int index = code & 0xFF;
+        return index == NO_SEASON ? null : seasonNames[index];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** Writes the reports as an archive, sorted by sol. A later report for the same sol replaces an earlier one. */
+    public static void write(Path path, Collection<SolReport> reports) throws IOException {
+        Map<Integer, SolReport> bySol = new LinkedHashMap<>();
+        for (SolReport report : reports) {
+            bySol.put(report.sol(), report);
+        }
+        List<SolReport> sorted = new ArrayList<>(bySol.values());
+        sorted.sort(Comparator.comparingInt(SolReport::sol));
+
+        List<String> seasons = new ArrayList<>();
+        for (SolReport report : sorted) {
+            addSeason(seasons, report.season());
+            addSeason(seasons, report.northernSeason());
+            addSeason(seasons, report.southernSeason());
+        }
+        if (seasons.size() >= NO_SEASON) {
+            throw new IOException("Too many distinct season names for a sol archive: " + seasons.size());
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.size());
+            out.writeInt(RECORD_SIZE);
+            out.writeByte(seasons.size());
+            for (String season : seasons) {
+                byte[] bytes = season.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            pad(out);
+
+            for (SolReport report : sorted) {
+                out.writeInt(report.sol());
+            }
+            pad(out);
+
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            for (SolReport report : sorted) {
+                record.clear();
+                encode(record, report, seasons);
+                out.write(record.array());
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void encode(ByteBuffer record, SolReport report, List<String> seasons) {
+        record.putInt(OFF_SOL, report.sol());
+        record.putLong(OFF_FIRST_UTC, report.firstUtcMillis());
+        record.putLong(OFF_LAST_UTC, report.lastUtcMillis());
+
+        int sensorMask = 0;
+        for (Sensor sensor : Sensor.values()) {
+            int offset = OFF_SENSORS + sensor.ordinal() * SENSOR_SIZE;
+            record.putDouble(offset, report.min(sensor));
+            record.putDouble(offset + 8, report.average(sensor));
+            record.putDouble(offset + 16, report.max(sensor));
+            record.putInt(offset + 24, report.count(sensor));
+            if (report.hasSensor(sensor)) {
+                sensorMask |= 1 << sensor.ordinal();
+            }
+        }
+        for (int i = 0; i < CompassPoint.COUNT; i++) {
+            record.putInt(OFF_WIND + i * Integer.BYTES, (int) Math.round(report.windCount(i)));
+        }
+        record.put(OFF_SENSOR_MASK, (byte) sensorMask);
+        record.put(OFF_SEASONS, seasonCode(seasons, report.season()));
+        record.put(OFF_SEASONS + 1, seasonCode(seasons, report.northernSeason()));
+        record.put(OFF_SEASONS + 2, seasonCode(seasons, report.southernSeason()));
+    }
+
+    private static void addSeason(List<String> seasons, String season) {
+        if (season != null && !seasons.contains(season)) {
+            seasons.add(season);
+        }
+    }
+
+    private static byte seasonCode(List<String> seasons, String season) {
+        return (byte) (season == null ? NO_SEASON : seasons.indexOf(season));
+    }
+
+    private static void pad(DataOutputStream out) throws IOException {
+        while (out.size() % 8 != 0) {
+            out.writeByte(0);
+        }
+    }
+
+    private static int align(int position) {
+        return (position + 7) & ~7;
+    }
+}
@@ -0,0 +1,219 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * On-disk cache of InSight sols, one directory per API endpoint and one file per sol. A cached sol is served
+ * as-is until a fresh feed carries a different report for it, which happens while NASA is still adding hours
+ * to the newest sols; the feed itself is revalidated with its ETag/Last-Modified validators. The total number
+ * of cached sols is bounded and the least recently used ones are evicted.
+ */
+public final class SolCache {
+    public static final int DEFAULT_MAX_SOLS = 5000;
+
+    private static final String META_FILE = "meta.properties";
+    private static final String FEED_FILE = "feed.json";
+    private static final String SOLS_DIR = "sols";
+
+    private final Path root;
+    private final int maxSols;
+
+    public SolCache(Path root, int maxSols) {
+        this.root = root;
+        this.maxSols = maxSols;
+    }
+
+    /** Opens the cache under {@code insight.cache.dir} (default ~/.nasa-insight/cache) bounded by {@code insight.cache.maxSols}. */
+    public static SolCache openDefault() {
+        Path dir = Path.of(System.getProperty("insight.cache.dir",
+                Path.of(System.getProperty("user.home"), ".nasa-insight", "cache").toString()));
+        return new SolCache(dir, Integer.getInteger("insight.cache.maxSols", DEFAULT_MAX_SOLS));
+    }
+
+    public record Entry(InsightFeed feed, String etag, String lastModified, long fetchedAtMillis, boolean complete) {
+    }
+
+    /**
+     * Loads the cached feed for an endpoint. {@link Entry#complete()} is false when some sol listed in the
+     * validity checks has been evicted, in which case the caller should not trust a 304 for it.
+     */
+    public Optional<Entry> load(String endpoint) throws IOException {
+        Path dir = endpointDir(endpoint);
+        Path metaFile = dir.resolve(META_FILE);
+        Path feedFile = dir.resolve(FEED_FILE);
+        if (!Files.exists(metaFile) || !Files.exists(feedFile)) {
+            return Optional.empty();
+        }
+
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaFile)) {
+            meta.load(in);
+        }
+        InsightFeed index;
+        try (InputStream in = Files.newInputStream(feedFile)) {
+            index = InsightFeedParser.parse(in);
+        }
+
+        Map<String, SolReport> sols = new LinkedHashMap<>();
+        boolean complete = true;
+        for (String solKey : index.solKeys()) {
+            Path solFile = solFile(dir, solKey);
+            if (!Files.exists(solFile)) {
+                complete = false;
+                continue;
+            }
+            try (InputStream in = Files.newInputStream(solFile)) {
+                SolReport report = InsightFeedParser.parse(in).sols().get(solKey);
+                if (report != null) {
+                    sols.put(solKey, report);
+                    Files.setLastModifiedTime(solFile, FileTime.fromMillis(System.currentTimeMillis()));
+                } else {
+                    complete = false;
+                }
+            }
+        }
+
+        InsightFeed feed = new InsightFeed(index.solKeys(), sols, index.validityChecks());
+        return Optional.of(new Entry(feed,
+                meta.getProperty("etag"),
+                meta.getProperty("lastModified"),
+                Long.parseLong(meta.getProperty("fetchedAt", "0")),
+                complete));
+    }
+
+    // The cached report, or null if there is none or it cannot be read
+    private static SolReport readSol(Path solFile, int sol) {
+        if (!Files.exists(solFile)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(solFile)) {
+            return InsightFeedParser.parse(in).sols().get(Integer.toString(sol));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public boolean contains(String endpoint, String solKey) {
+        return Files.exists(solFile(endpointDir(endpoint), solKey));
+    }
+
+    /**
+     * Stores the feed index and validators, writing sols that are not cached yet or whose cached report differs
+     * from the feed's. Returns the number of sols written.
+     */
+    public int store(String endpoint, InsightFeed feed, String etag, String lastModified) throws IOException {
+        Path dir = endpointDir(endpoint);
+        Files.createDirectories(dir.resolve(SOLS_DIR));
+
+        int written = 0;
+        for (SolReport report : feed.sols().values()) {
+            Path solFile = solFile(dir, Integer.toString(report.sol()));
+            if (!report.equals(readSol(solFile, report.sol()))) {
+                writeAtomically(solFile, out -> InsightFeedWriter.write(out, List.of(report), null));
+                written++;
+            }
+        }
+
+        // The index keeps the feed's sol_keys so load() knows which sol files belong to it
+        writeAtomically(dir.resolve(FEED_FILE), out -> InsightFeedWriter.writeIndex(out, feed.solKeys(), feed.validityChecks()));
+
+        Properties meta = new Properties();
+        if (etag != null) meta.setProperty("etag", etag);
+        if (lastModified != null) meta.setProperty("lastModified", lastModified);
+        meta.setProperty("fetchedAt", Long.toString(System.currentTimeMillis()));
+        writeAtomically(dir.resolve(META_FILE), out -> meta.store(out, endpoint));
+
+        evictIfNeeded();
+        return written;
+    }
+
+    /** Marks the cached feed as freshly revalidated (after a 304). */
+    public void touch(String endpoint) throws IOException {
+        Path metaFile = endpointDir(endpoint).resolve(META_FILE);
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaFile)) {
+            meta.load(in);
+        }
+        meta.setProperty("fetchedAt", Long.toString(System.currentTimeMillis()));
+        writeAtomically(metaFile, out -> meta.store(out, endpoint));
+    }
+
+    private void evictIfNeeded() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> solFiles = new ArrayList<>();
+        try (DirectoryStream<Path> endpoints = Files.newDirectoryStream(root)) {
+            for (Path endpointDir : endpoints) {
+                Path solsDir = endpointDir.resolve(SOLS_DIR);
+                if (!Files.isDirectory(solsDir)) continue;
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(solsDir, "*.json")) {
+                    files.forEach(solFiles::add);
+                }
+            }
+        }
+        if (solFiles.size() <= maxSols) {
+            return;
+        }
+
+        solFiles.sort(Comparator.comparing(SolCache::lastModified));
+        for (int i = 0; i < solFiles.size() - maxSols; i++) {
+            Files.deleteIfExists(solFiles.get(i));
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path endpointDir(String endpoint) {
+        return root.resolve(endpointKey(endpoint));
+    }
+
+    private static Path solFile(Path endpointDir, String solKey) {
+        return endpointDir.resolve(SOLS_DIR).resolve(solKey + ".json");
+    }
+
+    static String endpointKey(String endpoint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(endpoint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static void writeAtomically(Path target, Writer writer) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            writer.write(out);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
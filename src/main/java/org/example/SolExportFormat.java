@@ -0,0 +1,270 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output formats for headless export. Sols are written one at a time through a {@link Sink}, so an export never
+ * holds more than the current sol; {@link Sink#finish} flushes and leaves the stream open.
+ */
+public enum SolExportFormat {
+    CSV {
+        @Override
+        public Sink open(OutputStream out) throws IOException {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writer.write("sol,first_utc,last_utc,season,northern_season,southern_season");
+            for (Sensor sensor : Sensor.values()) {
+                writer.write("," + sensor.name() + "_mn," + sensor.name() + "_av," + sensor.name() + "_mx," + sensor.name() + "_ct");
+            }
+            for (CompassPoint point : CompassPoint.values()) {
+                writer.write(",WD_" + point.name());
+            }
+            writer.write('\n');
+
+            StringBuilder row = new StringBuilder(256);
+            return new Sink() {
+                @Override
+                public void write(SolReport report) throws IOException {
+                    row.setLength(0);
+                    row.append(report.sol())
+                            .append(',').append(utc(report.firstUtcMillis()))
+                            .append(',').append(utc(report.lastUtcMillis()))
+                            .append(',').append(text(report.season()))
+                            .append(',').append(text(report.northernSeason()))
+                            .append(',').append(text(report.southernSeason()));
+                    for (Sensor sensor : Sensor.values()) {
+                        row.append(',').append(number(report.min(sensor)))
+                                .append(',').append(number(report.average(sensor)))
+                                .append(',').append(number(report.max(sensor)))
+                                .append(',').append(report.count(sensor) >= 0 ? Integer.toString(report.count(sensor)) : "");
+                    }
+                    for (int i = 0; i < CompassPoint.COUNT; i++) {
+                        row.append(',').append((long) report.windCount(i));
+                    }
+                    row.append('\n');
+                    writer.append(row);
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+    },
+
+    JSONL {
+        @Override
+        public Sink open(OutputStream out) throws IOException {
+            JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            return new Sink() {
+                @Override
+                public void write(SolReport report) throws IOException {
+                    generator.writeStartObject();
+                    generator.writeNumberField("sol", report.sol());
+                    InsightFeedWriter.writeSolFields(generator, report);
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    generator.close();
+                }
+            };
+        }
+    },
+
+    /**
+     * Column-major binary layout: a header, then each column's values stored contiguously. Season columns
+     * are dictionary encoded. The header carries the row count, so rows are packed into fixed-width binary records
+     * and written out column by column by {@link Sink#finish}.
+     *
+     * <pre>
+     * "INSC" int version, int rows, int columns
+     * per column: UTF name, byte type (I int, L long, D double, S dictionary string), values
+     * </pre>
+     */
+    COLUMNAR {
+        @Override
+        public Sink open(OutputStream out) {
+            return new ColumnarSink(out);
+        }
+    };
+
+    /** Receives the exported sols in order. */
+    public interface Sink {
+        void write(SolReport report) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public abstract Sink open(OutputStream out) throws IOException;
+
+    public void write(List<SolReport> reports, OutputStream out) throws IOException {
+        Sink sink = open(out);
+        for (SolReport report : reports) {
+            sink.write(report);
+        }
+        sink.finish();
+    }
+
+    public static SolExportFormat parse(String name) {
+        return switch (name.toLowerCase()) {
+            case "csv" -> CSV;
+            case "jsonl", "json-lines", "ndjson" -> JSONL;
+            case "columnar", "col" -> COLUMNAR;
+            default -> throw new IllegalArgumentException("Unknown export format: " + name + " (expected csv, jsonl or columnar)");
+        };
+    }
+
+    private static String utc(long epochMillis) {
+        return epochMillis == SolReport.NO_TIME ? "" : Instant.ofEpochMilli(epochMillis).toString();
+    }
+
+    private static String text(String value) {
+        if (value == null) return "";
+        return value.indexOf(',') >= 0 || value.indexOf('"') >= 0 ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static String number(double value) {
+        return Double.isNaN(value) ? "" : Double.toString(value);
+    }
+
+    private static void beginColumn(DataOutputStream data, String name, char type) throws IOException {
+        data.writeUTF(name);
+        data.writeByte(type);
+    }
+
+    /** Packs each sol into a fixed-width record in chunks that never grow or copy, then writes them column by column. */
+    private static final class ColumnarSink implements Sink {
+        private static final int ROWS_PER_CHUNK = 1024;
+
+        private final OutputStream out;
+        private final List<String> names = new ArrayList<>();
+        private final List<Character> types = new ArrayList<>();
+        private final List<Integer> offsets = new ArrayList<>();
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        // One dictionary per season column, in column order
+        private final List<List<String>> dictionaries = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        private int rowSize;
+        private int rows;
+
+        ColumnarSink(OutputStream out) {
+            this.out = out;
+            column("sol", 'I');
+            column("first_utc", 'L');
+            column("last_utc", 'L');
+            column("season", 'S');
+            column("northern_season", 'S');
+            column("southern_season", 'S');
+            for (Sensor sensor : Sensor.values()) {
+                column(sensor.name() + "_mn", 'D');
+                column(sensor.name() + "_av", 'D');
+                column(sensor.name() + "_mx", 'D');
+                column(sensor.name() + "_ct", 'I');
+            }
+            for (CompassPoint point : CompassPoint.values()) {
+                column("WD_" + point.name(), 'D');
+            }
+        }
+
+        private void column(String name, char type) {
+            names.add(name);
+            types.add(type);
+            offsets.add(rowSize);
+            rowSize += switch (type) {
+                case 'I' -> Integer.BYTES;
+                case 'S' -> 1;
+                default -> Long.BYTES;
+            };
+        }
+
+        // Fields in the same order as the columns
+        @Override
+        public void write(SolReport report) {
+            if (rows % ROWS_PER_CHUNK == 0) {
+                chunks.add(ByteBuffer.allocate(ROWS_PER_CHUNK * rowSize));
+            }
+            ByteBuffer row = chunks.get(chunks.size() - 1);
+            row.putInt(report.sol())
+                    .putLong(report.firstUtcMillis())
+                    .putLong(report.lastUtcMillis())
+                    .put(seasonCode(0, report.season()))
+                    .put(seasonCode(1, report.northernSeason()))
+                    .put(seasonCode(2, report.southernSeason()));
+            for (Sensor sensor : Sensor.values()) {
+                row.putDouble(report.min(sensor))
+                        .putDouble(report.average(sensor))
+                        .putDouble(report.max(sensor))
+                        .putInt(report.count(sensor));
+            }
+            for (CompassPoint point : CompassPoint.values()) {
+                row.putDouble(report.windCount(point));
+            }
+            rows++;
+        }
+
+        private byte seasonCode(int field, String value) {
+            if (value == null) {
+                return -1;
+            }
+            List<String> dictionary = dictionaries.get(field);
+            int code = dictionary.indexOf(value);
+            if (code < 0) {
+                code = dictionary.size();
+                dictionary.add(value);
+            }
+            return (byte) code;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+            data.writeInt(0x494E5343); // "INSC"
+            data.writeInt(1);
+            data.writeInt(rows);
+            data.writeInt(names.size());
+            int seasonField = 0;
+            for (int column = 0; column < names.size(); column++) {
+                char type = types.get(column);
+                beginColumn(data, names.get(column), type);
+                if (type == 'S') {
+                    List<String> dictionary = dictionaries.get(seasonField++);
+                    data.writeByte(dictionary.size());
+                    for (String value : dictionary) {
+                        data.writeUTF(value);
+                    }
+                }
+                int offset = offsets.get(column);
+                for (int row = 0; row < rows; row++) {
+                    ByteBuffer chunk = chunks.get(row / ROWS_PER_CHUNK);
+                    int at = (row % ROWS_PER_CHUNK) * rowSize + offset;
+                    switch (type) {
+                        case 'I' -> data.writeInt(chunk.getInt(at));
+                        case 'L' -> data.writeLong(chunk.getLong(at));
+                        case 'D' -> data.writeDouble(chunk.getDouble(at));
+                        default -> data.writeByte(chunk.get(at));
+                    }
+                }
+            }
+            data.flush();
+        }
+    }
+}
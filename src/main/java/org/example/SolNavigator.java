@@ -0,0 +1,148 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * The ordered sols a {@link WeatherDisplay} can step through, with {@link PreparedSol}s for the ones around the
+ * current position built on a background thread. Stepping to a neighbour then only rebinds labels on the EDT;
+ * jumping further away prepares that sol inline, once.
+ * <p>
+ * Reports come from memory or lazily from a {@link SolArchive}, which is read and formatted off the EDT.
+ */
+final class SolNavigator implements AutoCloseable {
+    static final int PREFETCH_RADIUS = 3;
+    private static final int CACHE_SIZE = 4 * PREFETCH_RADIUS + 1;
+    static final String PREFETCH_HITS = "prefetch{result=\"hit\"}";
+    static final String PREFETCH_MISSES = "prefetch{result=\"miss\"}";
+
+    private final int[] sols;
+    private final IntFunction<SolReport> source;
+    private final AutoCloseable owner;
+    private final Map<Integer, PreparedSol> prepared = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, PreparedSol> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "insight-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Prefetch tasks queued for an earlier position skip the work once the user has moved on
+    private volatile int focus = -1;
+
+    private SolNavigator(int[] sols, IntFunction<SolReport> source, AutoCloseable owner) {
+        this.sols = sols;
+        this.source = source;
+        this.owner = owner;
+    }
+
+    static SolNavigator of(List<SolReport> reports) {
+        SolReport[] sorted = reports.toArray(new SolReport[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(SolReport::sol));
+        int[] sols = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sols[i] = sorted[i].sol();
+        }
+        return new SolNavigator(sols, index -> sorted[index], null);
+    }
+
+    static SolNavigator of(SolSeries series) {
+        int[] sols = new int[series.size()];
+        for (int i = 0; i < sols.length; i++) {
+            sols[i] = series.sol(i);
+        }
+        return new SolNavigator(sols, series::report, null);
+    }
+
+    /** Reads sols from {@code archive} on demand and closes it together with the navigator. */
+    static SolNavigator of(SolArchive archive) {
+        int[] sols = new int[archive.size()];
+        for (int i = 0; i < sols.length; i++) {
+            sols[i] = archive.solAt(i);
+        }
+        return new SolNavigator(sols, archive::get, archive);
+    }
+
+    int size() {
+        return sols.length;
+    }
+
+    int sol(int index) {
+        return sols[index];
+    }
+
+    /** Index of {@code sol}, or a negative value if it is not one of the navigable sols. */
+    int indexOf(int sol) {
+        return Arrays.binarySearch(sols, sol);
+    }
+
+    /** The prepared sol at {@code index}, from the prefetch cache when the background thread got there first. */
+    PreparedSol get(int index) {
+        PreparedSol sol;
+        synchronized (prepared) {
+            sol = prepared.get(index);
+        }
+        if (sol != null) {
+            Metrics.count(PREFETCH_HITS, 1);
+            return sol;
+        }
+        Metrics.count(PREFETCH_MISSES, 1);
+        return prepare(index);
+    }
+
+    /** Queues the sols within {@link #PREFETCH_RADIUS} of {@code index}, nearest first. */
+    void prefetchAround(int index) {
+        focus = index;
+        for (int distance = 1; distance <= PREFETCH_RADIUS; distance++) {
+            for (int neighbour : new int[] {index + distance, index - distance}) {
+                if (neighbour < 0 || neighbour >= sols.length) {
+                    continue;
+                }
+                prefetcher.execute(() -> {
+                    if (Math.abs(neighbour - focus) > PREFETCH_RADIUS) {
+                        return;
+                    }
+                    synchronized (prepared) {
+                        if (prepared.containsKey(neighbour)) {
+                            return;
+                        }
+                    }
+                    try (Metrics.Span ignored = Metrics.start("view.prefetch")) {
+                        prepare(neighbour);
+                    } catch (RuntimeException e) {
+                        System.err.println("Prefetch of sol " + sols[neighbour] + " failed: " + e.getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    private PreparedSol prepare(int index) {
+        PreparedSol sol = PreparedSol.of(source.apply(index));
+        synchronized (prepared) {
+            prepared.put(index, sol);
+        }
+        return sol;
+    }
+
+    @Override
+    public void close() {
+        prefetcher.shutdownNow();
+        if (owner != null) {
+            try {
+                owner.close();
+            } catch (Exception e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable weather summary for one sol. Sensor statistics are kept as primitive fields and the wind
+ * histogram as a fixed array indexed by {@link CompassPoint#ordinal()}, so thousands of sols can be
+ * held in memory without boxed values or JSON trees.
+ */
+public final class SolReport {
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private final int sol;
+    private final long firstUtcMillis;
+    private final long lastUtcMillis;
+    private final String season;
+    private final String northernSeason;
+    private final String southernSeason;
+
+    private final double preMin;
+    private final double preAvg;
+    private final double preMax;
+    private final int preCount;
+    private final double atMin;
+    private final double atAvg;
+    private final double atMax;
+    private final int atCount;
+    private final double hwsMin;
+    private final double hwsAvg;
+    private final double hwsMax;
+    private final int hwsCount;
+    private final int sensorMask;
+
+    private final double[] windCounts;
+    private final double maxWindCount;
+
+    private SolReport(Builder builder) {
+        this.sol = builder.sol;
+        this.firstUtcMillis = builder.firstUtcMillis;
+        this.lastUtcMillis = builder.lastUtcMillis;
+        this.season = builder.season;
+        this.northernSeason = builder.northernSeason;
+        this.southernSeason = builder.southernSeason;
+        this.preMin = builder.stats[0];
+        this.preAvg = builder.stats[1];
+        this.preMax = builder.stats[2];
+        this.preCount = builder.counts[0];
+        this.atMin = builder.stats[3];
+        this.atAvg = builder.stats[4];
+        this.atMax = builder.stats[5];
+        this.atCount = builder.counts[1];
+        this.hwsMin = builder.stats[6];
+        this.hwsAvg = builder.stats[7];
+        this.hwsMax = builder.stats[8];
+        this.hwsCount = builder.counts[2];
+        this.sensorMask = builder.sensorMask;
+        this.windCounts = builder.windCounts.clone();
+
+        double max = 0.0;
+        for (double count : windCounts) {
+            max = Math.max(max, count);
+        }
+        this.maxWindCount = max;
+    }
+
+    public static Builder builder(int sol) {
+        return new Builder(sol);
+    }
+
+    public int sol() {
+        return sol;
+    }
+
+    public long firstUtcMillis() {
+        return firstUtcMillis;
+    }
+
+    public long lastUtcMillis() {
+        return lastUtcMillis;
+    }
+
+    public String season() {
+        return season;
+    }
+
+    public String northernSeason() {
+        return northernSeason;
+    }
+
+    public String southernSeason() {
+        return southernSeason;
+    }
+
+    public boolean hasSensor(Sensor sensor) {
+        return (sensorMask & (1 << sensor.ordinal())) != 0;
+    }
+
+    /** Minimum reading for the sensor, NaN when the feed did not report one. */
+    public double min(Sensor sensor) {
+        return switch (sensor) {
+            case PRE -> preMin;
+            case AT -> atMin;
+            case HWS -> hwsMin;
+        };
+    }
+
+    public double average(Sensor sensor) {
+        return switch (sensor) {
+            case PRE -> preAvg;
+            case AT -> atAvg;
+            case HWS -> hwsAvg;
+        };
+    }
+
+    public double max(Sensor sensor) {
+        return switch (sensor) {
+            case PRE -> preMax;
+            case AT -> atMax;
+            case HWS -> hwsMax;
+        };
+    }
+
+    /** Number of samples behind the sensor statistics, -1 when the feed did not report one. */
+    public int count(Sensor sensor) {
+        return switch (sensor) {
+            case PRE -> preCount;
+            case AT -> atCount;
+            case HWS -> hwsCount;
+        };
+    }
+
+    public double windCount(CompassPoint point) {
+        return windCounts[point.ordinal()];
+    }
+
+    public double windCount(int compassOrdinal) {
+        return windCounts[compassOrdinal];
+    }
+
+    public double maxWindCount() {
+        return maxWindCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SolReport other)) return false;
+        return sol == other.sol
+                && firstUtcMillis == other.firstUtcMillis
+                && lastUtcMillis == other.lastUtcMillis
+                && sensorMask == other.sensorMask
+                && Double.compare(preMin, other.preMin) == 0
+                && Double.compare(preAvg, other.preAvg) == 0
+                && Double.compare(preMax, other.preMax) == 0
+                && preCount == other.preCount
+                && Double.compare(atMin, other.atMin) == 0
+                && Double.compare(atAvg, other.atAvg) == 0
+                && Double.compare(atMax, other.atMax) == 0
+                && atCount == other.atCount
+                && Double.compare(hwsMin, other.hwsMin) == 0
+                && Double.compare(hwsAvg, other.hwsAvg) == 0
+                && Double.compare(hwsMax, other.hwsMax) == 0
+                && hwsCount == other.hwsCount
+                && Objects.equals(season, other.season)
+                && Objects.equals(northernSeason, other.northernSeason)
+                && Objects.equals(southernSeason, other.southernSeason)
+                && Arrays.equals(windCounts, other.windCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Integer.hashCode(sol);
+        result = 31 * result + Long.hashCode(firstUtcMillis);
+        result = 31 * result + Double.hashCode(preAvg);
+        result = 31 * result + Double.hashCode(atAvg);
+        result = 31 * result + Double.hashCode(hwsAvg);
+        result = 31 * result + Arrays.hashCode(windCounts);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SolReport[sol=" + sol + ", season=" + season + ", PRE=" + preAvg + ", AT=" + atAvg + ", HWS=" + hwsAvg + "]";
+    }
+
+    public static final class Builder {
+        private final int sol;
+        private long firstUtcMillis = NO_TIME;
+        private long lastUtcMillis = NO_TIME;
+        private String season;
+        private String northernSeason;
+        private String southernSeason;
+        private final double[] stats = new double[9];
+        private final int[] counts = {-1, -1, -1};
+        private int sensorMask;
+        private final double[] windCounts = new double[CompassPoint.COUNT];
+
+        private Builder(int sol) {
+            this.sol = sol;
+            Arrays.fill(stats, Double.NaN);
+        }
+
+        public Builder firstUtcMillis(long firstUtcMillis) {
+            this.firstUtcMillis = firstUtcMillis;
+            return this;
+        }
+
+        public Builder lastUtcMillis(long lastUtcMillis) {
+            this.lastUtcMillis = lastUtcMillis;
+            return this;
+        }
+
+        // Season names repeat across every sol, so keep a single shared copy of each
+        public Builder season(String season) {
+            this.season = season != null ? season.intern() : null;
+            return this;
+        }
+
+        public Builder northernSeason(String northernSeason) {
+            this.northernSeason = northernSeason != null ? northernSeason.intern() : null;
+            return this;
+        }
+
+        public Builder southernSeason(String southernSeason) {
+            this.southernSeason = southernSeason != null ? southernSeason.intern() : null;
+            return this;
+        }
+
+        public Builder sensor(Sensor sensor, double min, double average, double max, int count) {
+            int base = sensor.ordinal() * 3;
+            stats[base] = min;
+            stats[base + 1] = average;
+            stats[base + 2] = max;
+            counts[sensor.ordinal()] = count;
+            sensorMask |= 1 << sensor.ordinal();
+            return this;
+        }
+
+        public Builder windCount(CompassPoint point, double count) {
+            windCounts[point.ordinal()] = count;
+            return this;
+        }
+
+        public SolReport build() {
+            return new SolReport(this);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Column-oriented in-memory store for many sols: one primitive array per report field, all indexed by the
+ * position of the sol in the ascending {@link #sol(int)} column. Trend plots read these arrays through
+ * {@link #decimate}, which reduces any number of sols to one min/max pair per pixel column; no
+ * {@link SolReport} is kept, {@link #report(int)} builds one from the columns when a sol is opened.
+ */
+public final class SolSeries {
+    private static final byte NO_SEASON = -1;
+
+    private final int[] sols;
+    private final long[] firstUtcs;
+    private final long[] lastUtcs;
+    // Codes into seasonNames for the season, northern season and southern season columns
+    private final byte[][] seasons;
+    private final List<String> seasonNames = new ArrayList<>();
+    private final byte[] sensorMasks;
+    // [sensor ordinal][index]
+    private final double[][] mins;
+    private final double[][] averages;
+    private final double[][] maxes;
+    private final int[][] counts;
+    // [compass ordinal][index]
+    private final double[][] windCounts;
+    // Smallest min and largest max per sensor, NaN when the sensor never reported
+    private final double[] lowest;
+    private final double[] highest;
+
+    private SolSeries(SolReport[] reports) {
+        int size = reports.length;
+        int sensors = Sensor.values().length;
+        this.sols = new int[size];
+        this.firstUtcs = new long[size];
+        this.lastUtcs = new long[size];
+        this.seasons = new byte[3][size];
+        this.sensorMasks = new byte[size];
+        this.windCounts = new double[CompassPoint.COUNT][size];
+        this.mins = new double[sensors][size];
+        this.averages = new double[sensors][size];
+        this.maxes = new double[sensors][size];
+        this.counts = new int[sensors][size];
+        this.lowest = new double[sensors];
+        this.highest = new double[sensors];
+        Arrays.fill(lowest, Double.NaN);
+        Arrays.fill(highest, Double.NaN);
+
+        for (int i = 0; i < size; i++) {
+            SolReport report = reports[i];
+            sols[i] = report.sol();
+            firstUtcs[i] = report.firstUtcMillis();
+            lastUtcs[i] = report.lastUtcMillis();
+            seasons[0][i] = seasonCode(report.season());
+            seasons[1][i] = seasonCode(report.northernSeason());
+            seasons[2][i] = seasonCode(report.southernSeason());
+            for (int c = 0; c < CompassPoint.COUNT; c++) {
+                windCounts[c][i] = report.windCount(c);
+            }
+            for (Sensor sensor : Sensor.values()) {
+                int s = sensor.ordinal();
+                if (report.hasSensor(sensor)) {
+                    sensorMasks[i] |= (byte) (1 << s);
+                }
+                mins[s][i] = report.min(sensor);
+                averages[s][i] = report.average(sensor);
+                maxes[s][i] = report.max(sensor);
+                counts[s][i] = report.count(sensor);
+                lowest[s] = lower(lowest[s], lower(mins[s][i], averages[s][i]));
+                highest[s] = higher(highest[s], higher(maxes[s][i], averages[s][i]));
+            }
+        }
+    }
+
+    private byte seasonCode(String season) {
+        if (season == null) {
+            return NO_SEASON;
+        }
+        int code = seasonNames.indexOf(season);
+        if (code < 0) {
+            if (seasonNames.size() == Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many distinct season names for a sol series");
+            }
+            code = seasonNames.size();
+            seasonNames.add(season);
+        }
+        return (byte) code;
+    }
+
+    /** Builds the columns from {@code reports} in sol order; a sol that appears twice keeps its last report. */
+    public static SolSeries of(Collection<SolReport> reports) {
+        SolReport[] sorted = reports.toArray(new SolReport[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(SolReport::sol));
+        int size = 0;
+        for (SolReport report : sorted) {
+            if (size > 0 && sorted[size - 1].sol() == report.sol()) {
+                sorted[size - 1] = report;
+            } else {
+                sorted[size++] = report;
+            }
+        }
+        return new SolSeries(Arrays.copyOf(sorted, size));
+    }
+
+    public int size() {
+        return sols.length;
+    }
+
+    public int sol(int index) {
+        return sols[index];
+    }
+
+    public int firstSol() {
+        return sols[0];
+    }
+
+    public int lastSol() {
+        return sols[sols.length - 1];
+    }
+
+    /** Binary search over the sol column, with the same contract as {@link Arrays#binarySearch(int[], int)}. */
+    public int indexOf(int sol) {
+        return Arrays.binarySearch(sols, sol);
+    }
+
+    /** Index of the stored sol closest to {@code sol}, or -1 when the series is empty. */
+    public int nearestIndex(int sol) {
+        if (sols.length == 0) {
+            return -1;
+        }
+        int index = indexOf(sol);
+        if (index >= 0) {
+            return index;
+        }
+        int after = -(index + 1);
+        if (after == 0) return 0;
+        if (after == sols.length) return sols.length - 1;
+        return sol - sols[after - 1] <= sols[after] - sol ? after - 1 : after;
+    }
+
+    /** A new report equal to the one stored at {@code index}, rebuilt from the columns. */
+    public SolReport report(int index) {
+        SolReport.Builder builder = SolReport.builder(sols[index])
+                .firstUtcMillis(firstUtcs[index])
+                .lastUtcMillis(lastUtcs[index])
+                .season(seasonName(seasons[0][index]))
+                .northernSeason(seasonName(seasons[1][index]))
+                .southernSeason(seasonName(seasons[2][index]));
+        for (Sensor sensor : Sensor.values()) {
+            int s = sensor.ordinal();
+            if ((sensorMasks[index] & (1 << s)) != 0) {
+                builder.sensor(sensor, mins[s][index], averages[s][index], maxes[s][index], counts[s][index]);
+            }
+        }
+        for (CompassPoint point : CompassPoint.values()) {
+            builder.windCount(point, windCounts[point.ordinal()][index]);
+        }
+        return builder.build();
+    }
+
+    private String seasonName(byte code) {
+        return code == NO_SEASON ? null : seasonNames.get(code);
+    }
+
+    public double min(Sensor sensor, int index) {
+        return mins[sensor.ordinal()][index];
+    }
+
+    public double average(Sensor sensor, int index) {
+        return averages[sensor.ordinal()][index];
+    }
+
+    public double max(Sensor sensor, int index) {
+        return maxes[sensor.ordinal()][index];
+    }
+
+    public int count(Sensor sensor, int index) {
+        return counts[sensor.ordinal()][index];
+    }
+
+    public double lowest(Sensor sensor) {
+        return lowest[sensor.ordinal()];
+    }
+
+    public double highest(Sensor sensor) {
+        return highest[sensor.ordinal()];
+    }
+
+    /**
+     * Reduces the sols in {@code [fromSol, toSol]} to {@code out.columns()} pixel columns. For every column
+     * it keeps the lowest min and highest max (the daily range) and the lowest and highest average, so
+     * spikes survive however many sols share a pixel. When there are more columns than sols, each sol fills
+     * its own run of columns and the average runs straight from one sol's centre to the next. Columns are
+     * NaN only where sol numbers are missing. Runs in one pass over the selected sols and reuses the arrays
+     * in {@code out}.
+     */
+    public void decimate(Sensor sensor, int fromSol, int toSol, Decimation out) {
+        int columns = out.columns();
+        Arrays.fill(out.rangeLow, 0, columns, Double.NaN);
+        Arrays.fill(out.rangeHigh, 0, columns, Double.NaN);
+        Arrays.fill(out.averageLow, 0, columns, Double.NaN);
+        Arrays.fill(out.averageHigh, 0, columns, Double.NaN);
+        if (columns == 0 || toSol < fromSol) {
+            return;
+        }
+
+        int s = sensor.ordinal();
+        long span = (long) toSol - fromSol + 1;
+        int from = indexOf(fromSol);
+        if (span < columns) {
+            spread(s, from >= 0 ? from : -(from + 1), fromSol, toSol, span, out);
+            return;
+        }
+        for (int i = from >= 0 ? from : -(from + 1); i < sols.length && sols[i] <= toSol; i++) {
+            int column = (int) ((sols[i] - (long) fromSol) * columns / span);
+            out.rangeLow[column] = lower(out.rangeLow[column], mins[s][i]);
+            out.rangeHigh[column] = higher(out.rangeHigh[column], maxes[s][i]);
+            out.averageLow[column] = lower(out.averageLow[column], averages[s][i]);
+            out.averageHigh[column] = higher(out.averageHigh[column], averages[s][i]);
+        }
+    }
+
+    // Fewer sols than columns: sol i covers columns [start, end) and the average is interpolated between the
+    // centres of consecutive sols, so only a skipped sol number leaves NaN columns
+    private void spread(int s, int first, int fromSol, int toSol, long span, Decimation out) {
+        int columns = out.columns();
+        int previousSol = 0;
+        int previousCentre = -1;
+        double previousAverage = Double.NaN;
+        for (int i = first; i < sols.length && sols[i] <= toSol; i++) {
+            int start = (int) ((sols[i] - (long) fromSol) * columns / span);
+            int end = (int) ((sols[i] - (long) fromSol + 1) * columns / span);
+            int centre = (start + end - 1) / 2;
+            double average = averages[s][i];
+            Arrays.fill(out.rangeLow, start, end, mins[s][i]);
+            Arrays.fill(out.rangeHigh, start, end, maxes[s][i]);
+            Arrays.fill(out.averageLow, start, end, average);
+            Arrays.fill(out.averageHigh, start, end, average);
+            if (previousCentre >= 0 && sols[i] == previousSol + 1
+                    && !Double.isNaN(previousAverage) && !Double.isNaN(average)) {
+                for (int column = previousCentre + 1; column < centre; column++) {
+                    double value = previousAverage
+                            + (average - previousAverage) * (column - previousCentre) / (centre - previousCentre);
+                    out.averageLow[column] = value;
+                    out.averageHigh[column] = value;
+                }
+            }
+            previousSol = sols[i];
+            previousCentre = centre;
+            previousAverage = average;
+        }
+    }
+
+    // NaN-ignoring min and max
+    private static double lower(double current, double value) {
+        return Double.isNaN(current) || value < current ? value : current;
+    }
+
+    private static double higher(double current, double value) {
+        return Double.isNaN(current) || value > current ? value : current;
+    }
+
+    /** Reusable per-pixel-column output of {@link #decimate}. */
+    public static final class Decimation {
+        private final double[] rangeLow;
+        private final double[] rangeHigh;
+        private final double[] averageLow;
+        private final double[] averageHigh;
+
+        public Decimation(int columns) {
+            rangeLow = new double[columns];
+            rangeHigh = new double[columns];
+            averageLow = new double[columns];
+            averageHigh = new double[columns];
+        }
+
+        public int columns() {
+            return rangeLow.length;
+        }
+
+        public double rangeLow(int column) {
+            return rangeLow[column];
+        }
+
+        public double rangeHigh(int column) {
+            return rangeHigh[column];
+        }
+
+        public double averageLow(int column) {
+            return averageLow[column];
+        }
+
+        public double averageHigh(int column) {
+            return averageHigh[column];
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Read-only HTTP service for validated sols, so many local clients share one upstream fetch. The feed (or an
+ * archive) is loaded and validated once, and every response is serialized up front into a {@link Resource}:
+ * the JSON bytes, their gzip form and a strong ETag. Requests are served from those bytes on virtual threads.
+ *
+ * <pre>
+ * GET /sols                  every valid sol in the InSight feed layout, readable by InsightFeedParser
+ * GET /sols/{n}              one sol
+ * GET /sols/{n}/windrose     the sol's wind direction counts
+ * </pre>
+ *
+ * Responses honour {@code If-None-Match}, {@code Accept-Encoding: gzip} and single {@code Range} requests.
+ * With a refresh interval the feed is reloaded in the background (a conditional request, usually a 304) and
+ * the new resources replace the old ones in one step.
+ */
+public final class SolServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 8080;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+    private static final String JSON = "application/json";
+
+    private final HttpServer server;
+    private final Source source;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "insight-serve-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Resources resources;
+
+    /** Where the sols come from; called once at start and again on every refresh. */
+    @FunctionalInterface
+    public interface Source {
+        InsightFeed load() throws IOException;
+    }
+
+    private SolServer(HttpServer server, Source source, Resources resources) {
+        this.server = server;
+        this.source = source;
+        this.resources = resources;
+    }
+
+    /** Loads the sols, then starts serving them on {@code address}. */
+    public static SolServer start(InetSocketAddress address, Source source, Duration refreshInterval) throws IOException {
+        Resources resources = Resources.of(source.load());
+        disableNagle();
+        HttpServer server = HttpServer.create(address, 1024);
+        SolServer solServer = new SolServer(server, source, resources);
+        server.createContext("/sols", solServer::serve);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        if (refreshInterval != null && !refreshInterval.isZero()) {
+            solServer.refresher.scheduleWithFixedDelay(solServer::refresh,
+                    refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return solServer;
+    }
+
+    public static void main(String[] args) {
+        try {
+            Map<String, String> options = HeadlessExport.parseOptions(args);
+            String archive = options.get("archive");
+            String apiKey = HeadlessExport.option(options, "api-key", "NASA_API_KEY", "DEMO_KEY");
+            String key = apiKey.equals("demo") ? "DEMO_KEY" : apiKey;
+            Source source;
+            if (archive != null) {
+                source = () -> loadArchive(Path.of(archive));
+            } else {
+                FeedLoader loader = new FeedLoader(InsightApiClient.shared(), SolCache.openDefault(), FeedLoader.DEFAULT_BASE_URL, 0);
+                source = () -> loader.load(key);
+            }
+            InetAddress bind = InetAddress.getByName(options.getOrDefault("bind", "127.0.0.1"));
+            int port = Integer.parseInt(options.getOrDefault("port", Integer.toString(DEFAULT_PORT)));
+            Duration refresh = Duration.ofSeconds(Long.parseLong(options.getOrDefault("refresh",
+                    archive != null ? "0" : Long.toString(LiveDashboard.DEFAULT_POLL_INTERVAL.toSeconds()))));
+
+            SolServer server = start(new InetSocketAddress(bind, port), source, refresh);
+            System.err.println("Serving " + server.solCount() + " sols at http://" + bind.getHostAddress() + ":"
+                    + server.port() + "/sols");
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Makes JDK HTTP servers created from now on set TCP_NODELAY. Without it a response written as headers plus
+     * body waits on the client's delayed ACK, about 40 ms per request on a keep-alive connection. The JDK reads
+     * the property once, when its first server is created.
+     */
+    static void disableNagle() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    // Archives only ever contain sols that passed validation when they were built
+    private static InsightFeed loadArchive(Path path) throws IOException {
+        Map<String, SolReport> sols = new HashMap<>();
+        List<String> solKeys = new ArrayList<>();
+        try (SolArchive archive = SolArchive.open(path)) {
+            for (int i = 0; i < archive.size(); i++) {
+                SolReport report = archive.get(i);
+                String solKey = Integer.toString(report.sol());
+                solKeys.add(solKey);
+                sols.put(solKey, report);
+            }
+        }
+        return new InsightFeed(solKeys, sols, null);
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public int solCount() {
+        return resources.sols.size();
+    }
+
+    private void refresh() {
+        try {
+            resources = Resources.of(source.load());
+        } catch (IOException | RuntimeException e) {
+            // Keep serving the last good sols
+            System.err.println("Refresh failed: " + e.getMessage());
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange; Metrics.Span ignored = Metrics.start("serve")) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                send(exchange, 405, null, 0, 0);
+                return;
+            }
+            Resource resource = resources.find(exchange.getRequestURI().getPath());
+            if (resource == null) {
+                send(exchange, 404, null, 0, 0);
+                return;
+            }
+            respond(exchange, resource, method.equals("HEAD"));
+        }
+    }
+
+    private static void respond(HttpExchange exchange, Resource resource, boolean head) throws IOException {
+        Headers request = exchange.getRequestHeaders();
+        Headers response = exchange.getResponseHeaders();
+        response.set("Content-Type", resource.contentType);
+        response.set("ETag", resource.etag);
+        response.set("Last-Modified", resource.lastModified);
+        response.set("Cache-Control", "no-cache");
+        response.set("Accept-Ranges", "bytes");
+        response.set("Vary", "Accept-Encoding");
+
+        // Conditional request: the client's copy is current
+        if (matchesEtag(request.getFirst("If-None-Match"), resource.etag)) {
+            send(exchange, 304, null, 0, 0);
+            return;
+        }
+
+        // Ranges address the identity encoding, and an If-Range for another version asks for the whole body
+        String range = request.getFirst("Range");
+        String ifRange = request.getFirst("If-Range");
+        if (range != null && (ifRange == null || ifRange.equals(resource.etag))) {
+            long[] bounds = parseRange(range, resource.identity.length);
+            if (bounds == null) {
+                response.set("Content-Range", "bytes */" + resource.identity.length);
+                send(exchange, 416, null, 0, 0);
+                return;
+            }
+            if (bounds.length == 2) {
+                response.set("Content-Range", "bytes " + bounds[0] + "-" + bounds[1] + "/" + resource.identity.length);
+                send(exchange, 206, head ? null : resource.identity, (int) bounds[0], (int) (bounds[1] - bounds[0] + 1));
+                return;
+            }
+        }
+
+        if (resource.gzip != null && acceptsGzip(request.getFirst("Accept-Encoding"))) {
+            response.set("Content-Encoding", "gzip");
+            send(exchange, 200, head ? null : resource.gzip, 0, resource.gzip.length);
+        } else {
+            send(exchange, 200, head ? null : resource.identity, 0, resource.identity.length);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body, int offset, int length) throws IOException {
+        Metrics.count("http_responses{status=\"" + status + "\"}", 1);
+        if (body == null || length == 0) {
+            // HEAD and bodiless statuses still report the length the body would have
+            if (status == 200 || status == 206) {
+                exchange.getResponseHeaders().set("Content-Length", Integer.toString(length));
+            }
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body, offset, length);
+        }
+    }
+
+    static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.strip().split(";");
+            if (parts[0].strip().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].strip().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a single {@code bytes=} range against a body of {@code length} bytes: {@code {first, last}} when
+     * satisfiable, null when not, and an empty array for anything this server ignores (other units, several
+     * ranges, malformed values), which gets the full body as RFC 9110 allows.
+     */
+    static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = range.substring("bytes=".length()).strip();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            long first;
+            long last;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return null;
+                }
+                first = Math.max(0, length - suffix);
+                last = length - 1;
+            } else {
+                first = Long.parseLong(spec.substring(0, dash));
+                last = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+                if (last < first) {
+                    return first >= length ? null : new long[0];
+                }
+            }
+            return first < length ? new long[] {first, last} : null;
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+        server.stop(0);
+    }
+
+    /** One response body, serialized once: identity bytes, gzip bytes when smaller, and a strong ETag. */
+    private static final class Resource {
+        final String contentType;
+        final byte[] identity;
+        final byte[] gzip;
+        final String etag;
+        final String lastModified;
+
+        Resource(String contentType, byte[] identity, String lastModified) throws IOException {
+            this.contentType = contentType;
+            this.identity = identity;
+            byte[] compressed = gzip(identity);
+            this.gzip = compressed.length < identity.length ? compressed : null;
+            this.etag = "\"" + digest(identity) + "\"";
+            this.lastModified = lastModified;
+        }
+
+        private static byte[] gzip(byte[] bytes) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(bytes);
+            }
+            return out.toByteArray();
+        }
+
+        private static String digest(byte[] bytes) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+                return HexFormat.of().formatHex(hash, 0, 12);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /** Everything the server answers with for one load of the feed. Never modified once built. */
+    private static final class Resources {
+        final Resource index;
+        final Map<String, Resource> sols;
+        final Map<String, Resource> windRoses;
+
+        private Resources(Resource index, Map<String, Resource> sols, Map<String, Resource> windRoses) {
+            this.index = index;
+            this.sols = sols;
+            this.windRoses = windRoses;
+        }
+
+        static Resources of(InsightFeed feed) throws IOException {
+            String lastModified = HTTP_DATE.format(Instant.now());
+            List<SolReport> valid = new ArrayList<>();
+            List<String> solKeys = feed.validityChecks() != null
+                    ? SolValidator.getValidSolKeys(feed.validityChecks()) : feed.solKeys();
+            for (String solKey : solKeys) {
+                SolReport report = feed.sols().get(solKey);
+                if (report != null) {
+                    valid.add(report);
+                }
+            }
+
+            ByteArrayOutputStream index = new ByteArrayOutputStream(valid.size() * 512 + 256);
+            InsightFeedWriter.write(index, valid, feed.validityChecks());
+            Map<String, Resource> sols = new HashMap<>(valid.size() * 2);
+            Map<String, Resource> windRoses = new HashMap<>(valid.size() * 2);
+            for (SolReport report : valid) {
+                String path = "/sols/" + report.sol();
+                sols.put(path, new Resource(JSON, solJson(report), lastModified));
+                windRoses.put(path + "/windrose", new Resource(JSON, windRoseJson(report), lastModified));
+            }
+            return new Resources(new Resource(JSON, index.toByteArray(), lastModified), Map.copyOf(sols), Map.copyOf(windRoses));
+        }
+
+        Resource find(String path) {
+            if (path.endsWith("/") && path.length() > 1) {
+                path = path.substring(0, path.length() - 1);
+            }
+            if (path.equals("/sols")) {
+                return index;
+            }
+            Resource resource = sols.get(path);
+            return resource != null ? resource : windRoses.get(path);
+        }
+
+        private static byte[] solJson(SolReport report) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeNumberField("sol", report.sol());
+                InsightFeedWriter.writeSolFields(generator, report);
+                generator.writeEndObject();
+            }
+            return out.toByteArray();
+        }
+
+        private static byte[] windRoseJson(SolReport report) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeNumberField("sol", report.sol());
+                generator.writeArrayFieldStart("points");
+                for (CompassPoint point : CompassPoint.values()) {
+                    generator.writeStartObject();
+                    generator.writeStringField("compass_point", point.name());
+                    generator.writeNumberField("compass_degrees", point.degrees());
+                    generator.writeNumberField("ct", report.windCount(point));
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            return out.toByteArray();
+        }
+    }
+}
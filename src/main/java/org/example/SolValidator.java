@@ -0,0 +1,30 @@
+package org.example;
+
+import java.util.List;
+import java.util.Map;
+
+public final class SolValidator {
+
+    private SolValidator() {}
+
+    /** Keys of the sols that pass {@link ValidityPolicy#configured()}, in feed order. */
+    public static List<String> getValidSolKeys(ValidityChecks validityChecks) {
+        // Metadata fields (sol_hours_required, sols_checked) are already split out by the parser
+        try (Metrics.Span ignored = Metrics.start("validate")) {
+            return ValidityPolicy.configured().validSolKeys(validityChecks);
+        }
+    }
+
+    /** The default rule, {@link ValidityPolicy#DEFAULT}: every sensor reported for the sol is flagged valid. */
+    public static boolean isSolValid(Map<String, ValidityChecks.SensorValidity> solValidity) {
+        if (solValidity != null) {
+            for (ValidityChecks.SensorValidity sensorValidity : solValidity.values()) {
+                if (!sensorValidity.valid()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one timed {@link Metrics} stage, e.g. {@code jcmd <pid> JFR.start} and then look for
+ * {@code org.example.Stage} in the recording. Only created while a recording has the event enabled.
+ */
+@Name("org.example.Stage")
+@Label("InSight Stage")
+@Category("InSight")
+@Description("A fetch, parse, validate, cache, view or paint stage")
+@StackTrace(false)
+public final class StageEvent extends jdk.jfr.Event {
+    static final EventType TYPE = EventType.getEventType(StageEvent.class);
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the timing thread, -1 when unknown")
+    @DataAmount
+    long allocated;
+}
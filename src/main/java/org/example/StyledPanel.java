@@ -0,0 +1,99 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Panel with the rounded gradient background and soft glow border used throughout the weather view. The
+ * decoration only depends on the panel size, so it is rendered once per size into an image shared by every
+ * panel of that size; a repaint just draws that image.
+ */
+class StyledPanel extends JPanel {
+    private static final Color GLOW_COLOR = new Color(WeatherPanel.PRIMARY_COLOR.getRed(),
+            WeatherPanel.PRIMARY_COLOR.getGreen(),
+            WeatherPanel.PRIMARY_COLOR.getBlue(),
+            40);
+    private static final BasicStroke[] GLOW_STROKES = new BasicStroke[5];
+    private static final int MAX_CACHED_SIZES = 64;
+    private static final Metrics.Timer PAINT_TIMER = Metrics.timer("paint.styled");
+
+    static {
+        for (int i = 0; i < GLOW_STROKES.length; i++) {
+            GLOW_STROKES[i] = new BasicStroke(i + 1);
+        }
+    }
+
+    // Most recently used last; panels keep their own reference, so eviction never pulls an image from under a paint
+    private static final Map<Long, BufferedImage> DECORATIONS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_CACHED_SIZES;
+        }
+    };
+
+    private BufferedImage decoration;
+    private int decorationWidth = -1;
+    private int decorationHeight = -1;
+    private double decorationScale;
+
+    StyledPanel() {
+        setOpaque(false);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        double scale = configuration != null ? configuration.getDefaultTransform().getScaleX() : 1.0;
+        if (decoration == null || width != decorationWidth || height != decorationHeight || scale != decorationScale) {
+            decoration = decoration(width, height, scale);
+            decorationWidth = width;
+            decorationHeight = height;
+            decorationScale = scale;
+        }
+
+        g.drawImage(decoration, 0, 0, width, height, null);
+        PAINT_TIMER.record(System.nanoTime() - start);
+    }
+
+    private static BufferedImage decoration(int width, int height, double scale) {
+        long key = ((long) width << 40) | ((long) height << 16) | (Math.round(scale * 100) & 0xFFFF);
+        synchronized (DECORATIONS) {
+            return DECORATIONS.computeIfAbsent(key, k -> render(width, height, scale));
+        }
+    }
+
+    private static BufferedImage render(int width, int height, double scale) {
+        BufferedImage image = new BufferedImage((int) Math.ceil(width * scale), (int) Math.ceil(height * scale),
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.scale(scale, scale);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            g2d.setPaint(new GradientPaint(0, 0, WeatherPanel.PANEL_BACKGROUND, 0, height, WeatherPanel.BACKGROUND_COLOR));
+            g2d.fill(new RoundRectangle2D.Double(0, 0, width, height, 20, 20));
+
+            // Subtle border glow
+            g2d.setColor(GLOW_COLOR);
+            RoundRectangle2D.Double outline = new RoundRectangle2D.Double();
+            for (int i = 0; i < GLOW_STROKES.length; i++) {
+                g2d.setStroke(GLOW_STROKES[i]);
+                outline.setRoundRect(i, i, width - (2 * i), height - (2 * i), 20, 20);
+                g2d.draw(outline);
+            }
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+}
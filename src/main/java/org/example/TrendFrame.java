@@ -0,0 +1,34 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Window around a {@link TrendPanel}; clicking a sol shows it in a single, reused detail window, which can
+ * then step through the rest of the series itself.
+ */
+class TrendFrame extends JFrame {
+    private final SolSeries series;
+    private WeatherDisplay detail;
+
+    TrendFrame(SolSeries series) {
+        this.series = series;
+        setTitle("Mars Weather - Sols " + series.firstSol() + " to " + series.lastSol());
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        getContentPane().setBackground(WeatherPanel.BACKGROUND_COLOR);
+        add(new TrendPanel(series, this::showDetail), BorderLayout.CENTER);
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    private void showDetail(SolReport report) {
+        if (detail == null) {
+            detail = new WeatherDisplay(SolNavigator.of(series), series.indexOf(report.sol()));
+            detail.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+        } else {
+            detail.showSol(report);
+        }
+        detail.setVisible(true);
+        detail.toFront();
+    }
+}
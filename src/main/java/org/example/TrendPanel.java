@@ -0,0 +1,213 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+/**
+ * PRE, AT and HWS plotted over every sol of a {@link SolSeries}, one chart per sensor. Each chart draws the
+ * daily min/max range as a band and the average as a line, both from a per-pixel-column
+ * {@link SolSeries.Decimation}, so drawing costs O(width) however many sols are loaded. The charts are
+ * rendered into {@link #plotImage} whenever the size changes; a repaint draws that image and the selection
+ * marker. Clicking a chart passes the nearest sol's report to the listener.
+ */
+class TrendPanel extends JPanel {
+    private static final Color[] SENSOR_COLORS = {
+            new Color(0, 140, 255),   // PRE
+            new Color(255, 140, 0),   // AT
+            new Color(0, 200, 120)    // HWS
+    };
+    private static final Color[] BAND_COLORS = new Color[SENSOR_COLORS.length];
+    private static final Color SELECTION_COLOR = new Color(255, 255, 255, 90);
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font AXIS_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final int LEFT = 80;
+    private static final int RIGHT = 20;
+    private static final int TOP = 15;
+    private static final int BOTTOM = 30;
+    private static final int GAP = 20;
+
+    static {
+        for (int i = 0; i < SENSOR_COLORS.length; i++) {
+            Color color = SENSOR_COLORS[i];
+            BAND_COLORS[i] = new Color(color.getRed(), color.getGreen(), color.getBlue(), 70);
+        }
+    }
+
+    private final SolSeries series;
+    private final SolSeries.Decimation[] decimations = new SolSeries.Decimation[Sensor.values().length];
+    // Reused polyline buffers, two points per pixel column
+    private int[] xPoints = new int[0];
+    private int[] yPoints = new int[0];
+    private BufferedImage plotImage;
+    private double plotScale;
+    private int selectedSol = Integer.MIN_VALUE;
+
+    TrendPanel(SolSeries series, Consumer<SolReport> onSelect) {
+        this.series = series;
+        setBackground(WeatherPanel.BACKGROUND_COLOR);
+        setPreferredSize(new Dimension(1200, 700));
+        setToolTipText("");
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = indexAt(e.getX());
+                if (index >= 0) {
+                    selectedSol = series.sol(index);
+                    repaint();
+                    onSelect.accept(series.report(index));
+                }
+            }
+        });
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int index = indexAt(event.getX());
+        if (index < 0) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder("<html>Sol ").append(series.sol(index));
+        for (Sensor sensor : Sensor.values()) {
+            if (!Double.isNaN(series.average(sensor, index))) {
+                text.append(String.format("<br>%s: %.2f %s", sensor.label(), series.average(sensor, index), sensor.unit()));
+            }
+        }
+        return text.append("</html>").toString();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int width = getWidth() - LEFT - RIGHT;
+        int chartHeight = chartHeight();
+        if (series.size() == 0 || width <= 0 || chartHeight <= 0) {
+            return;
+        }
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        double scale = configuration != null ? configuration.getDefaultTransform().getScaleX() : 1.0;
+        if (plotImage == null || decimations[0].columns() != width || plotImage.getHeight() != (int) Math.ceil(getHeight() * scale)
+                || scale != plotScale) {
+            renderPlot(width, chartHeight, scale);
+        }
+        g.drawImage(plotImage, 0, 0, getWidth(), getHeight(), null);
+
+        if (selectedSol >= series.firstSol() && selectedSol <= series.lastSol()) {
+            g.setColor(SELECTION_COLOR);
+            int x = LEFT + columnOf(selectedSol, width);
+            g.drawLine(x, TOP, x, TOP + decimations.length * (chartHeight + GAP) - GAP);
+        }
+    }
+
+    private int chartHeight() {
+        return (getHeight() - TOP - BOTTOM - GAP * (decimations.length - 1)) / decimations.length;
+    }
+
+    private void renderPlot(int width, int chartHeight, double scale) {
+        if (decimations[0] == null || decimations[0].columns() != width) {
+            for (Sensor sensor : Sensor.values()) {
+                decimations[sensor.ordinal()] = new SolSeries.Decimation(width);
+                series.decimate(sensor, series.firstSol(), series.lastSol(), decimations[sensor.ordinal()]);
+            }
+            xPoints = new int[width * 2];
+            yPoints = new int[width * 2];
+        }
+        if (plotImage != null) {
+            plotImage.flush();
+        }
+        plotImage = new BufferedImage((int) Math.ceil(getWidth() * scale), (int) Math.ceil(getHeight() * scale),
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        plotScale = scale;
+
+        Graphics2D g2d = plotImage.createGraphics();
+        try {
+            g2d.scale(scale, scale);
+            for (Sensor sensor : Sensor.values()) {
+                int top = TOP + sensor.ordinal() * (chartHeight + GAP);
+                paintChart(g2d, sensor, top, width, chartHeight);
+            }
+
+            g2d.setFont(AXIS_FONT);
+            g2d.setColor(WeatherPanel.TEXT_COLOR);
+            int baseline = getHeight() - BOTTOM / 3;
+            g2d.drawString("Sol " + series.firstSol(), LEFT, baseline);
+            String last = "Sol " + series.lastSol();
+            g2d.drawString(last, LEFT + width - g2d.getFontMetrics().stringWidth(last), baseline);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    private void paintChart(Graphics2D g2d, Sensor sensor, int top, int width, int height) {
+        double low = series.lowest(sensor);
+        double high = series.highest(sensor);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setColor(WeatherPanel.PRIMARY_COLOR);
+        g2d.drawRect(LEFT, top, width, height);
+        g2d.setFont(TITLE_FONT);
+        g2d.setColor(WeatherPanel.TEXT_COLOR);
+        g2d.drawString(sensor.label(), LEFT + 8, top + 18);
+        if (Double.isNaN(low)) {
+            return;
+        }
+        if (high == low) {
+            high = low + 1;
+        }
+
+        g2d.setFont(AXIS_FONT);
+        g2d.drawString(String.format("%.1f %s", high, sensor.unit()), 5, top + 12);
+        g2d.drawString(String.format("%.1f %s", low, sensor.unit()), 5, top + height);
+
+        SolSeries.Decimation decimation = decimations[sensor.ordinal()];
+        double scale = (height - 1) / (high - low);
+        int bottom = top + height - 1;
+
+        // Daily min/max range, one pixel column at a time; a sol wider than a pixel fills all of its columns
+        g2d.setColor(BAND_COLORS[sensor.ordinal()]);
+        for (int column = 0; column < width; column++) {
+            double rangeLow = decimation.rangeLow(column);
+            double rangeHigh = decimation.rangeHigh(column);
+            if (!Double.isNaN(rangeLow) && !Double.isNaN(rangeHigh)) {
+                int y = bottom - (int) ((rangeHigh - low) * scale);
+                g2d.fillRect(LEFT + column, y, 1, bottom - (int) ((rangeLow - low) * scale) - y + 1);
+            }
+        }
+
+        // Average envelope, broken only where sols are missing
+        g2d.setColor(SENSOR_COLORS[sensor.ordinal()]);
+        int points = 0;
+        for (int column = 0; column <= width; column++) {
+            double averageLow = column < width ? decimation.averageLow(column) : Double.NaN;
+            if (Double.isNaN(averageLow)) {
+                if (points > 0) {
+                    g2d.drawPolyline(xPoints, yPoints, points);
+                    points = 0;
+                }
+                continue;
+            }
+            xPoints[points] = LEFT + column;
+            yPoints[points++] = bottom - (int) ((averageLow - low) * scale);
+            xPoints[points] = LEFT + column;
+            yPoints[points++] = bottom - (int) ((decimation.averageHigh(column) - low) * scale);
+        }
+    }
+
+    private int columnOf(int sol, int width) {
+        long span = (long) series.lastSol() - series.firstSol() + 1;
+        return (int) ((sol - (long) series.firstSol()) * width / span);
+    }
+
+    private int indexAt(int x) {
+        int width = getWidth() - LEFT - RIGHT;
+        if (series.size() == 0 || width <= 0 || x < LEFT || x >= LEFT + width) {
+            return -1;
+        }
+        long span = (long) series.lastSol() - series.firstSol() + 1;
+        int sol = (int) (series.firstSol() + (x - LEFT) * span / width);
+        return series.nearestIndex(sol);
+    }
+}
@@ -0,0 +1,290 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Validates a whole {@code validity_checks} block on a {@link ForkJoinPool}. The sols are split into ranges,
+ * each range fills its own bit sets indexed by sol number, and the halves are OR-ed together, so the result
+ * does not depend on how the work was split. A sol is valid exactly when the {@link ValidityPolicy} passes it;
+ * the per-sensor sets always follow each sensor's own {@code valid} flag.
+ */
+public final class ValidationEngine {
+    // Below this many sols a range is validated on the calling thread
+    private static final int SPLIT_THRESHOLD = 2048;
+
+    private ValidationEngine() {}
+
+    public enum Reason {
+        VALID,
+        /** The sensor reported {@code valid: false} with at least the required hours of data. */
+        FLAGGED_INVALID,
+        /** The sensor reported {@code valid: false} and fewer hours of data than {@code sol_hours_required}. */
+        TOO_FEW_HOURS
+    }
+
+    /** Why one sensor of one sol passed or failed, with the hours of data it reported. */
+    public record SensorVerdict(int sol, String sensor, Reason reason, int hoursWithData) {
+        public boolean valid() {
+            return reason == Reason.VALID;
+        }
+    }
+
+    /**
+     * Valid sols overall and per sensor as bit sets indexed by sol number. Per-sensor verdicts are derived on
+     * request, ordered by sol and then sensor name, so validating allocates no per-sensor objects and only
+     * callers that ask for verdicts or keys pay for sorting the sols.
+     */
+    public static final class Result {
+        private final BitSet valid;
+        private final SortedMap<String, BitSet> validBySensor;
+        private final List<Map.Entry<String, Map<String, ValidityChecks.SensorValidity>>> entries;
+        private final int solHoursRequired;
+        // Sorted (sol, entry position) pairs, built on first use
+        private long[] solIndex;
+
+        private Result(BitSet valid, SortedMap<String, BitSet> validBySensor,
+                       List<Map.Entry<String, Map<String, ValidityChecks.SensorValidity>>> entries, int solHoursRequired) {
+            this.valid = valid;
+            this.validBySensor = Collections.unmodifiableSortedMap(validBySensor);
+            this.entries = entries;
+            this.solHoursRequired = solHoursRequired;
+        }
+
+        /** Valid sols by sol number. The returned set is a copy. */
+        public BitSet valid() {
+            return (BitSet) valid.clone();
+        }
+
+        /** Sols each sensor passed, keyed by sensor name in name order. The sets are shared; do not modify them. */
+        public SortedMap<String, BitSet> validBySensor() {
+            return validBySensor;
+        }
+
+        public int validCount() {
+            return valid.cardinality();
+        }
+
+        public boolean isValid(int sol) {
+            return sol >= 0 && valid.get(sol);
+        }
+
+        public boolean isValid(int sol, String sensor) {
+            BitSet sensorValid = validBySensor.get(sensor);
+            return sol >= 0 && sensorValid != null && sensorValid.get(sol);
+        }
+
+        /** Valid sol keys as they appear in the feed (e.g. "0259"), in ascending sol order. */
+        public List<String> validSolKeys() {
+            List<String> keys = new ArrayList<>(valid.cardinality());
+            for (long packed : solIndex()) {
+                if (valid.get((int) (packed >>> 32))) {
+                    keys.add(entries.get((int) packed).getKey());
+                }
+            }
+            return keys;
+        }
+
+        /** One verdict per sensor of {@code sol} in sensor name order, empty when the sol was not checked. */
+        public List<SensorVerdict> verdicts(int sol) {
+            long[] index = solIndex();
+            int position = Arrays.binarySearch(index, (long) sol << 32);
+            if (position < 0) {
+                position = -(position + 1);
+            }
+            return position < index.length && (int) (index[position] >>> 32) == sol
+                    ? verdictsOf(sol, entries.get((int) index[position]).getValue()) : List.of();
+        }
+
+        /** The failing verdicts of one sol, empty when it is valid or was not checked. */
+        public List<SensorVerdict> failures(int sol) {
+            List<SensorVerdict> failures = new ArrayList<>();
+            for (SensorVerdict verdict : verdicts(sol)) {
+                if (!verdict.valid()) {
+                    failures.add(verdict);
+                }
+            }
+            return failures;
+        }
+
+        /** Every verdict, ordered by sol and then sensor name. */
+        public List<SensorVerdict> verdicts() {
+            long[] index = solIndex();
+            List<SensorVerdict> verdicts = new ArrayList<>(index.length * 4);
+            for (long packed : index) {
+                verdicts.addAll(verdictsOf((int) (packed >>> 32), entries.get((int) packed).getValue()));
+            }
+            return verdicts;
+        }
+
+        private synchronized long[] solIndex() {
+            if (solIndex == null) {
+                long[] packed = new long[entries.size()];
+                int count = 0;
+                for (int i = 0; i < entries.size(); i++) {
+                    int sol = solNumber(entries.get(i).getKey());
+                    if (sol >= 0) {
+                        packed[count++] = ((long) sol << 32) | i;
+                    }
+                }
+                Arrays.sort(packed, 0, count);
+                solIndex = Arrays.copyOf(packed, count);
+            }
+            return solIndex;
+        }
+
+        private List<SensorVerdict> verdictsOf(int sol, Map<String, ValidityChecks.SensorValidity> sensors) {
+            if (sensors == null) {
+                return List.of();
+            }
+            // Feeds list sensors in arbitrary order; sort so every run reports them the same way
+            List<SensorVerdict> verdicts = new ArrayList<>(sensors.size());
+            for (Map.Entry<String, ValidityChecks.SensorValidity> sensor : new TreeMap<>(sensors).entrySet()) {
+                ValidityChecks.SensorValidity validity = sensor.getValue();
+                int hours = validity.solHoursWithData().size();
+                Reason reason = validity.valid() ? Reason.VALID
+                        : hours < solHoursRequired ? Reason.TOO_FEW_HOURS : Reason.FLAGGED_INVALID;
+                verdicts.add(new SensorVerdict(sol, sensor.getKey(), reason, hours));
+            }
+            return verdicts;
+        }
+    }
+
+    public static Result validate(ValidityChecks checks) {
+        return validate(checks, ValidityPolicy.configured(), ForkJoinPool.commonPool());
+    }
+
+    public static Result validate(ValidityChecks checks, ValidityPolicy policy, ForkJoinPool pool) {
+        try (Metrics.Span ignored = Metrics.start("validate")) {
+            List<Map.Entry<String, Map<String, ValidityChecks.SensorValidity>>> entries = new ArrayList<>(checks.sols().entrySet());
+            ValidateRange all = new ValidateRange(entries, 0, entries.size(), policy, checks.solHoursRequired());
+            Partial partial = entries.size() <= SPLIT_THRESHOLD || pool.getParallelism() <= 1 ? all.compute() : pool.invoke(all);
+            return new Result(partial.valid, partial.validBySensor, entries, checks.solHoursRequired());
+        }
+    }
+
+    private static int solNumber(String key) {
+        if (key.isEmpty() || key.length() > 9) {
+            return -1;
+        }
+        int sol = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            sol = sol * 10 + (c - '0');
+        }
+        return sol;
+    }
+
+    private static final class Partial {
+        final BitSet valid = new BitSet();
+        final SortedMap<String, BitSet> validBySensor = new TreeMap<>();
+
+        Partial join(Partial other) {
+            valid.or(other.valid);
+            other.validBySensor.forEach((sensor, bits) -> validBySensor.computeIfAbsent(sensor, s -> new BitSet()).or(bits));
+            return this;
+        }
+    }
+
+    private static final class ValidateRange extends RecursiveTask<Partial> {
+        private final List<Map.Entry<String, Map<String, ValidityChecks.SensorValidity>>> entries;
+        private final int from;
+        private final int to;
+        private final ValidityPolicy policy;
+        private final int solHoursRequired;
+
+        ValidateRange(List<Map.Entry<String, Map<String, ValidityChecks.SensorValidity>>> entries, int from, int to,
+                      ValidityPolicy policy, int solHoursRequired) {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.policy = policy;
+            this.solHoursRequired = solHoursRequired;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > SPLIT_THRESHOLD && getPool() != null) {
+                int middle = (from + to) >>> 1;
+                ValidateRange right = new ValidateRange(entries, middle, to, policy, solHoursRequired);
+                right.fork();
+                Partial left = new ValidateRange(entries, from, middle, policy, solHoursRequired).compute();
+                return left.join(right.join());
+            }
+
+            Partial partial = new Partial();
+            // One map walk per sol: the known sensors' flags come from the encoded form, other names from the map
+            BitSet[] knownBits = new BitSet[ValidityPolicy.KNOWN_SENSORS];
+            for (int i = from; i < to; i++) {
+                int sol = solNumber(entries.get(i).getKey());
+                Map<String, ValidityChecks.SensorValidity> sensors = entries.get(i).getValue();
+                if (sol < 0 || sensors == null) {
+                    continue;
+                }
+                if (policy.isDefault()) {
+                    // The default rule needs only the flags, so walk the map and skip the packed form
+                    boolean solValid = true;
+                    for (Map.Entry<String, ValidityChecks.SensorValidity> sensor : sensors.entrySet()) {
+                        BitSet bits = sensorBits(partial, knownBits, sensor.getKey());
+                        if (sensor.getValue().valid()) {
+                            bits.set(sol);
+                        } else {
+                            solValid = false;
+                        }
+                    }
+                    if (solValid) {
+                        partial.valid.set(sol);
+                    }
+                    continue;
+                }
+                long encoded = ValidityPolicy.encode(sensors);
+                for (int slot = 0; slot < knownBits.length; slot++) {
+                    if (ValidityPolicy.isPresent(encoded, slot)) {
+                        if (knownBits[slot] == null) {
+                            knownBits[slot] = partial.validBySensor.computeIfAbsent(ValidityPolicy.sensorName(slot), s -> new BitSet());
+                        }
+                        if (ValidityPolicy.isValid(encoded, slot)) {
+                            knownBits[slot].set(sol);
+                        }
+                    }
+                }
+                if (ValidityPolicy.hasOtherSensors(encoded)) {
+                    for (Map.Entry<String, ValidityChecks.SensorValidity> sensor : sensors.entrySet()) {
+                        if (!ValidityPolicy.isKnownSensor(sensor.getKey())) {
+                            BitSet bits = partial.validBySensor.computeIfAbsent(sensor.getKey(), s -> new BitSet());
+                            if (sensor.getValue().valid()) {
+                                bits.set(sol);
+                            }
+                        }
+                    }
+                }
+                if (policy.test(encoded, solHoursRequired)) {
+                    partial.valid.set(sol);
+                }
+            }
+            return partial;
+        }
+
+        private static BitSet sensorBits(Partial partial, BitSet[] knownBits, String sensor) {
+            int slot = ValidityPolicy.sensorSlot(sensor);
+            if (slot == ValidityPolicy.KNOWN_SENSORS) {
+                return partial.validBySensor.computeIfAbsent(sensor, s -> new BitSet());
+            }
+            if (knownBits[slot] == null) {
+                knownBits[slot] = partial.validBySensor.computeIfAbsent(sensor, s -> new BitSet());
+            }
+            return knownBits[slot];
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.example;
+
+import java.util.List;
+import java.util.Map;
+
+public record ValidityChecks(int solHoursRequired,
+                             List<String> solsChecked,
+                             Map<String, Map<String, SensorValidity>> sols) {
+
+    public record SensorValidity(List<Integer> solHoursWithData, boolean valid) {
+    }
+}
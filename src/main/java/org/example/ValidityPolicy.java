@@ -0,0 +1,298 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A sol validity rule, written as comma separated clauses that must all hold:
+ *
+ * <pre>
+ * all valid                 every reported sensor is flagged valid (the default, same as before)
+ * SENSOR valid              SENSOR is reported and flagged valid
+ * SENSOR present            SENSOR is reported
+ * all hours &gt;= N            every reported sensor has at least N sol hours of data
+ * SENSOR hours &gt;= N         SENSOR is reported with at least N sol hours of data
+ * ignore SENSOR             leave SENSOR out of the "all" clauses
+ * </pre>
+ *
+ * SENSOR is AT, HWS, PRE or WD, and N is a number or {@code required} for the feed's
+ * {@code sol_hours_required}. For example {@code "AT valid, PRE valid"} or
+ * {@code "all valid, ignore WD, all hours >= required"}.
+ * <p>
+ * A policy is compiled once into bit masks over {@link #encode}'s packed form of a sol's checks, so
+ * {@link #test(long, int)} is a handful of mask operations with no branches, and scanning pre-encoded sols
+ * costs less than walking the check maps. Packing a map costs more than walking it, so the default rule
+ * tests check maps with {@link SolValidator#isSolValid}, which stops at the first invalid sensor.
+ */
+public final class ValidityPolicy {
+    public static final String DEFAULT_SOURCE = "all valid";
+
+    // Sensor slots; any other sensor name shares OTHER, which is valid only if all of them are
+    private static final String[] SLOT_NAMES = {"AT", "HWS", "PRE", "WD"};
+    private static final int OTHER = SLOT_NAMES.length;
+    private static final int SLOTS = OTHER + 1;
+    private static final long SLOT_MASK = (1L << SLOTS) - 1;
+
+    // Packed layout: present bits 0-4, valid bits 8-12, one 8-bit hours lane per slot from bit 16
+    private static final int VALID_SHIFT = 8;
+    private static final int HOURS_SHIFT = 16;
+    private static final long LANE_HIGH_BITS = 0x8080808080L;
+    private static final long LANE_LOW_BITS = 0x0101010101L;
+    private static final int MAX_HOURS = 0x7F;
+    // Set for a sol with no checks at all, which never passes
+    private static final long MISSING_BIT = 1L << 63;
+
+    // High bit of each lane whose slot bit is set in the index
+    private static final long[] LANE_HIGH_OF = new long[1 << SLOTS];
+
+    static {
+        for (int slots = 0; slots < LANE_HIGH_OF.length; slots++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                if ((slots & (1 << slot)) != 0) {
+                    LANE_HIGH_OF[slots] |= 0x80L << (8 * slot);
+                }
+            }
+        }
+    }
+
+    // Compiled after the tables above are filled in
+    public static final ValidityPolicy DEFAULT = compile(DEFAULT_SOURCE);
+
+    private final String source;
+    private final long requirePresent;
+    private final long requireValid;
+    private final long allValid;
+    private final long fixedThresholds;
+    private final long requiredLanes;
+    private final long namedHourLanes;
+    private final long allHourLanes;
+    // Just "all valid": nothing but every sensor's flag, so maps need no encoding
+    private final boolean allValidOnly;
+
+    private ValidityPolicy(String source, long requirePresent, long requireValid, long allValid,
+                           long fixedThresholds, long requiredLanes, long namedHourLanes, long allHourLanes) {
+        this.source = source;
+        this.requirePresent = requirePresent;
+        this.requireValid = requireValid;
+        this.allValid = allValid;
+        this.fixedThresholds = fixedThresholds;
+        this.requiredLanes = requiredLanes;
+        this.namedHourLanes = namedHourLanes;
+        this.allHourLanes = allHourLanes;
+        this.allValidOnly = allValid == SLOT_MASK && requirePresent == 0 && fixedThresholds == 0
+                && requiredLanes == 0 && namedHourLanes == 0 && allHourLanes == 0;
+    }
+
+    /** The policy named by {@code -Dinsight.validity.policy}, or {@link #DEFAULT}. */
+    public static ValidityPolicy configured() {
+        return Holder.CONFIGURED;
+    }
+
+    private static final class Holder {
+        static final ValidityPolicy CONFIGURED = compile(System.getProperty("insight.validity.policy", DEFAULT_SOURCE));
+    }
+
+    public static ValidityPolicy compile(String source) {
+        long requirePresent = 0;
+        long requireValid = 0;
+        long ignored = 0;
+        boolean allValid = false;
+        // Hours thresholds per slot for named sensors and for "all"; -1 stands for "required"
+        int[] namedHours = new int[SLOTS];
+        int allHours = 0;
+
+        for (String part : source.split(",|\\band\\b")) {
+            String[] words = part.strip().replace(">=", " >= ").strip().split("\\s+");
+            if (words.length == 1 && words[0].isEmpty()) {
+                continue;
+            }
+            String target = words[0];
+            if (target.equalsIgnoreCase("ignore") && words.length == 2) {
+                ignored |= 1L << slotOf(words[1], part);
+            } else if (words.length == 2 && words[1].equalsIgnoreCase("valid")) {
+                if (target.equalsIgnoreCase("all")) {
+                    allValid = true;
+                } else {
+                    requireValid |= 1L << slotOf(target, part);
+                }
+            } else if (words.length == 2 && words[1].equalsIgnoreCase("present") && !target.equalsIgnoreCase("all")) {
+                requirePresent |= 1L << slotOf(target, part);
+            } else if (words.length == 4 && words[1].equalsIgnoreCase("hours") && words[2].equals(">=")) {
+                int hours = hoursOf(words[3], part);
+                if (target.equalsIgnoreCase("all")) {
+                    allHours = stricter(allHours, hours);
+                } else {
+                    int slot = slotOf(target, part);
+                    namedHours[slot] = stricter(namedHours[slot], hours);
+                    requirePresent |= 1L << slot;
+                }
+            } else {
+                throw new IllegalArgumentException("Invalid validity clause \"" + part.strip() + "\" in policy: " + source);
+            }
+        }
+
+        long allSlots = SLOT_MASK & ~ignored;
+        long fixedThresholds = 0;
+        long requiredLanes = 0;
+        long namedHourLanes = 0;
+        long allHourLanes = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            boolean all = allHours != 0 && (allSlots & (1L << slot)) != 0;
+            int hours = stricter(namedHours[slot], all ? allHours : 0);
+            if (hours == -1) {
+                requiredLanes |= 1L << (8 * slot);
+            } else {
+                fixedThresholds |= (long) hours << (8 * slot);
+            }
+            if (namedHours[slot] != 0) {
+                namedHourLanes |= 0x80L << (8 * slot);
+            }
+            if (all) {
+                allHourLanes |= 0x80L << (8 * slot);
+            }
+        }
+        return new ValidityPolicy(source.strip(), requirePresent | requireValid, requireValid,
+                allValid ? allSlots : 0, fixedThresholds, requiredLanes, namedHourLanes, allHourLanes);
+    }
+
+    // "required" beats any fixed number since it is only known per feed; otherwise the larger number wins
+    private static int stricter(int a, int b) {
+        return a == -1 || b == -1 ? -1 : Math.max(a, b);
+    }
+
+    private static int slotOf(String name, String clause) {
+        for (int slot = 0; slot < SLOT_NAMES.length; slot++) {
+            if (SLOT_NAMES[slot].equalsIgnoreCase(name)) {
+                return slot;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sensor \"" + name + "\" in validity clause: " + clause.strip());
+    }
+
+    private static int hoursOf(String value, String clause) {
+        if (value.equalsIgnoreCase("required")) {
+            return -1;
+        }
+        try {
+            return Math.min(Integer.parseInt(value), MAX_HOURS);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid hours \"" + value + "\" in validity clause: " + clause.strip());
+        }
+    }
+
+    /** Packs one sol's sensor checks into the form {@link #test(long, int)} reads. */
+    public static long encode(Map<String, ValidityChecks.SensorValidity> sensors) {
+        if (sensors == null) {
+            return MISSING_BIT;
+        }
+        long present = 0;
+        long valid = 0;
+        long hours = 0;
+        boolean otherPresent = false;
+        boolean otherValid = true;
+        int otherHours = MAX_HOURS;
+        for (Map.Entry<String, ValidityChecks.SensorValidity> sensor : sensors.entrySet()) {
+            int slot = slotIndex(sensor.getKey());
+            int sensorHours = Math.min(sensor.getValue().solHoursWithData().size(), MAX_HOURS);
+            if (slot == OTHER) {
+                otherPresent = true;
+                otherValid &= sensor.getValue().valid();
+                otherHours = Math.min(otherHours, sensorHours);
+                continue;
+            }
+            present |= 1L << slot;
+            if (sensor.getValue().valid()) {
+                valid |= 1L << slot;
+            }
+            hours |= (long) sensorHours << (8 * slot);
+        }
+        if (otherPresent) {
+            present |= 1L << OTHER;
+            valid |= otherValid ? 1L << OTHER : 0;
+            hours |= (long) otherHours << (8 * OTHER);
+        }
+        return present | (valid << VALID_SHIFT) | (hours << HOURS_SHIFT);
+    }
+
+    // Slot accessors for ValidationEngine, which reads per-sensor flags straight from the encoded form
+    static final int KNOWN_SENSORS = SLOT_NAMES.length;
+
+    static String sensorName(int slot) {
+        return SLOT_NAMES[slot];
+    }
+
+    static boolean isKnownSensor(String name) {
+        return slotIndex(name) != OTHER;
+    }
+
+    /** The slot of a known sensor, or {@link #KNOWN_SENSORS} for any other name. */
+    static int sensorSlot(String name) {
+        return slotIndex(name);
+    }
+
+    static boolean isPresent(long encoded, int slot) {
+        return (encoded & (1L << slot)) != 0;
+    }
+
+    static boolean isValid(long encoded, int slot) {
+        return (encoded & (1L << (VALID_SHIFT + slot))) != 0;
+    }
+
+    static boolean hasOtherSensors(long encoded) {
+        return isPresent(encoded, OTHER);
+    }
+
+    private static int slotIndex(String name) {
+        return switch (name) {
+            case "AT" -> 0;
+            case "HWS" -> 1;
+            case "PRE" -> 2;
+            case "WD" -> 3;
+            default -> OTHER;
+        };
+    }
+
+    /** Whether a sol with the given encoded checks passes, for a feed requiring {@code solHoursRequired} hours. */
+    public boolean test(long encoded, int solHoursRequired) {
+        long present = encoded & SLOT_MASK;
+        long valid = (encoded >>> VALID_SHIFT) & SLOT_MASK;
+        long hours = (encoded >>> HOURS_SHIFT) & 0xFFFFFFFFFFL;
+
+        long missing = requirePresent & ~present;
+        long invalid = (requireValid | (allValid & present)) & ~valid;
+
+        // Per-lane hours >= threshold: borrow into the lane's high bit only when hours < threshold
+        long thresholds = fixedThresholds | requiredLanes * Math.min(Math.max(solHoursRequired, 0), MAX_HOURS);
+        long enough = ((hours | LANE_HIGH_BITS) - thresholds) & LANE_HIGH_BITS;
+        long checkedLanes = namedHourLanes | (allHourLanes & LANE_HIGH_OF[(int) present]);
+        long tooFewHours = checkedLanes & ~enough;
+
+        return (missing | invalid | tooFewHours | (encoded & MISSING_BIT)) == 0;
+    }
+
+    public boolean test(Map<String, ValidityChecks.SensorValidity> sensors, int solHoursRequired) {
+        return allValidOnly ? SolValidator.isSolValid(sensors) : test(encode(sensors), solHoursRequired);
+    }
+
+    /** Whether this is the default rule, which reads nothing but each reported sensor's valid flag. */
+    boolean isDefault() {
+        return allValidOnly;
+    }
+
+    /** Keys of the sols in {@code checks} that pass, in feed order. */
+    public List<String> validSolKeys(ValidityChecks checks) {
+        List<String> keys = new ArrayList<>();
+        checks.sols().forEach((solKey, sensors) -> {
+            if (test(sensors, checks.solHoursRequired())) {
+                keys.add(solKey);
+            }
+        });
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,295 @@
+package org.example;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.border.TitledBorder;
+import java.awt.*;
+import java.util.Optional;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The full weather view for one sol: time, season and measurement panels beside the wind rose. The
+ * components are built once; {@link #bind} points them at another sol by updating label text in place,
+ * using text a {@link PreparedSol} has already formatted.
+ */
+class WeatherPanel extends JPanel {
+    static final Color PRIMARY_COLOR = new Color(60, 60, 60);
+    static final Color BACKGROUND_COLOR = new Color(0, 0, 0);
+    static final Color PANEL_BACKGROUND = new Color(0, 0, 0);
+    static final Color TEXT_COLOR = new Color(150, 150, 150);
+
+    private static final String[] METRIC_LABELS = {"Min", "Avg", "Max", "Count"};
+    private static final Color[] METRIC_COLORS = {new Color(0,100,0), new Color(0,0, 140), new Color (140,0,0), TEXT_COLOR};
+    private static final String VALUES_CARD = "values";
+    private static final String ERROR_CARD = "error";
+
+    private final JLabel firstUtcLabel = createStyledLabel("", false);
+    private final JLabel lastUtcLabel = createStyledLabel("", false);
+    private final JLabel seasonLabel = createStyledLabel("", false);
+    private final JLabel northernSeasonLabel = createStyledLabel("", false);
+    private final JLabel southernSeasonLabel = createStyledLabel("", false);
+
+    private final JPanel measurementsPanel = createStyledPanel();
+    private final JPanel[] sensorPanels = new JPanel[Sensor.values().length];
+    private final JLabel[][] metricLabels = new JLabel[Sensor.values().length][METRIC_LABELS.length];
+    private final boolean[] sensorShown = new boolean[Sensor.values().length];
+
+    private final WindRosePanel windRosePanel;
+    private SolReport report;
+
+    WeatherPanel(SolReport weatherData) {
+        super(new BorderLayout());
+
+        JPanel mainPanel = new JPanel();
+        mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(25, 25, 25, 25));
+        mainPanel.setBackground(BACKGROUND_COLOR);
+
+        addComponentsToMainPanel(mainPanel);
+
+        windRosePanel = new WindRosePanel(weatherData);
+        JPanel roseContainer = createStyledPanel();
+        roseContainer.setLayout(new BorderLayout());
+        roseContainer.setPreferredSize(new Dimension(500, 500));  // Increased size
+        roseContainer.add(windRosePanel, BorderLayout.CENTER);
+        roseContainer.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        add(roseContainer, BorderLayout.EAST);
+        add(mainPanel, BorderLayout.CENTER);
+
+        bind(weatherData);
+    }
+
+    SolReport report() {
+        return report;
+    }
+
+    WindRosePanel windRose() {
+        return windRosePanel;
+    }
+
+    /** Shows {@code weatherData} in the existing components. Must be called on the EDT. */
+    void bind(SolReport weatherData) {
+        if (!weatherData.equals(report)) {
+            bind(PreparedSol.of(weatherData));
+        }
+    }
+
+    /** Shows a sol formatted ahead of time; only label text and card selection change. Must be called on the EDT. */
+    void bind(PreparedSol sol) {
+        if (sol.report.equals(report)) {
+            return;
+        }
+        try (Metrics.Span ignored = Metrics.start("view.bind")) {
+            report = sol.report;
+
+            firstUtcLabel.setText(sol.firstUtc);
+            lastUtcLabel.setText(sol.lastUtc);
+            seasonLabel.setText(sol.season);
+            northernSeasonLabel.setText(sol.northernSeason);
+            southernSeasonLabel.setText(sol.southernSeason);
+
+            boolean sensorsChanged = false;
+            for (Sensor sensor : Sensor.values()) {
+                int index = sensor.ordinal();
+                boolean shown = sol.shown[index];
+                sensorsChanged |= shown != sensorShown[index];
+                sensorShown[index] = shown;
+                if (shown) {
+                    bindSensor(sol, index);
+                }
+            }
+            // Only a sol reporting a different set of sensors changes the layout
+            if (sensorsChanged) {
+                measurementsPanel.removeAll();
+                for (Sensor sensor : Sensor.values()) {
+                    if (sensorShown[sensor.ordinal()]) {
+                        measurementsPanel.add(sensorPanels[sensor.ordinal()]);
+                    }
+                }
+                measurementsPanel.revalidate();
+                measurementsPanel.repaint();
+            }
+
+            windRosePanel.setReport(sol.report);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        // Child panels paint through copies of this Graphics, so the hint still reaches their borders
+        ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(BACKGROUND_COLOR);
+        g.fillRect(0, 0, getWidth(), getHeight());
+    }
+
+    private JPanel createStyledPanel() {
+        return new StyledPanel();
+    }
+
+    private void addComponentsToMainPanel(JPanel mainPanel) {
+        // Time Panel
+        Optional<JPanel> timePanel = createTimePanel();
+        timePanel.ifPresent(panel -> {
+            mainPanel.add(panel);
+            mainPanel.add(Box.createVerticalStrut(20));
+        });
+
+        // Season Panel
+        Optional<JPanel> seasonPanel = createSeasonPanel();
+        seasonPanel.ifPresent(panel -> {
+            mainPanel.add(panel);
+            mainPanel.add(Box.createVerticalStrut(20));
+        });
+
+        // Measurements Panel
+        Optional<JPanel> measurementsPanel = createMeasurementsPanel();
+        measurementsPanel.ifPresent(mainPanel::add);
+    }
+
+    private Optional<JPanel> createTimePanel() {
+        try {
+            JPanel panel = createStyledPanel();
+            panel.setLayout(new GridLayout(2, 2, 15, 10));
+            panel.setBorder(createStyledTitledBorder("Time Information"));
+
+            addRow(panel, "First UTC", firstUtcLabel);
+            addRow(panel, "Last UTC", lastUtcLabel);
+
+            return Optional.of(panel);
+        } catch (Exception e) {
+            handleError("Error creating time panel", e);
+            return Optional.empty();
+        }
+    }
+
+    private void addRow(JPanel panel, String label, JLabel value) {
+        panel.add(createStyledLabel(label + ":", true));
+        panel.add(value);
+    }
+
+    private Optional<JPanel> createSeasonPanel() {
+        try {
+            JPanel panel = createStyledPanel();
+            panel.setLayout(new GridLayout(0, 2, 15, 10));
+            panel.setBorder(createStyledTitledBorder("Season Information"));
+
+            addRow(panel, "Season", seasonLabel);
+            addRow(panel, "Northern Season", northernSeasonLabel);
+            addRow(panel, "Southern Season", southernSeasonLabel);
+
+            return Optional.of(panel);
+        } catch (Exception e) {
+            handleError("Error creating season panel", e);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<JPanel> createMeasurementsPanel() {
+        try {
+            measurementsPanel.setLayout(new GridLayout(0, 1, 15, 15));
+            measurementsPanel.setBorder(createStyledTitledBorder("Measurements"));
+
+            for (Sensor sensor : Sensor.values()) {
+                sensorPanels[sensor.ordinal()] = createSensorPanel(sensor);
+            }
+
+            return Optional.of(measurementsPanel);
+        } catch (Exception e) {
+            handleError("Error creating measurements panel", e);
+            return Optional.empty();
+        }
+    }
+
+    // One card with the four metric panels and one with the "Data unavailable" message
+    private JPanel createSensorPanel(Sensor sensor) {
+        JPanel panel = createStyledPanel();
+        panel.setLayout(new CardLayout());
+        panel.setBorder(createStyledTitledBorder(sensor.label()));
+
+        JPanel values = new JPanel(new GridLayout(1, 4, 10, 5));
+        values.setOpaque(false);
+        for (int i = 0; i < METRIC_LABELS.length; i++) {
+            JLabel valueComponent = new JLabel();
+            metricLabels[sensor.ordinal()][i] = valueComponent;
+            values.add(createValuePanel(METRIC_LABELS[i], valueComponent, METRIC_COLORS[i]));
+        }
+        panel.add(values, VALUES_CARD);
+        panel.add(createErrorLabel(), ERROR_CARD);
+        return panel;
+    }
+
+    private void bindSensor(PreparedSol sol, int sensor) {
+        JPanel panel = sensorPanels[sensor];
+        if (sol.unavailable[sensor]) {
+            ((CardLayout) panel.getLayout()).show(panel, ERROR_CARD);
+            return;
+        }
+        ((CardLayout) panel.getLayout()).show(panel, VALUES_CARD);
+
+        JLabel[] labels = metricLabels[sensor];
+        String[] texts = sol.metrics[sensor];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i].setText(texts[i]);
+        }
+    }
+
+    private JPanel createValuePanel(String label, JLabel valueComponent, Color color) {
+        JPanel panel = createStyledPanel();
+        panel.setLayout(new BorderLayout(5, 5));
+
+        JLabel labelComponent = createStyledLabel(label, true);
+        labelComponent.setHorizontalAlignment(SwingConstants.CENTER);
+
+        return getjPanel(color, panel, labelComponent, valueComponent);
+    }
+
+    @NotNull
+    private JPanel getjPanel(Color color, JPanel panel, JLabel labelComponent, JLabel valueComponent) {
+        valueComponent.setHorizontalAlignment(SwingConstants.CENTER);
+        valueComponent.setFont(new Font("Arial", Font.BOLD, 16));
+        valueComponent.setForeground(color);
+
+        panel.add(labelComponent, BorderLayout.NORTH);
+        panel.add(valueComponent, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private JLabel createStyledLabel(String text, boolean isHeader) {
+        JLabel label = new JLabel(text);
+        label.setForeground(TEXT_COLOR);
+        label.setFont(new Font("Arial", isHeader ? Font.BOLD : Font.PLAIN, isHeader ? 14 : 13));
+        return label;
+    }
+
+    private Border createStyledTitledBorder(String title) {
+        return BorderFactory.createCompoundBorder(
+                BorderFactory.createEmptyBorder(10, 10, 10, 10),
+                BorderFactory.createTitledBorder(
+                        BorderFactory.createLineBorder(PRIMARY_COLOR, 2, true),
+                        title,
+                        TitledBorder.LEFT,
+                        TitledBorder.TOP,
+                        new Font("Arial", Font.BOLD, 14),
+                        TEXT_COLOR
+                )
+        );
+    }
+
+    private JLabel createErrorLabel() {
+        JLabel errorLabel = createStyledLabel("Data unavailable", false);
+        errorLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        errorLabel.setForeground(new Color(231, 76, 60)); // Error red color
+        return errorLabel;
+    }
+
+    private void handleError(String message, Exception e) {
+        JOptionPane.showMessageDialog(
+                this,
+                message + ": " + e.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE
+        );
+    }
+}
@@ -0,0 +1,218 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Arc2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Wind rose for one sol. The grid circles and compass labels never change for a given size, so they are
+ * rendered once into {@link #staticLayer}, and the petal arcs are laid out at the same time. The petals are
+ * then composited over a copy of that layer into {@link #roseImage}, which is all a repaint draws, so
+ * painting allocates nothing until the size changes. {@link #setReport} re-composes the petals into the
+ * existing images.
+ */
+class WindRosePanel extends JPanel {
+    private static final Color[] WIND_COLORS = {
+            new Color(255, 140, 0, 200),
+            new Color(255, 0, 0, 200),    // Bright Red
+            new Color(255, 85, 0, 200),   // Reddish Orange// Deep Orange
+            new Color(255, 200, 0, 200)   // Bright Yellow
+    };
+    private static final Color GRID_COLOR = new Color(60, 60, 60, 30);
+    private static final Color LABEL_GLOW_COLOR = new Color(WeatherPanel.PRIMARY_COLOR.getRed(),
+            WeatherPanel.PRIMARY_COLOR.getGreen(),
+            WeatherPanel.PRIMARY_COLOR.getBlue(),
+            40);
+    private static final BasicStroke GRID_STROKE = new BasicStroke(2.0f);
+    private static final Font LABEL_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Metrics.Timer PAINT_TIMER = Metrics.timer("paint.windrose");
+
+    // Unit vectors for each compass label, N at the top and clockwise like the petals
+    private static final double[] LABEL_COS = new double[CompassPoint.COUNT];
+    private static final double[] LABEL_SIN = new double[CompassPoint.COUNT];
+
+    static {
+        for (CompassPoint point : CompassPoint.values()) {
+            double angle = Math.toRadians(point.degrees() - 90.0);
+            LABEL_COS[point.ordinal()] = Math.cos(angle);
+            LABEL_SIN[point.ordinal()] = Math.sin(angle);
+        }
+    }
+
+    private SolReport report;
+    private double maxCount;
+
+    private final Arc2D.Double[] petals = new Arc2D.Double[CompassPoint.COUNT];
+    private final boolean[] petalVisible = new boolean[CompassPoint.COUNT];
+    private BufferedImage staticLayer;
+    private BufferedImage roseImage;
+    private int layerWidth = -1;
+    private int layerHeight = -1;
+    private GraphicsConfiguration layerConfiguration;
+    private double layerScale;
+
+    public WindRosePanel(SolReport report) {
+        this.report = report;
+        this.maxCount = maxCount(report);
+        for (int i = 0; i < petals.length; i++) {
+            petals[i] = new Arc2D.Double(Arc2D.PIE);
+        }
+
+        setBackground(WeatherPanel.PANEL_BACKGROUND);
+        setOpaque(false);
+    }
+
+    /** Shows another sol's wind counts, reusing the cached grid layer. Must be called on the EDT. */
+    void setReport(SolReport report) {
+        if (report == this.report) {
+            return;
+        }
+        this.report = report;
+        this.maxCount = maxCount(report);
+        if (staticLayer != null) {
+            layoutPetals(layerWidth, layerHeight);
+            composeRose(layerScale);
+        }
+        repaint();
+    }
+
+    private static double maxCount(SolReport report) {
+        return report.maxWindCount() > 0 ? report.maxWindCount() : 1.0;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        super.paintComponent(g);
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (staticLayer == null || width != layerWidth || height != layerHeight
+                || getGraphicsConfiguration() != layerConfiguration) {
+            rebuildLayout(width, height);
+        }
+
+        g.drawImage(roseImage, 0, 0, width, height, null);
+        PAINT_TIMER.record(System.nanoTime() - start);
+    }
+
+    private void rebuildLayout(int width, int height) {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        double scale = configuration != null ? configuration.getDefaultTransform().getScaleX() : 1.0;
+        int imageWidth = (int) Math.ceil(width * scale);
+        int imageHeight = (int) Math.ceil(height * scale);
+
+        if (staticLayer != null) {
+            staticLayer.flush();
+            roseImage.flush();
+        }
+        staticLayer = createLayer(configuration, imageWidth, imageHeight);
+        roseImage = createLayer(configuration, imageWidth, imageHeight);
+        layerWidth = width;
+        layerHeight = height;
+        layerConfiguration = configuration;
+        layerScale = scale;
+
+        double centerX = width / 2.0;
+        double centerY = height / 2.0;
+        double maxRadius = Math.min(centerX, centerY) - 50.0;
+
+        Graphics2D g2d = staticLayer.createGraphics();
+        try {
+            g2d.scale(scale, scale);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            paintGrid(g2d, centerX, centerY, maxRadius);
+            paintLabels(g2d, centerX, centerY, maxRadius);
+        } finally {
+            g2d.dispose();
+        }
+
+        layoutPetals(width, height);
+        composeRose(scale);
+    }
+
+    private void layoutPetals(int width, int height) {
+        double centerX = width / 2.0;
+        double centerY = height / 2.0;
+        double maxRadius = Math.min(centerX, centerY) - 50.0;
+        for (int i = 0; i < petals.length; i++) {
+            double radius = maxRadius * report.windCount(i) / maxCount;
+            double startAngle = CompassPoint.of(i).degrees() - (CompassPoint.SECTOR_DEGREES / 2.0) - 90;
+            petalVisible[i] = radius > 0;
+            petals[i].setArc(centerX - radius, centerY - radius, radius * 2, radius * 2,
+                    startAngle, CompassPoint.SECTOR_DEGREES, Arc2D.PIE);
+        }
+    }
+
+    // Labels sit outside the outermost circle, so drawing the petals over the finished layer matches the old layering
+    private void composeRose(double scale) {
+        Graphics2D g2d = roseImage.createGraphics();
+        try {
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.drawImage(staticLayer, 0, 0, null);
+            g2d.setComposite(AlphaComposite.SrcOver);
+            g2d.scale(scale, scale);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            for (int i = 0; i < petals.length; i++) {
+                if (petalVisible[i]) {
+                    g2d.setColor(WIND_COLORS[i % WIND_COLORS.length]);
+                    g2d.fill(petals[i]);
+                }
+            }
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    private static BufferedImage createLayer(GraphicsConfiguration configuration, int width, int height) {
+        return configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    // Draw background circles with glowing effect
+    private static void paintGrid(Graphics2D g2d, double centerX, double centerY, double maxRadius) {
+        g2d.setColor(GRID_COLOR);
+        g2d.setStroke(GRID_STROKE);
+        for (double i = 1; i <= 4; i++) {
+            double radius = maxRadius * i / 4.0;
+            g2d.drawOval((int) (centerX - radius), (int) (centerY - radius),
+                    (int) (radius * 2), (int) (radius * 2));
+        }
+    }
+
+    private static void paintLabels(Graphics2D g2d, double centerX, double centerY, double maxRadius) {
+        g2d.setFont(LABEL_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        int labelHeight = fm.getHeight();
+
+        for (CompassPoint point : CompassPoint.values()) {
+            double x = centerX + (maxRadius + 25.0) * LABEL_COS[point.ordinal()];
+            double y = centerY + (maxRadius + 25.0) * LABEL_SIN[point.ordinal()];
+
+            String label = point.name();
+            int labelWidth = fm.stringWidth(label);
+
+            // Create glowing effect for labels
+            g2d.setColor(LABEL_GLOW_COLOR);
+            g2d.fillRoundRect(
+                    (int) (x - (double) labelWidth /2 - 5),
+                    (int) (y - (double) labelHeight /2),
+                    labelWidth + 10,
+                    labelHeight,
+                    10,
+                    10
+            );
+
+            g2d.setColor(WeatherPanel.TEXT_COLOR);
+            g2d.drawString(
+                    label,
+                    (int) (x - (double) labelWidth /2),
+                    (int) (y + (double) labelHeight /3)
+            );
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FeedLoaderTest {
+    @TempDir
+    Path cacheDir;
+
+    private HttpServer server;
+    private InsightApiClient client;
+    private String baseUrl;
+    private volatile byte[] feed;
+    private volatile String etag;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger fullBodies = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/insight_weather/", this::serve);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/insight_weather/";
+        client = new InsightApiClient(InsightApiClient.Config.defaults());
+    }
+
+    @AfterEach
+    void stopServer() {
+        client.close();
+        server.stop(0);
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            fullBodies.incrementAndGet();
+            exchange.sendResponseHeaders(200, feed.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(feed);
+            }
+        }
+    }
+
+    private void publish(List<SolReport> reports, String version) {
+        feed = TestFeeds.feed(reports);
+        etag = "\"" + version + "\"";
+    }
+
+    private FeedLoader loader(long revalidateAfterMillis) {
+        ResilientFetcher fetcher = new ResilientFetcher(client,
+                new ResilientFetcher.Config(1, Duration.ofMillis(1), Duration.ofMillis(1), 5, Duration.ofSeconds(1)));
+        return new FeedLoader(fetcher, new SolCache(cacheDir, SolCache.DEFAULT_MAX_SOLS), baseUrl, revalidateAfterMillis);
+    }
+
+    @Test
+    void warmStartDownloadsNoFullBody() throws IOException {
+        List<SolReport> reports = TestFeeds.reports(400, 7, 3);
+        publish(reports, "v1");
+        InsightFeed cold = loader(0).load("test");
+        assertEquals(1, fullBodies.get());
+
+        // A new loader is a new launch; revalidating on every load forces a conditional request
+        InsightFeed revalidated = loader(0).load("test");
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+        assertEquals(1, fullBodies.get());
+        assertEquals(cold.sols(), revalidated.sols());
+
+        // Within the freshness window the cache answers without a request at all
+        InsightFeed fresh = loader(Duration.ofMinutes(10).toMillis()).load("test");
+        assertEquals(2, requests.get());
+        assertEquals(1, fullBodies.get());
+        assertEquals(cold.sols(), fresh.sols());
+        assertEquals(cold.validityChecks(), fresh.validityChecks());
+    }
+
+    @Test
+    void revisedSolReplacesTheCachedOne() throws IOException {
+        List<SolReport> reports = new ArrayList<>(TestFeeds.reports(400, 7, 3));
+        publish(reports, "v1");
+        loader(0).load("test");
+
+        // NASA adds hours to the newest sol: same sol number, new readings and a new ETag
+        reports.set(reports.size() - 1, TestFeeds.report(406, 99));
+        publish(reports, "v2");
+        InsightFeed revised = loader(0).load("test");
+        assertEquals(reports.get(6), revised.sols().get("406"));
+        assertEquals(2, fullBodies.get());
+
+        // The next 304 and a fresh-cache load must replay the revision, not the first copy
+        InsightFeed replayed = loader(0).load("test");
+        assertEquals(1, notModified.get());
+        assertEquals(reports.get(6), replayed.sols().get("406"));
+        assertEquals(reports.get(6), loader(Duration.ofMinutes(10).toMillis()).load("test").sols().get("406"));
+    }
+}
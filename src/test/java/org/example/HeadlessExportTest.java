@@ -0,0 +1,100 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeadlessExportTest {
+    private static final List<Integer> SELECTED = List.of(10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 30);
+
+    @TempDir
+    Path dir;
+
+    private Path archive;
+
+    @BeforeEach
+    void writeArchive() throws IOException {
+        archive = dir.resolve("sols.bin");
+        SolArchive.write(archive, TestFeeds.reports(1, 50, 3));
+    }
+
+    private Path export(String format) {
+        Path out = dir.resolve("sols." + format);
+        assertEquals(0, HeadlessExport.run(new String[] {
+                "--archive", archive.toString(), "--sols", "10-19, 30", "--format", format, "--out", out.toString()}));
+        return out;
+    }
+
+    @Test
+    void csvHasAHeaderAndOneRowPerSelectedSol() throws IOException {
+        List<String> lines = Files.readAllLines(export("csv"));
+        assertTrue(lines.get(0).startsWith("sol,first_utc,last_utc,season"), lines.get(0));
+        assertEquals(SELECTED, firstFields(lines.subList(1, lines.size()), ","));
+    }
+
+    @Test
+    void jsonLinesHasOneObjectPerSelectedSol() throws IOException {
+        List<String> lines = Files.readAllLines(export("jsonl"));
+        assertEquals(SELECTED, firstFields(lines, "{\"sol\":"));
+    }
+
+    @Test
+    void columnarStoresTheSolColumnAfterTheHeader() throws IOException {
+        try (InputStream file = Files.newInputStream(export("columnar"));
+             DataInputStream in = new DataInputStream(file)) {
+            assertEquals(0x494E5343, in.readInt());
+            assertEquals(1, in.readInt());
+            assertEquals(SELECTED.size(), in.readInt());
+            assertEquals(3 + 3 + Sensor.values().length * 4 + CompassPoint.COUNT, in.readInt());
+            assertEquals("sol", in.readUTF());
+            assertEquals('I', in.readByte());
+            List<Integer> sols = new ArrayList<>();
+            for (int i = 0; i < SELECTED.size(); i++) {
+                sols.add(in.readInt());
+            }
+            assertEquals(SELECTED, sols);
+        }
+    }
+
+    @Test
+    void loadsNoAwtOrSwingClasses() throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, "-Xlog:class+load", "-cp", System.getProperty("java.class.path"),
+                HeadlessExport.class.getName(), "--archive", archive.toString(), "--out", dir.resolve("all.csv").toString())
+                .redirectErrorStream(true)
+                .start();
+        String log = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(0, process.waitFor(), log);
+
+        assertTrue(log.contains(HeadlessExport.class.getName()), "class loading was not logged");
+        for (String line : log.split("\n")) {
+            assertTrue(!line.contains(" java.awt.") && !line.contains(" javax.swing."), line);
+        }
+        assertEquals(51, Files.readAllLines(dir.resolve("all.csv")).size());
+    }
+
+    private static List<Integer> firstFields(List<String> lines, String prefix) {
+        List<Integer> sols = new ArrayList<>();
+        for (String line : lines) {
+            int start = line.startsWith(prefix) ? prefix.length() : 0;
+            int end = start;
+            while (end < line.length() && Character.isDigit(line.charAt(end))) {
+                end++;
+            }
+            sols.add(Integer.parseInt(line.substring(start, end)));
+        }
+        return sols;
+    }
+}
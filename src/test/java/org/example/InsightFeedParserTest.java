@@ -0,0 +1,113 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InsightFeedParserTest {
+    // About ten Earth years of sols
+    private static final int SOLS = 3500;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysRecordedFeedIntoTheSameReports() throws IOException {
+        List<SolReport> reports = TestFeeds.reports(1, SOLS, 7);
+        Path recorded = TestFeeds.record(dir.resolve("feed.json"), reports);
+
+        InsightFeed feed;
+        try (InputStream in = Files.newInputStream(recorded)) {
+            feed = InsightFeedParser.parse(in);
+        }
+
+        assertEquals(SOLS, feed.sols().size());
+        assertEquals(SOLS, feed.validityChecks().sols().size());
+        for (SolReport report : reports) {
+            assertEquals(report, feed.sols().get(Integer.toString(report.sol())));
+        }
+    }
+
+    /**
+     * The streaming parse against what Main used to do with the same bytes: buffer the body as a String and build
+     * a JsonNode tree, then serialize the chosen sol and parse it again. The old path kept the body and the tree
+     * alive while the window was built; the new one keeps only the typed records.
+     */
+    @Test
+    void streamingParseRetainsAndAllocatesLessThanTheTreeRoundTrip() throws IOException {
+        Path recorded = TestFeeds.record(dir.resolve("feed.json"), TestFeeds.reports(1, SOLS, 7));
+        long fileSize = Files.size(recorded);
+        ObjectMapper mapper = new ObjectMapper();
+        // Warm both paths so class loading and first-use buffers are not counted
+        treeRoundTrip(recorded, mapper);
+        streamingParse(recorded);
+
+        long treeAllocated = allocatedBytes(() -> treeRoundTrip(recorded, mapper));
+        long streamingAllocated = allocatedBytes(() -> streamingParse(recorded));
+        assertTrue(streamingAllocated < treeAllocated,
+                "allocated: streaming " + streamingAllocated + " B, tree " + treeAllocated + " B");
+
+        long baseline = usedHeapAfterGc();
+        Object tree = treeRoundTrip(recorded, mapper);
+        long treeRetained = usedHeapAfterGc() - baseline;
+        Reference.reachabilityFence(tree);
+        tree = null;
+
+        baseline = usedHeapAfterGc();
+        InsightFeed feed = streamingParse(recorded);
+        long streamingRetained = usedHeapAfterGc() - baseline;
+        Reference.reachabilityFence(feed);
+
+        assertTrue(streamingRetained * 4 < treeRetained,
+                "retained: streaming " + streamingRetained + " B, tree " + treeRetained + " B for a " + fileSize + " B feed");
+        // The typed records take less room than the payload they came from
+        assertTrue(streamingRetained < fileSize, "retained: streaming " + streamingRetained + " B for a " + fileSize + " B feed");
+    }
+
+    /** Returns everything the old path held at once: the body, the tree and the re-parsed sol. */
+    private static Object[] treeRoundTrip(Path recorded, ObjectMapper mapper) throws IOException {
+        String body = new String(Files.readAllBytes(recorded), StandardCharsets.UTF_8);
+        JsonNode root = mapper.readTree(body);
+        String last = root.get("sol_keys").get(root.get("sol_keys").size() - 1).asText();
+        return new Object[] {body, root, mapper.readTree(root.get(last).toString())};
+    }
+
+    private static InsightFeed streamingParse(Path recorded) throws IOException {
+        try (InputStream in = Files.newInputStream(recorded)) {
+            return InsightFeedParser.parse(in);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private interface IoAction {
+        Object run() throws IOException;
+    }
+
+    private static long allocatedBytes(IoAction action) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantileSketchTest {
+    private static final double ACCURACY = 0.01;
+
+    /** Martian temperatures and pressures: negative, positive and some exact zeros. */
+    private static double[] values(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = switch (random.nextInt(3)) {
+                case 0 -> random.nextDouble(-110, -10);
+                case 1 -> random.nextDouble(600, 800);
+                default -> random.nextInt(20) == 0 ? 0 : random.nextDouble(0.001, 30);
+            };
+        }
+        return values;
+    }
+
+    private static QuantileSketch sketch(double[]... parts) {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        for (double[] part : parts) {
+            for (double value : part) {
+                sketch.add(value);
+            }
+        }
+        return sketch;
+    }
+
+    /** Every percentile of {@code sketch} is within the relative accuracy of the exact one over {@code values}. */
+    private static void assertWithinAccuracy(double[] values, QuantileSketch sketch) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted.length, sketch.count());
+        for (int percentile = 0; percentile <= 100; percentile++) {
+            double q = percentile / 100.0;
+            double exact = sorted[(int) (q * (sorted.length - 1))];
+            double estimate = sketch.quantile(q);
+            assertTrue(Math.abs(estimate - exact) <= ACCURACY * Math.abs(exact) + 1e-9,
+                    "q" + q + ": " + estimate + " vs " + exact);
+        }
+    }
+
+    private static double[] concat(double[] a, double[] b) {
+        double[] all = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+        return all;
+    }
+
+    @Test
+    void quantilesStayWithinTheRelativeAccuracy() {
+        double[] values = values(20_000, 3);
+        assertWithinAccuracy(values, sketch(values));
+        assertTrue(Double.isNaN(new QuantileSketch(ACCURACY).quantile(0.5)));
+    }
+
+    @Test
+    void removingValuesLeavesTheSketchOfTheRest() {
+        double[] kept = values(5_000, 4);
+        double[] removed = values(3_000, 5);
+        QuantileSketch sketch = sketch(kept, removed);
+        for (double value : removed) {
+            sketch.remove(value);
+        }
+        QuantileSketch expected = sketch(kept);
+        for (int percentile = 0; percentile <= 100; percentile++) {
+            assertEquals(expected.quantile(percentile / 100.0), sketch.quantile(percentile / 100.0));
+        }
+        assertWithinAccuracy(kept, sketch);
+    }
+
+    @Test
+    void mergedSketchesMatchOneSketchOfEveryValue() {
+        double[] a = values(7_000, 6);
+        double[] b = values(2_000, 7);
+        QuantileSketch merged = sketch(a);
+        merged.merge(sketch(b));
+        QuantileSketch whole = sketch(a, b);
+        for (int percentile = 0; percentile <= 100; percentile++) {
+            assertEquals(whole.quantile(percentile / 100.0), merged.quantile(percentile / 100.0));
+        }
+        assertWithinAccuracy(concat(a, b), merged);
+
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new QuantileSketch(0.02)));
+    }
+}
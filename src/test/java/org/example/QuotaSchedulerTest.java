@@ -0,0 +1,183 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** The scheduler against a local stub that enforces an hourly quota per key, as the NASA API does. */
+class QuotaSchedulerTest {
+    private static final String ENDPOINT = "insight_weather";
+
+    private HttpServer server;
+    private InsightApiClient client;
+    private String baseUrl;
+    private final byte[] feed = TestFeeds.feed(TestFeeds.reports(400, 3, 1));
+    private final Map<String, Integer> limits = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final CountDownLatch firstRequest = new CountDownLatch(1);
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/insight_weather/", this::serve);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/insight_weather/";
+        client = new InsightApiClient(InsightApiClient.Config.defaults());
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        client.close();
+        server.stop(0);
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String key = apiKey(exchange.getRequestURI());
+            int used = hits.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            firstRequest.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int limit = limits.getOrDefault(key, 1000);
+            exchange.getResponseHeaders().set("X-RateLimit-Limit", Integer.toString(limit));
+            exchange.getResponseHeaders().set("X-RateLimit-Remaining", Integer.toString(Math.max(0, limit - used)));
+            if (used > limit) {
+                // No Retry-After, like the real API once an hourly limit is spent
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, feed.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(feed);
+            }
+        }
+    }
+
+    private static String apiKey(URI uri) {
+        for (String parameter : uri.getQuery().split("&")) {
+            if (parameter.startsWith("api_key=")) {
+                return parameter.substring("api_key=".length());
+            }
+        }
+        return "";
+    }
+
+    private QuotaScheduler scheduler(List<String> keys, long maxWaitMillis) {
+        ResilientFetcher fetcher = new ResilientFetcher(client,
+                new ResilientFetcher.Config(4, Duration.ofMillis(1), Duration.ofMillis(5), 5, Duration.ofSeconds(1)));
+        return new QuotaScheduler(fetcher, new QuotaScheduler.Config(keys, maxWaitMillis));
+    }
+
+    private Function<String, String> url() {
+        return key -> baseUrl + "?api_key=" + key + "&feedtype=json&ver=1.0";
+    }
+
+    private int hits(String key) {
+        AtomicInteger count = hits.get(key);
+        return count == null ? 0 : count.get();
+    }
+
+    @Test
+    void stopsSendingOnceTheServerReportsTheQuotaSpent() throws IOException {
+        limits.put("alpha", 3);
+        QuotaScheduler scheduler = scheduler(List.of("alpha"), 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, scheduler.fetch(ENDPOINT, null, url(), Map.of(), FeedListener.NONE).code());
+        }
+        IOException refused = assertThrows(IOException.class,
+                () -> scheduler.fetch(ENDPOINT, null, url(), Map.of(), FeedListener.NONE));
+        assertTrue(refused.getMessage().contains("out of quota"), refused.getMessage());
+        assertEquals(3, hits("alpha"));
+    }
+
+    @Test
+    void throttledKeyHandsOverToTheNextKeyWithoutRetrying() throws IOException {
+        limits.put("alpha", 0);
+        QuotaScheduler scheduler = scheduler(List.of("alpha", "beta"), 0);
+
+        InsightApiClient.FeedResponse response = scheduler.fetch(ENDPOINT, null, url(), Map.of(), FeedListener.NONE);
+        assertEquals(200, response.code());
+        // One 429 is enough: the fetcher must not spend the other attempts on the exhausted key
+        assertEquals(1, hits("alpha"));
+        assertEquals(1, hits("beta"));
+
+        // alpha's bucket is now empty, so later requests go straight to beta
+        scheduler.fetch(ENDPOINT, null, url(), Map.of(), FeedListener.NONE);
+        assertEquals(1, hits("alpha"));
+        assertEquals(2, hits("beta"));
+        assertEquals(1, scheduler.status().get(0).throttled());
+    }
+
+    @Test
+    void concurrentCallersShareOneRequest() throws Exception {
+        QuotaScheduler scheduler = scheduler(List.of("alpha"), 0);
+        release = new CountDownLatch(1);
+        int callers = 6;
+        List<Thread> threads = new ArrayList<>();
+        AtomicInteger ok = new AtomicInteger();
+        for (int i = 0; i < callers; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    if (scheduler.fetch(ENDPOINT, null, url(), Map.of(), FeedListener.NONE).isSuccessful()) {
+                        ok.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Hold the leader's response until every other caller is parked on it
+        assertTrue(firstRequest.await(10, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (parked(threads) < callers - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+
+        assertEquals(callers, ok.get());
+        assertEquals(1, hits("alpha"));
+        assertEquals(callers - 1, scheduler.coalesced());
+    }
+
+    private static int parked(List<Thread> threads) {
+        int parked = 0;
+        for (Thread thread : threads) {
+            if (thread.getState() == Thread.State.WAITING) {
+                parked++;
+            }
+        }
+        return parked;
+    }
+}
@@ -0,0 +1,261 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Retries, Retry-After and the per-key circuit against a local stub that answers from a script per API key. */
+class ResilientFetcherTest {
+    private static final String ENDPOINT = "insight_weather";
+
+    @TempDir
+    Path cacheDir;
+
+    private HttpServer server;
+    private InsightApiClient client;
+    private String baseUrl;
+    private volatile byte[] feed = TestFeeds.feed(TestFeeds.reports(400, 3, 1));
+    private final Map<String, Deque<Reply>> scripts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private volatile CountDownLatch arrived = new CountDownLatch(0);
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    /** One scripted answer; once a key's script runs out it gets the feed with a 200. */
+    private record Reply(int code, String retryAfter) {
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/insight_weather/", this::serve);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/insight_weather/";
+        client = new InsightApiClient(InsightApiClient.Config.defaults());
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        client.close();
+        server.stop(0);
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String key = apiKey(exchange.getRequestURI());
+            hits.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            arrived.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Reply reply = scripts.getOrDefault(key, new ArrayDeque<>()).poll();
+            if (reply != null) {
+                if (reply.retryAfter() != null) {
+                    exchange.getResponseHeaders().set("Retry-After", reply.retryAfter());
+                }
+                exchange.sendResponseHeaders(reply.code(), -1);
+                return;
+            }
+            byte[] body = feed;
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String apiKey(URI uri) {
+        for (String parameter : uri.getQuery().split("&")) {
+            if (parameter.startsWith("api_key=")) {
+                return parameter.substring("api_key=".length());
+            }
+        }
+        return "";
+    }
+
+    private void script(String key, int code, String retryAfter, int times) {
+        Deque<Reply> replies = scripts.computeIfAbsent(key, k -> new ArrayDeque<>());
+        for (int i = 0; i < times; i++) {
+            replies.add(new Reply(code, retryAfter));
+        }
+    }
+
+    private int hits(String key) {
+        AtomicInteger count = hits.get(key);
+        return count == null ? 0 : count.get();
+    }
+
+    private ResilientFetcher fetcher(int maxAttempts, Duration maxBackoff, int failureThreshold, Duration openDuration) {
+        return new ResilientFetcher(client,
+                new ResilientFetcher.Config(maxAttempts, Duration.ofMillis(1), maxBackoff, failureThreshold, openDuration));
+    }
+
+    private InsightApiClient.FeedResponse fetch(ResilientFetcher fetcher, String endpoint, String key) throws IOException {
+        return fetcher.fetch(endpoint, key, baseUrl + "?api_key=" + key + "&feedtype=json&ver=1.0", Map.of(),
+                FeedListener.NONE);
+    }
+
+    @Test
+    void retriesA503UpToMaxAttempts() throws IOException {
+        ResilientFetcher fetcher = fetcher(3, Duration.ofMillis(5), 10, Duration.ofMinutes(1));
+        script("alpha", 503, null, 5);
+        assertEquals(503, fetch(fetcher, ENDPOINT, "alpha").code());
+        assertEquals(3, hits("alpha"));
+        assertEquals(2, fetcher.stats().retries());
+
+        // Two more 503s, then the feed: the third attempt succeeds
+        assertEquals(200, fetch(fetcher, ENDPOINT, "alpha").code());
+        assertEquals(6, hits("alpha"));
+    }
+
+    @Test
+    void retryAfterIsReadAsSecondsOrAsAnHttpDate() {
+        assertEquals(3000, ResilientFetcher.retryAfterMillis("3", 7));
+        assertEquals(0, ResilientFetcher.retryAfterMillis(" 0 ", 7));
+        assertEquals(0, ResilientFetcher.retryAfterMillis("-5", 7));
+        assertEquals(7, ResilientFetcher.retryAfterMillis(null, 7));
+        assertEquals(7, ResilientFetcher.retryAfterMillis("soon", 7));
+
+        // HTTP dates have whole seconds, so up to a second of the wait may already have passed
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        long inThirty = ResilientFetcher.retryAfterMillis(DateTimeFormatter.RFC_1123_DATE_TIME.format(now.plusSeconds(30)), 7);
+        assertTrue(inThirty > 28_000 && inThirty <= 30_000, Long.toString(inThirty));
+        assertEquals(0, ResilientFetcher.retryAfterMillis(DateTimeFormatter.RFC_1123_DATE_TIME.format(now.minusHours(1)), 7));
+    }
+
+    @Test
+    void shortRetryAfterIsWaitedOutInPlace() throws IOException {
+        ResilientFetcher fetcher = fetcher(2, Duration.ofSeconds(5), 10, Duration.ofMinutes(1));
+        script("alpha", 503, "1", 1);
+        long start = System.nanoTime();
+        assertEquals(200, fetch(fetcher, ENDPOINT, "alpha").code());
+        // The jittered backoff alone is at most a millisecond
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900));
+        assertEquals(2, hits("alpha"));
+    }
+
+    @Test
+    void retryAfterLongerThanMaxBackoffOpensTheCircuit() throws IOException {
+        ResilientFetcher fetcher = fetcher(4, Duration.ofMillis(5), 10, Duration.ofMillis(1));
+        script("alpha", 429, "3600", 1);
+        assertEquals(429, fetch(fetcher, ENDPOINT, "alpha").code());
+        assertEquals(1, hits("alpha"));
+
+        // Open for the server's hour, not the one-millisecond open duration
+        IOException refused = assertThrows(IOException.class, () -> fetch(fetcher, ENDPOINT, "alpha"));
+        assertTrue(refused.getMessage().contains("circuit is open"), refused.getMessage());
+        assertEquals(1, hits("alpha"));
+        assertEquals(1, fetcher.stats().rejected());
+    }
+
+    @Test
+    void halfOpenCircuitLetsExactlyOneTrialThrough() throws Exception {
+        ResilientFetcher fetcher = fetcher(1, Duration.ofMillis(5), 2, Duration.ofMillis(200));
+        script("alpha", 503, null, 2);
+        assertEquals(503, fetch(fetcher, ENDPOINT, "alpha").code());
+        assertEquals(503, fetch(fetcher, ENDPOINT, "alpha").code());
+        assertThrows(IOException.class, () -> fetch(fetcher, ENDPOINT, "alpha"));
+        assertEquals(2, hits("alpha"));
+
+        Thread.sleep(250);
+        arrived = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        CompletableFuture<Integer> trial = CompletableFuture.supplyAsync(() -> {
+            try {
+                return fetch(fetcher, ENDPOINT, "alpha").code();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(arrived.await(10, TimeUnit.SECONDS));
+        // While the trial is in flight every other caller is refused
+        assertThrows(IOException.class, () -> fetch(fetcher, ENDPOINT, "alpha"));
+        release.countDown();
+        assertEquals(200, trial.get(10, TimeUnit.SECONDS));
+
+        // The trial succeeded, so the circuit is closed again
+        assertEquals(200, fetch(fetcher, ENDPOINT, "alpha").code());
+        assertEquals(4, hits("alpha"));
+    }
+
+    @Test
+    void eachEndpointAndKeyHasItsOwnCircuit() throws IOException {
+        ResilientFetcher fetcher = fetcher(1, Duration.ofMillis(5), 1, Duration.ofMinutes(1));
+        script("alpha", 503, null, 1);
+        assertEquals(503, fetch(fetcher, ENDPOINT, "alpha").code());
+        assertThrows(IOException.class, () -> fetch(fetcher, ENDPOINT, "alpha"));
+
+        assertEquals(200, fetch(fetcher, ENDPOINT, "beta").code());
+        assertEquals(200, fetch(fetcher, "insight_weather_archive", "alpha").code());
+        assertEquals(2, hits("alpha"));
+    }
+
+    @Test
+    void clientErrorsArePassedThroughWithoutTrippingTheCircuit() throws IOException {
+        ResilientFetcher fetcher = fetcher(4, Duration.ofMillis(5), 1, Duration.ofMinutes(1));
+        script("alpha", 403, null, 3);
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(403, fetch(fetcher, ENDPOINT, "alpha").code());
+            assertEquals(i, hits("alpha"));
+        }
+        assertEquals(0, fetcher.stats().retries());
+        assertEquals(0, fetcher.stats().failures());
+        assertEquals(200, fetch(fetcher, ENDPOINT, "alpha").code());
+    }
+
+    @Test
+    void staleWhileRevalidateReturnsTheCacheWhileTheRefreshRuns() throws Exception {
+        ResilientFetcher fetcher = fetcher(1, Duration.ofMillis(5), 5, Duration.ofMinutes(1));
+        SolCache cache = new SolCache(cacheDir, SolCache.DEFAULT_MAX_SOLS);
+        List<SolReport> first = TestFeeds.reports(400, 7, 3);
+        feed = TestFeeds.feed(first);
+        new FeedLoader(fetcher, cache, baseUrl, 0).load("alpha");
+
+        arrived = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        CompletableFuture<InsightFeed> refreshed = new CompletableFuture<>();
+        FeedLoader loader = new FeedLoader(fetcher, new SolCache(cacheDir, SolCache.DEFAULT_MAX_SOLS), baseUrl, 0);
+        InsightFeed stale = assertTimeout(Duration.ofSeconds(5),
+                () -> loader.loadStaleWhileRevalidate("alpha", FeedListener.NONE, refreshed::complete));
+        assertEquals(first.get(6), stale.sols().get("406"));
+
+        // The refresh is held at the server, after the cached feed was handed back
+        assertTrue(arrived.await(10, TimeUnit.SECONDS));
+        assertFalse(refreshed.isDone());
+        List<SolReport> second = TestFeeds.reports(401, 7, 4);
+        feed = TestFeeds.feed(second);
+        release.countDown();
+        assertEquals(second.get(6), refreshed.get(10, TimeUnit.SECONDS).sols().get("407"));
+        assertEquals(2, hits("alpha"));
+    }
+}
@@ -0,0 +1,89 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SampleIngesterTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void computesSolStatisticsFromRawSamples() throws IOException {
+        Path file = Files.writeString(dir.resolve("samples.csv"), """
+                SOL,UTC,AT,PRE,HWS,WD
+                100,2019-02-12T00:00:00Z,-80.5,700,2,0
+                100,2019-02-12T00:01:00Z,-20.5,720,,90
+                100,2019-02-12T00:02:00Z,NaN,710,4,350
+                not a sample
+                101,2019-02-13T00:00:00Z,-60,730,1,180
+                """);
+
+        SampleIngester.Result result = new SampleIngester(SampleIngester.Config.defaults()).ingest(List.of(file));
+        assertEquals(4, result.samples());
+        assertEquals(1, result.rejectedLines());
+        assertEquals(2, result.reports().size());
+
+        SolReport sol = result.reports().get(0);
+        assertEquals(100, sol.sol());
+        assertEquals(Instant.parse("2019-02-12T00:00:00Z").toEpochMilli(), sol.firstUtcMillis());
+        assertEquals(Instant.parse("2019-02-12T00:02:00Z").toEpochMilli(), sol.lastUtcMillis());
+        assertEquals(-80.5, sol.min(Sensor.AT));
+        assertEquals(-50.5, sol.average(Sensor.AT));
+        assertEquals(-20.5, sol.max(Sensor.AT));
+        assertEquals(2, sol.count(Sensor.AT));
+        assertEquals(710.0, sol.average(Sensor.PRE));
+        assertEquals(3, sol.count(Sensor.PRE));
+        assertEquals(3.0, sol.average(Sensor.HWS));
+        assertEquals(2, sol.count(Sensor.HWS));
+        // 0 and 350 degrees both fall in the sector centred on north
+        assertEquals(2, sol.windCount(CompassPoint.N));
+        assertEquals(1, sol.windCount(CompassPoint.E));
+        assertEquals(1, result.reports().get(1).windCount(CompassPoint.S));
+    }
+
+    @Test
+    void chunkSizeAndThreadCountDoNotChangeTheReports() throws IOException {
+        Path file = dir.resolve("samples.csv");
+        SplittableRandom random = new SplittableRandom(17);
+        long utc = Instant.parse("2019-02-12T00:00:00Z").toEpochMilli();
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("SOL,UTC,AT,PRE,HWS,WD\n");
+            for (int sol = 100; sol < 104; sol++) {
+                for (int i = 0; i < 20_000; i++, utc += 4400) {
+                    out.write(String.format(Locale.ROOT, "%d,%s,%.3f,%.2f,%.3f,%.1f%n", sol, Instant.ofEpochMilli(utc),
+                            random.nextDouble(-90, -10), random.nextDouble(700, 760), random.nextDouble(0, 20),
+                            random.nextDouble(0, 360)));
+                }
+            }
+        }
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            List<SolReport> oneChunk = new SampleIngester(
+                    new SampleIngester.Config((int) Files.size(file), single)).ingest(List.of(file)).reports();
+            for (int chunkBytes : new int[] {100_000, 250_000, 1_000_000}) {
+                for (ForkJoinPool pool : List.of(single, four)) {
+                    List<SolReport> chunked = new SampleIngester(new SampleIngester.Config(chunkBytes, pool))
+                            .ingest(List.of(file)).reports();
+                    assertEquals(oneChunk, chunked, chunkBytes + "-byte chunks on " + pool.getParallelism() + " threads");
+                }
+            }
+        } finally {
+            single.shutdown();
+            four.shutdown();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SolAggregatorTest {
+    private static final String[] SEASONS = {"autumn", "winter", "spring"};
+    private static final String[] NORTHERN_SEASONS = {"early spring", "mid spring", "late spring", "early summer"};
+
+    /** Sols with spread-out readings and seasons; every tenth has no wind sensor, every 37th no season. */
+    private static List<SolReport> reports(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<SolReport> reports = new ArrayList<>(count);
+        for (int sol = 1; sol <= count; sol++) {
+            SolReport.Builder builder = SolReport.builder(sol);
+            if (sol % 37 != 0) {
+                builder.season(SEASONS[sol / 100 % SEASONS.length])
+                        .northernSeason(NORTHERN_SEASONS[sol / 70 % NORTHERN_SEASONS.length]);
+            }
+            double at = random.nextDouble(-90, -40);
+            builder.sensor(Sensor.AT, at - random.nextDouble(10, 40), at, at + random.nextDouble(10, 40), random.nextInt(1, 100_000))
+                    .sensor(Sensor.PRE, 700, random.nextDouble(700, 760), 760, random.nextInt(1, 100_000));
+            if (sol % 10 != 0) {
+                double hws = random.nextDouble(1, 10);
+                builder.sensor(Sensor.HWS, 0, hws, hws + random.nextDouble(20), random.nextInt(1, 100_000));
+                for (CompassPoint point : CompassPoint.values()) {
+                    builder.windCount(point, random.nextInt(5_000));
+                }
+            }
+            reports.add(builder.build());
+        }
+        return reports;
+    }
+
+    private static void assertClose(double expected, double actual, String message) {
+        assertEquals(expected, actual, 1e-9 * Math.max(1, Math.abs(expected)), message);
+    }
+
+    /** Checks {@code aggregate} against a two-pass recompute over {@code reports}. */
+    private static void assertMatches(List<SolReport> reports, SolAggregate aggregate) {
+        assertEquals(reports.size(), aggregate.sols());
+        for (Sensor sensor : Sensor.values()) {
+            List<SolReport> reporting = reports.stream().filter(report -> report.hasSensor(sensor)).toList();
+            SolAggregate.SensorStats stats = aggregate.sensor(sensor);
+            assertEquals(reporting.size(), stats.sols(), sensor.name());
+            if (reporting.isEmpty()) {
+                continue;
+            }
+            double sum = 0;
+            double weightedSum = 0;
+            long samples = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (SolReport report : reporting) {
+                sum += report.average(sensor);
+                weightedSum += report.average(sensor) * report.count(sensor);
+                samples += report.count(sensor);
+                min = Math.min(min, report.min(sensor));
+                max = Math.max(max, report.max(sensor));
+            }
+            double mean = sum / reporting.size();
+            double squares = 0;
+            for (SolReport report : reporting) {
+                squares += (report.average(sensor) - mean) * (report.average(sensor) - mean);
+            }
+            assertClose(mean, stats.mean(), sensor + " mean");
+            assertEquals(samples, stats.samples(), sensor + " samples");
+            assertClose(weightedSum / samples, stats.weightedMean(), sensor + " weighted mean");
+            if (reporting.size() > 1) {
+                assertClose(squares / (reporting.size() - 1), stats.variance(), sensor + " variance");
+            }
+            assertEquals(min, stats.min(), sensor + " min");
+            assertEquals(max, stats.max(), sensor + " max");
+        }
+        for (CompassPoint point : CompassPoint.values()) {
+            assertEquals(reports.stream().mapToDouble(report -> report.windCount(point)).sum(), aggregate.windCount(point));
+        }
+    }
+
+    @Test
+    void mergedPartitionsMatchSerialFolding() {
+        List<SolReport> reports = reports(2_000, 5);
+        SolAggregator serial = new SolAggregator(50);
+        reports.forEach(serial::add);
+        assertMatches(reports, serial.total());
+
+        // Uneven partitions, each collected on its own and merged as a parallel stream would
+        int[] bounds = {0, 1, 333, 334, 1_200, 1_999, 2_000};
+        SolAggregator merged = new SolAggregator(50);
+        for (int i = 1; i < bounds.length; i++) {
+            merged.merge(reports.subList(bounds[i - 1], bounds[i]).stream().collect(SolAggregator.collector(50)));
+        }
+        assertMatches(reports, merged.total());
+        for (Sensor sensor : Sensor.values()) {
+            SolAggregate.SensorStats a = serial.total().sensor(sensor);
+            SolAggregate.SensorStats b = merged.total().sensor(sensor);
+            assertClose(a.mean(), b.mean(), sensor + " mean");
+            assertClose(a.variance(), b.variance(), sensor + " variance");
+            for (double q : new double[] {0, 0.1, 0.5, 0.9, 1}) {
+                assertEquals(a.quantile(q), b.quantile(q), sensor + " q" + q);
+            }
+        }
+        assertEquals(serial.total().prevailingWind(), merged.total().prevailingWind());
+        assertMatches(reports.subList(1_950, 2_000), merged.recent().summary());
+    }
+
+    @Test
+    void rollingWindowMatchesARecomputeAfterEveryExpiry() {
+        List<SolReport> reports = reports(400, 9);
+        RollingWindow window = new RollingWindow(25);
+        for (int i = 0; i < reports.size(); i++) {
+            window.add(reports.get(i));
+            List<SolReport> expected = reports.subList(Math.max(0, i - 24), i + 1);
+            assertEquals(expected.size(), window.size());
+            assertMatches(expected, window.summary());
+        }
+    }
+
+    @Test
+    void groupsBySeasonAndNorthernSeason() {
+        List<SolReport> reports = reports(1_000, 13);
+        SolAggregator aggregator = reports.stream().collect(SolAggregator.collector(10));
+
+        assertEquals(List.of("autumn", "spring", "winter"), List.copyOf(aggregator.bySeason().keySet()));
+        assertEquals(List.of("early spring", "early summer", "late spring", "mid spring"),
+                List.copyOf(aggregator.byNorthernSeason().keySet()));
+        assertSeasons(reports, aggregator.bySeason(), season -> report -> season.equals(report.season()));
+        assertSeasons(reports, aggregator.byNorthernSeason(), season -> report -> season.equals(report.northernSeason()));
+
+        // Sols without a season count only towards the total
+        SolReport unseasoned = reports.get(36);
+        assertNull(unseasoned.season());
+        assertEquals(reports.size(), aggregator.total().sols());
+        assertEquals(reports.size() - reports.size() / 37,
+                aggregator.bySeason().values().stream().mapToInt(SolAggregate::sols).sum());
+    }
+
+    private static void assertSeasons(List<SolReport> reports, Map<String, SolAggregate> seasons,
+                                      Function<String, Predicate<SolReport>> inSeason) {
+        seasons.forEach((season, aggregate) -> assertMatches(reports.stream().filter(inSeason.apply(season)).toList(), aggregate));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolSeriesTest {
+
+    @Test
+    void rebuildsEachReportFromTheColumns() {
+        List<SolReport> reports = new ArrayList<>(TestFeeds.reports(10, 20, 5));
+        // A sol without seasons, times or a wind sensor, and one with only pressure
+        reports.add(SolReport.builder(40).sensor(Sensor.AT, -90, -60, -20, 1000).build());
+        reports.add(SolReport.builder(41).season("winter").sensor(Sensor.PRE, 700, 710, 720, -1).build());
+
+        SolSeries series = SolSeries.of(reports);
+        assertEquals(reports.size(), series.size());
+        for (int i = 0; i < series.size(); i++) {
+            SolReport original = reports.get(i);
+            SolReport rebuilt = series.report(i);
+            assertEquals(original, rebuilt);
+            assertNotSame(original, rebuilt);
+            for (Sensor sensor : Sensor.values()) {
+                assertEquals(original.hasSensor(sensor), rebuilt.hasSensor(sensor));
+            }
+        }
+    }
+
+    @Test
+    void keepsTheLastReportOfARepeatedSolInSolOrder() {
+        SolReport first = TestFeeds.report(7, 1);
+        SolReport revised = TestFeeds.report(7, 2);
+        SolSeries series = SolSeries.of(List.of(TestFeeds.report(9, 1), first, TestFeeds.report(3, 1), revised));
+
+        assertEquals(3, series.size());
+        assertEquals(List.of(3, 7, 9), List.of(series.sol(0), series.sol(1), series.sol(2)));
+        assertEquals(revised, series.report(series.indexOf(7)));
+    }
+
+    @Test
+    void decimationKeepsTheExtremesOfEachPixelColumn() {
+        List<SolReport> reports = TestFeeds.reports(1, 100, 3);
+        SolSeries series = SolSeries.of(reports);
+        SolSeries.Decimation decimation = new SolSeries.Decimation(10);
+        series.decimate(Sensor.AT, 1, 100, decimation);
+
+        for (int column = 0; column < 10; column++) {
+            double low = Double.POSITIVE_INFINITY;
+            double high = Double.NEGATIVE_INFINITY;
+            for (SolReport report : reports.subList(column * 10, column * 10 + 10)) {
+                low = Math.min(low, report.min(Sensor.AT));
+                high = Math.max(high, report.max(Sensor.AT));
+            }
+            assertEquals(low, decimation.rangeLow(column));
+            assertEquals(high, decimation.rangeHigh(column));
+            assertTrue(decimation.averageLow(column) <= decimation.averageHigh(column));
+        }
+    }
+
+    @Test
+    void fewerSolsThanColumnsSpreadEachSolAndBreakOnlyAtMissingSols() {
+        // Sols 1-7 and 9-10 across 100 columns: ten columns per sol, sol 8 missing
+        List<SolReport> reports = new ArrayList<>(TestFeeds.reports(1, 7, 4));
+        reports.addAll(TestFeeds.reports(9, 2, 4));
+        SolSeries series = SolSeries.of(reports);
+        SolSeries.Decimation decimation = new SolSeries.Decimation(100);
+        series.decimate(Sensor.AT, 1, 10, decimation);
+
+        for (SolReport report : reports) {
+            int start = (report.sol() - 1) * 10;
+            for (int column = start; column < start + 10; column++) {
+                assertEquals(report.min(Sensor.AT), decimation.rangeLow(column), "column " + column);
+                assertEquals(report.max(Sensor.AT), decimation.rangeHigh(column), "column " + column);
+            }
+            assertEquals(report.average(Sensor.AT), decimation.averageLow(start + 4));
+        }
+        for (int column = 0; column < 100; column++) {
+            boolean missing = column >= 70 && column < 80;
+            assertEquals(missing, Double.isNaN(decimation.averageLow(column)), "column " + column);
+            assertEquals(missing, Double.isNaN(decimation.rangeLow(column)), "column " + column);
+        }
+
+        // Between two consecutive sols' centres the average is a straight line
+        double from = reports.get(2).average(Sensor.AT);
+        double to = reports.get(3).average(Sensor.AT);
+        for (int column = 24; column <= 34; column++) {
+            double expected = from + (to - from) * (column - 24) / 10;
+            assertEquals(expected, decimation.averageLow(column), 1e-9, "column " + column);
+            assertEquals(decimation.averageLow(column), decimation.averageHigh(column));
+        }
+        assertFalse(Double.isNaN(decimation.averageLow(99)));
+    }
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/** Deterministic feeds in the InSight layout for tests; every sol passes its validity checks. */
+final class TestFeeds {
+    private static final long SOL_MILLIS = 88_775_244L;
+
+    private TestFeeds() {}
+
+    static SolReport report(int sol, long seed) {
+        Random random = new Random(seed * 31 + sol);
+        SolReport.Builder builder = SolReport.builder(sol)
+                .firstUtcMillis(1_543_000_000_000L + sol * SOL_MILLIS)
+                .lastUtcMillis(1_543_000_000_000L + (sol + 1) * SOL_MILLIS - 1)
+                .season("summer")
+                .northernSeason("early summer")
+                .southernSeason("early winter")
+                .sensor(Sensor.PRE, 720 + random.nextInt(20), 740 + random.nextInt(20), 760 + random.nextInt(20), 300_000 + random.nextInt(50_000))
+                .sensor(Sensor.AT, -100 + random.nextInt(10), -65 + random.nextInt(10), -20 + random.nextInt(10), 300_000 + random.nextInt(50_000))
+                .sensor(Sensor.HWS, random.nextInt(2), 4 + random.nextInt(3), 15 + random.nextInt(10), 150_000 + random.nextInt(30_000));
+        for (CompassPoint point : CompassPoint.values()) {
+            builder.windCount(point, random.nextInt(20_000));
+        }
+        return builder.build();
+    }
+
+    static List<SolReport> reports(int firstSol, int count, long seed) {
+        List<SolReport> reports = new ArrayList<>(count);
+        for (int sol = firstSol; sol < firstSol + count; sol++) {
+            reports.add(report(sol, seed));
+        }
+        return reports;
+    }
+
+    static ValidityChecks validity(List<SolReport> reports) {
+        List<Integer> hours = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            hours.add(hour);
+        }
+        Map<String, Map<String, ValidityChecks.SensorValidity>> sols = new LinkedHashMap<>();
+        for (SolReport report : reports) {
+            Map<String, ValidityChecks.SensorValidity> sensors = new LinkedHashMap<>();
+            for (String sensor : List.of("AT", "HWS", "PRE", "WD")) {
+                sensors.put(sensor, new ValidityChecks.SensorValidity(hours, true));
+            }
+            sols.put(Integer.toString(report.sol()), sensors);
+        }
+        return new ValidityChecks(18, List.copyOf(sols.keySet()), sols);
+    }
+
+    static byte[] feed(List<SolReport> reports) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(reports.size() * 2048);
+        write(out, reports);
+        return out.toByteArray();
+    }
+
+    static Path record(Path file, List<SolReport> reports) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out, reports);
+        }
+        return file;
+    }
+
+    private static void write(OutputStream out, List<SolReport> reports) {
+        try {
+            InsightFeedWriter.write(out, reports, validity(reports));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
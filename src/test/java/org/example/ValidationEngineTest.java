@@ -0,0 +1,90 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidationEngineTest {
+    private static final List<Integer> ALL_HOURS = hours(24);
+
+    private static List<Integer> hours(int count) {
+        List<Integer> hours = new ArrayList<>();
+        for (int hour = 0; hour < count; hour++) {
+            hours.add(hour);
+        }
+        return hours;
+    }
+
+    private static Map<String, ValidityChecks.SensorValidity> sensors(boolean atValid, int atHours) {
+        Map<String, ValidityChecks.SensorValidity> sensors = new LinkedHashMap<>();
+        sensors.put("PRE", new ValidityChecks.SensorValidity(ALL_HOURS, true));
+        sensors.put("AT", new ValidityChecks.SensorValidity(hours(atHours), atValid));
+        return sensors;
+    }
+
+    @Test
+    void validSolKeysAreTheFeedsOwnKeys() {
+        Map<String, Map<String, ValidityChecks.SensorValidity>> sols = new LinkedHashMap<>();
+        sols.put("0261", sensors(true, 24));
+        sols.put("0259", sensors(true, 24));
+        sols.put("0260", sensors(false, 24));
+        ValidityChecks checks = new ValidityChecks(18, List.copyOf(sols.keySet()), sols);
+
+        ValidationEngine.Result result = ValidationEngine.validate(checks, ValidityPolicy.DEFAULT, ForkJoinPool.commonPool());
+        assertEquals(List.of("0259", "0261"), result.validSolKeys());
+        for (String key : result.validSolKeys()) {
+            assertTrue(sols.containsKey(key), key);
+        }
+        assertTrue(result.isValid(259));
+        assertFalse(result.isValid(260));
+    }
+
+    @Test
+    void reportsWhySensorsFailInSensorNameOrder() {
+        Map<String, Map<String, ValidityChecks.SensorValidity>> sols = new LinkedHashMap<>();
+        sols.put("10", sensors(false, 24));
+        sols.put("11", sensors(false, 5));
+        ValidityChecks checks = new ValidityChecks(18, List.copyOf(sols.keySet()), sols);
+
+        ValidationEngine.Result result = ValidationEngine.validate(checks, ValidityPolicy.DEFAULT, ForkJoinPool.commonPool());
+        assertEquals(List.of(
+                new ValidationEngine.SensorVerdict(10, "AT", ValidationEngine.Reason.FLAGGED_INVALID, 24),
+                new ValidationEngine.SensorVerdict(10, "PRE", ValidationEngine.Reason.VALID, 24)), result.verdicts(10));
+        assertEquals(List.of(new ValidationEngine.SensorVerdict(11, "AT", ValidationEngine.Reason.TOO_FEW_HOURS, 5)),
+                result.failures(11));
+        assertTrue(result.isValid(11, "PRE"));
+        assertFalse(result.isValid(11, "AT"));
+    }
+
+    @Test
+    void splittingAcrossThreadsGivesTheSameResult() {
+        Map<String, Map<String, ValidityChecks.SensorValidity>> sols = new LinkedHashMap<>();
+        for (int sol = 0; sol < 10_000; sol++) {
+            sols.put(String.format("%04d", sol), sensors(sol % 7 != 0, sol % 5 == 0 ? 3 : 24));
+        }
+        ValidityChecks checks = new ValidityChecks(18, List.copyOf(sols.keySet()), sols);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            ValidationEngine.Result serial = ValidationEngine.validate(checks, ValidityPolicy.DEFAULT, single);
+            ValidationEngine.Result parallel = ValidationEngine.validate(checks, ValidityPolicy.DEFAULT, four);
+            assertEquals(serial.valid(), parallel.valid());
+            assertEquals(serial.validBySensor(), parallel.validBySensor());
+            assertEquals(serial.validSolKeys(), parallel.validSolKeys());
+            assertEquals(serial.verdicts(), parallel.verdicts());
+            assertEquals(10_000 - (10_000 + 6) / 7, serial.validCount());
+        } finally {
+            single.shutdown();
+            four.shutdown();
+        }
+    }
+}
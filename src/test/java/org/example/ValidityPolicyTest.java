@@ -0,0 +1,145 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidityPolicyTest {
+    private static final String[] SENSOR_NAMES = {"AT", "HWS", "PRE", "WD", "MAT", "RDS"};
+
+    private static List<Integer> hours(int count) {
+        List<Integer> hours = new ArrayList<>();
+        for (int hour = 0; hour < count; hour++) {
+            hours.add(hour);
+        }
+        return hours;
+    }
+
+    /** Sensors from name, valid flag and hours triples, e.g. {@code sensors("AT", true, 24)}. */
+    private static Map<String, ValidityChecks.SensorValidity> sensors(Object... triples) {
+        Map<String, ValidityChecks.SensorValidity> sensors = new LinkedHashMap<>();
+        for (int i = 0; i < triples.length; i += 3) {
+            sensors.put((String) triples[i], new ValidityChecks.SensorValidity(hours((Integer) triples[i + 2]), (Boolean) triples[i + 1]));
+        }
+        return sensors;
+    }
+
+    @Test
+    void rejectsClausesItCannotParse() {
+        for (String source : new String[] {"AT sparkly", "XYZ valid", "AT hours >= many", "all present", "ignore", "AT hours > 3"}) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> ValidityPolicy.compile(source));
+            assertTrue(error.getMessage().contains(source), error.getMessage());
+        }
+        // Case, spacing and "and" as a separator are all accepted
+        assertEquals("at VALID and pre present, all hours>=required",
+                ValidityPolicy.compile(" at VALID and pre present, all hours>=required ").toString());
+    }
+
+    @Test
+    void ignoredSensorsAreLeftOutOfTheAllClauses() {
+        ValidityPolicy policy = ValidityPolicy.compile("all valid, ignore WD, all hours >= 10");
+        assertTrue(policy.test(sensors("AT", true, 24, "WD", false, 2), 18));
+        assertFalse(policy.test(sensors("AT", false, 24, "WD", true, 24), 18));
+        assertFalse(policy.test(sensors("AT", true, 9, "WD", true, 24), 18));
+        assertFalse(ValidityPolicy.compile("all valid, all hours >= 10").test(sensors("AT", true, 24, "WD", false, 2), 18));
+
+        // Ignoring a sensor does not relax a clause that names it
+        assertFalse(ValidityPolicy.compile("ignore WD, WD valid").test(sensors("AT", true, 24, "WD", false, 24), 18));
+    }
+
+    @Test
+    void unknownSensorsShareTheOtherSlot() {
+        long encoded = ValidityPolicy.encode(sensors("AT", true, 24, "MAT", true, 24, "RDS", false, 5));
+        assertTrue(ValidityPolicy.hasOtherSensors(encoded));
+        assertTrue(ValidityPolicy.isPresent(encoded, 0));
+        for (int slot = 1; slot < ValidityPolicy.KNOWN_SENSORS; slot++) {
+            assertFalse(ValidityPolicy.isPresent(encoded, slot), ValidityPolicy.sensorName(slot));
+        }
+        assertFalse(ValidityPolicy.isKnownSensor("MAT"));
+        assertEquals(ValidityPolicy.KNOWN_SENSORS, ValidityPolicy.sensorSlot("RDS"));
+
+        // The slot is valid only if every unknown sensor is, and holds the fewest hours among them
+        ValidityPolicy allValid = ValidityPolicy.compile("all valid, all hours >= 10");
+        assertFalse(allValid.test(encoded, 18));
+        assertTrue(allValid.test(ValidityPolicy.encode(sensors("AT", true, 24, "MAT", true, 24, "RDS", true, 10)), 18));
+        assertFalse(allValid.test(ValidityPolicy.encode(sensors("AT", true, 24, "MAT", true, 24, "RDS", true, 9)), 18));
+        assertFalse(ValidityPolicy.hasOtherSensors(ValidityPolicy.encode(sensors("AT", true, 24, "PRE", false, 3))));
+    }
+
+    @Test
+    void hoursLanesCompareAtTheirBoundaries() {
+        ValidityPolicy required = ValidityPolicy.compile("AT hours >= required");
+        assertTrue(required.test(sensors("AT", false, 18), 18));
+        assertFalse(required.test(sensors("AT", false, 17), 18));
+        // required = 0 passes with no hours at all, but the sensor must still be reported
+        assertTrue(required.test(sensors("AT", false, 0), 0));
+        assertTrue(required.test(sensors("AT", false, 0), -4));
+        assertFalse(required.test(sensors("PRE", true, 24), 0));
+
+        // Hours above 255 must not carry into the next sensor's lane
+        ValidityPolicy bothSensors = ValidityPolicy.compile("AT hours >= 20, HWS hours >= 20");
+        assertTrue(bothSensors.test(sensors("AT", true, 300, "HWS", true, 20), 18));
+        assertFalse(bothSensors.test(sensors("AT", true, 300, "HWS", true, 19), 18));
+        assertFalse(bothSensors.test(sensors("AT", true, 19, "HWS", true, 300), 18));
+        assertTrue(ValidityPolicy.compile("all hours >= required").test(sensors("AT", true, 300, "WD", true, 256), 300));
+        assertFalse(ValidityPolicy.compile("all hours >= required").test(sensors("AT", true, 300, "WD", true, 126), 300));
+
+        // The same lanes read from the map and from the packed form
+        for (int hours : new int[] {0, 1, 17, 18, 19, 126, 127, 128, 255, 256, 300}) {
+            Map<String, ValidityChecks.SensorValidity> sol = sensors("AT", true, hours, "PRE", true, 24);
+            assertEquals(hours >= 18, required.test(sol, 18), hours + " hours");
+            assertEquals(required.test(sol, 18), required.test(ValidityPolicy.encode(sol), 18));
+        }
+    }
+
+    @Test
+    void defaultPolicyMatchesTheHardcodedRule() {
+        ValidityPolicy compiled = ValidityPolicy.compile(ValidityPolicy.DEFAULT_SOURCE);
+        assertTrue(compiled.isDefault());
+        assertFalse(ValidityPolicy.compile("all valid, ignore WD").isDefault());
+
+        SplittableRandom random = new SplittableRandom(11);
+        Map<String, Map<String, ValidityChecks.SensorValidity>> sols = new LinkedHashMap<>();
+        for (int sol = 0; sol < 5_000; sol++) {
+            Map<String, ValidityChecks.SensorValidity> sensors = null;
+            if (random.nextInt(50) != 0) {
+                sensors = new LinkedHashMap<>();
+                for (String name : SENSOR_NAMES) {
+                    if (random.nextInt(3) != 0) {
+                        sensors.put(name, new ValidityChecks.SensorValidity(hours(random.nextInt(30)), random.nextInt(8) != 0));
+                    }
+                }
+            }
+            sols.put(Integer.toString(sol), sensors);
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (Map.Entry<String, Map<String, ValidityChecks.SensorValidity>> sol : sols.entrySet()) {
+            boolean valid = SolValidator.isSolValid(sol.getValue());
+            assertEquals(valid, ValidityPolicy.DEFAULT.test(sol.getValue(), 18), sol.getKey());
+            assertEquals(valid, ValidityPolicy.DEFAULT.test(ValidityPolicy.encode(sol.getValue()), 18), sol.getKey());
+            if (valid) {
+                expected.add(sol.getKey());
+            }
+        }
+        ValidityChecks checks = new ValidityChecks(18, List.copyOf(sols.keySet()), sols);
+        assertEquals(expected, compiled.validSolKeys(checks));
+
+        // The engine's map walk for the default rule and its packed path for other rules agree
+        ValidationEngine.Result walked = ValidationEngine.validate(checks, ValidityPolicy.DEFAULT, ForkJoinPool.commonPool());
+        ValidationEngine.Result packed = ValidationEngine.validate(checks,
+                ValidityPolicy.compile("all valid, AT present"), ForkJoinPool.commonPool());
+        assertEquals(expected, walked.validSolKeys());
+        assertEquals(walked.validBySensor(), packed.validBySensor());
+    }
+}